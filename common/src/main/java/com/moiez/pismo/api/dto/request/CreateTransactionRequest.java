@@ -1,12 +1,10 @@
 package com.moiez.pismo.api.dto.request;
 
+import com.moiez.pismo.model.Money;
 import com.moiez.pismo.model.OperationType;
 import io.swagger.v3.oas.annotations.media.Schema;
-import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotNull;
 
-import java.math.BigDecimal;
-
 @Schema(
         name = "Transaction Request",
         description = "Represents the create request for a transaction"
@@ -29,12 +27,9 @@ public record CreateTransactionRequest (
     OperationType operationType,
 
     @Schema(
-            description = "Transaction amount",
-            example = "123.45",
-            multipleOf = 0.01
+            description = "Transaction amount, a number or decimal string with at most 12 integer digits and 2 decimal places",
+            example = "123.45"
     )
     @NotNull(message = "Transaction amount is required")
-    @Digits(integer = 12, fraction = 2,
-            message = "Transaction amount must have at most 2 decimal places")
-    BigDecimal amount
+    Money amount
 ) {}
\ No newline at end of file
@@ -1,13 +1,12 @@
 package com.moiez.pismo.api.dto.response;
 
+import com.moiez.pismo.model.Money;
 import lombok.Builder;
 
-import java.math.BigDecimal;
-
 
 @Builder
 public record AccountResponse(
         Long id,
         String documentNumber,
-        BigDecimal balance
+        Money balance
 ) {}
\ No newline at end of file
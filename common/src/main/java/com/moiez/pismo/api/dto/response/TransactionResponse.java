@@ -1,13 +1,12 @@
 package com.moiez.pismo.api.dto.response;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.moiez.pismo.model.Money;
 import com.moiez.pismo.model.OperationType;
 import io.swagger.v3.oas.annotations.media.Schema;
-import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotNull;
 import lombok.Builder;
 
-import java.math.BigDecimal;
 import java.time.Instant;
 
 @Schema
@@ -31,10 +30,9 @@ public record TransactionResponse(
                 example = "150.75",
                 multipleOf = 0.01
         )
-        @Digits(integer = 10, fraction = 2)
         @NotNull
         @JsonFormat(shape = JsonFormat.Shape.STRING)
-        BigDecimal amount,
+        Money amount,
 
         @Schema(
                 description = "Transaction operation type",
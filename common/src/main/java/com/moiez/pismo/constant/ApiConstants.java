@@ -0,0 +1,18 @@
+package com.moiez.pismo.constant;
+
+public final class ApiConstants {
+
+    private ApiConstants() {} // Prevent instantiation
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    // ':' is reserved for the keys the legs of a transfer are stored under
+    public static final String IDEMPOTENCY_KEY_PATTERN = "[^:]*";
+    public static final String ACCOUNTS_BASE_URL = "/v1/accounts";
+    public static final String TRANSACTIONS_BASE_URL = "/v1/transactions";
+    public static final String TRANSFERS_BASE_URL = "/v1/transfers";
+    public static final String EVENTS_BASE_URL = "/v1/events";
+    public static final String LAST_EVENT_ID_HEADER = "Last-Event-ID";
+    public static final int MAX_BATCH_SIZE = 500;
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+}
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.moiez.pismo.constant;
+
+public final class ErrorConstants {
+
+    private ErrorConstants() {}
+
+    public static final String IDEMPOTENCY_KEY_REQUIRED = "Idempotency key is required";
+    public static final String IDEMPOTENCY_KEY_RESERVED = "Idempotency key must not contain ':'";
+    public static final String ACCOUNT_NOT_FOUND = "Account not found";
+    public static final String INSUFFICIENT_FUNDS = "Insufficient funds";
+    public static final String ACCOUNT_ALREADY_EXISTS = "Account already exists";
+    public static final String TRANSACTION_ALREADY_EXISTS = "Transaction already processed";
+    public static final String DUPLICATE_IDEMPOTENCY_KEY = "Duplicate idempotency key in batch";
+    public static final String CONCURRENT_BALANCE_UPDATE = "Account was updated concurrently, please retry";
+    public static final String INVALID_CURSOR = "Invalid cursor";
+    public static final String EXPORT_FILTER_REQUIRED = "Export requires an account or a from/to time window";
+    public static final String TRANSFER_AMOUNT_NOT_POSITIVE = "Transfer amount must be positive";
+    public static final String TRANSFER_TO_SAME_ACCOUNT = "Source and destination accounts must differ";
+    public static final String RATE_LIMIT_EXCEEDED = "Too many requests, please retry later";
+    public static final String TOO_MANY_FAILED_AUTHENTICATIONS = "Too many failed authentication attempts, please retry later";
+    public static final String SERVER_BUSY = "Server is busy, please retry later";
+    public static final String TRANSACTION_NOT_CONFIRMED = "Transaction was not confirmed in time, please retry with the same Idempotency-Key";
+}
\ No newline at end of file
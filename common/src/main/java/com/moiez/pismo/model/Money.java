@@ -0,0 +1,128 @@
+package com.moiez.pismo.model;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Monetary amount held as a {@code long} number of minor units (cents), so the hot path
+ * adds and compares primitives instead of allocating {@link BigDecimal}s. Arithmetic
+ * throws {@link ArithmeticException} on overflow rather than wrapping around.
+ * <p>
+ * Persisted as BIGINT minor units by {@link MoneyConverter}; read from and written to
+ * JSON as a decimal with two fraction digits.
+ */
+@Schema(type = "string", format = "decimal", example = "123.45")
+@JsonSerialize(using = MoneySerializer.class)
+@JsonDeserialize(using = MoneyDeserializer.class)
+public record Money(long minorUnits) implements Comparable<Money> {
+
+    public static final int SCALE = 2;
+    public static final Money ZERO = new Money(0);
+
+    private static final long MINOR_PER_UNIT = 100;
+
+    public static Money ofMinor(long minorUnits) {
+        return minorUnits == 0 ? ZERO : new Money(minorUnits);
+    }
+
+    /**
+     * @throws ArithmeticException if the amount has more than two fraction digits or
+     *                             does not fit in a {@code long} of minor units
+     */
+    public static Money of(BigDecimal amount) {
+        return ofMinor(amount.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact());
+    }
+
+    /**
+     * Parses a plain decimal such as {@code -123.4} without allocating a {@link BigDecimal};
+     * other notations (exponents, extra trailing zeros) fall back to {@link #of(BigDecimal)}.
+     *
+     * @throws NumberFormatException if {@code amount} is not a decimal number
+     * @throws ArithmeticException   see {@link #of(BigDecimal)}
+     */
+    public static Money parse(String amount) {
+        int length = amount.length();
+        int i = 0;
+        boolean negative = false;
+        if (length > 0 && (amount.charAt(0) == '-' || amount.charAt(0) == '+')) {
+            negative = amount.charAt(0) == '-';
+            i++;
+        }
+        long units = 0;
+        int fractionDigits = -1;
+        boolean hasDigits = false;
+        for (; i < length; i++) {
+            char c = amount.charAt(i);
+            if (c == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+                continue;
+            }
+            if (c < '0' || c > '9' || (fractionDigits >= 0 && ++fractionDigits > SCALE)) {
+                return of(new BigDecimal(amount));
+            }
+            units = Math.addExact(Math.multiplyExact(units, 10), c - '0');
+            hasDigits = true;
+        }
+        if (!hasDigits) {
+            throw new NumberFormatException("Not a decimal amount: " + amount);
+        }
+        for (int scale = Math.max(fractionDigits, 0); scale < SCALE; scale++) {
+            units = Math.multiplyExact(units, 10);
+        }
+        return ofMinor(negative ? -units : units);
+    }
+
+    public Money plus(Money other) {
+        return ofMinor(Math.addExact(minorUnits, other.minorUnits));
+    }
+
+    public Money minus(Money other) {
+        return ofMinor(Math.subtractExact(minorUnits, other.minorUnits));
+    }
+
+    public Money negate() {
+        return ofMinor(Math.negateExact(minorUnits));
+    }
+
+    public boolean isNegative() {
+        return minorUnits < 0;
+    }
+
+    public int signum() {
+        return Long.signum(minorUnits);
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    /**
+     * Plain decimal with exactly two fraction digits, e.g. {@code -1234.05}.
+     */
+    @Override
+    public String toString() {
+        if (minorUnits == Long.MIN_VALUE) {
+            return toBigDecimal().toPlainString();
+        }
+        long abs = Math.abs(minorUnits);
+        long fraction = abs % MINOR_PER_UNIT;
+        StringBuilder text = new StringBuilder(24);
+        if (minorUnits < 0) {
+            text.append('-');
+        }
+        text.append(abs / MINOR_PER_UNIT).append('.');
+        if (fraction < 10) {
+            text.append('0');
+        }
+        return text.append(fraction).toString();
+    }
+}
@@ -0,0 +1,48 @@
+package com.moiez.pismo.model;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+
+import java.io.IOException;
+
+/**
+ * Reads {@link Money} from a JSON number or a decimal string with at most twelve integer
+ * and two fraction digits, e.g. {@code 123.45} or {@code "123.45"}. The integer bound
+ * keeps request amounts far enough from the {@code long} range that balance arithmetic
+ * cannot overflow.
+ */
+public class MoneyDeserializer extends StdScalarDeserializer<Money> {
+
+    public static final String INVALID_AMOUNT =
+            "must be a decimal amount with at most 12 integer digits and 2 decimal places";
+
+    // 12 integer digits and 2 fraction digits
+    private static final long MAX_MINOR_UNITS = 99_999_999_999_999L;
+
+    public MoneyDeserializer() {
+        super(Money.class);
+    }
+
+    @Override
+    public Money deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token != JsonToken.VALUE_NUMBER_INT
+                && token != JsonToken.VALUE_NUMBER_FLOAT
+                && token != JsonToken.VALUE_STRING) {
+            return (Money) context.handleUnexpectedToken(Money.class, parser);
+        }
+        String text = parser.getText().trim();
+        Money amount;
+        try {
+            amount = Money.parse(text);
+        } catch (NumberFormatException | ArithmeticException e) {
+            return (Money) context.handleWeirdStringValue(Money.class, text, INVALID_AMOUNT);
+        }
+        if (amount.minorUnits() > MAX_MINOR_UNITS || amount.minorUnits() < -MAX_MINOR_UNITS) {
+            return (Money) context.handleWeirdStringValue(Money.class, text, INVALID_AMOUNT);
+        }
+        return amount;
+    }
+}
@@ -0,0 +1,46 @@
+package com.moiez.pismo.model;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Writes {@link Money} as a JSON number with two fraction digits ({@code 123.45}), or as
+ * a string ({@code "123.45"}) where the property is annotated with
+ * {@code @JsonFormat(shape = STRING)}. Either way no {@code BigDecimal} is created.
+ */
+public class MoneySerializer extends StdSerializer<Money> implements ContextualSerializer {
+
+    private final boolean asString;
+
+    public MoneySerializer() {
+        this(false);
+    }
+
+    private MoneySerializer(boolean asString) {
+        super(Money.class);
+        this.asString = asString;
+    }
+
+    @Override
+    public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property) {
+        JsonFormat.Value format = findFormatOverrides(provider, property, handledType());
+        boolean string = format != null && format.getShape() == JsonFormat.Shape.STRING;
+        return string == asString ? this : new MoneySerializer(string);
+    }
+
+    @Override
+    public void serialize(Money value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        if (asString) {
+            generator.writeString(value.toString());
+        } else {
+            generator.writeNumber(value.toString());
+        }
+    }
+}
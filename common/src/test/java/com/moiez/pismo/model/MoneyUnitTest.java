@@ -0,0 +1,120 @@
+package com.moiez.pismo.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.moiez.pismo.api.dto.request.CreateTransactionRequest;
+import com.moiez.pismo.api.dto.response.TransactionResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MoneyUnitTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    // ----------------------------------------------------
+    // Parsing and formatting
+    // ----------------------------------------------------
+
+    @ParameterizedTest
+    @CsvSource({
+            "123.45, 12345, 123.45",
+            "-123.4, -12340, -123.40",
+            "+7, 700, 7.00",
+            "0.05, 5, 0.05",
+            "1.230, 123, 1.23",
+            "1e2, 10000, 100.00",
+            "-0.01, -1, -0.01"
+    })
+    void parse_shouldReadDecimal_andFormatWithTwoFractionDigits(String text, long minorUnits, String formatted) {
+        Money money = Money.parse(text);
+
+        assertThat(money.minorUnits()).isEqualTo(minorUnits);
+        assertThat(money).hasToString(formatted);
+        assertThat(money.toBigDecimal()).isEqualByComparingTo(new BigDecimal(text));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"1.234", "", "-", ".", "abc", "1.2.3", "99999999999999999999"})
+    void parse_shouldReject_whenNotAnAmountWithTwoDecimals(String text) {
+        assertThatThrownBy(() -> Money.parse(text))
+                .isInstanceOfAny(NumberFormatException.class, ArithmeticException.class);
+    }
+
+    // ----------------------------------------------------
+    // Arithmetic
+    // ----------------------------------------------------
+
+    @Test
+    void arithmetic_shouldWorkOnMinorUnits() {
+        Money balance = Money.parse("100.00");
+
+        assertThat(balance.plus(Money.parse("0.50")).minorUnits()).isEqualTo(10050);
+        assertThat(balance.minus(Money.parse("100.01")).isNegative()).isTrue();
+        assertThat(balance.negate()).isEqualTo(Money.parse("-100"));
+        assertThat(balance.compareTo(Money.parse("99.99"))).isPositive();
+    }
+
+    @Test
+    void arithmetic_shouldThrow_onOverflow() {
+        Money max = Money.ofMinor(Long.MAX_VALUE);
+
+        assertThatThrownBy(() -> max.plus(Money.ofMinor(1))).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.ofMinor(Long.MIN_VALUE).negate()).isInstanceOf(ArithmeticException.class);
+    }
+
+    // ----------------------------------------------------
+    // JSON
+    // ----------------------------------------------------
+
+    @Test
+    void json_shouldAcceptNumbersAndDecimalStrings() throws Exception {
+        CreateTransactionRequest fromNumber = objectMapper.readValue(
+                "{\"accountId\":1,\"operationType\":4,\"amount\":123.45}", CreateTransactionRequest.class);
+        CreateTransactionRequest fromString = objectMapper.readValue(
+                "{\"accountId\":1,\"operationType\":4,\"amount\":\"123.45\"}", CreateTransactionRequest.class);
+
+        assertThat(fromNumber.amount()).isEqualTo(Money.parse("123.45"));
+        assertThat(fromString.amount()).isEqualTo(Money.parse("123.45"));
+    }
+
+    @Test
+    void json_shouldRejectMoreThanTwoDecimals() {
+        assertThatThrownBy(() -> objectMapper.readValue(
+                "{\"accountId\":1,\"operationType\":4,\"amount\":1.001}", CreateTransactionRequest.class))
+                .isInstanceOf(InvalidFormatException.class);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"1000000000000", "-1000000000000", "\"92233720368547758.07\"", "1e30"})
+    void json_shouldRejectMoreThanTwelveIntegerDigits(String amount) {
+        assertThatThrownBy(() -> objectMapper.readValue(
+                "{\"accountId\":1,\"operationType\":4,\"amount\":" + amount + "}", CreateTransactionRequest.class))
+                .isInstanceOf(InvalidFormatException.class);
+    }
+
+    @Test
+    void json_shouldAcceptTwelveIntegerDigits() throws Exception {
+        CreateTransactionRequest request = objectMapper.readValue(
+                "{\"accountId\":1,\"operationType\":4,\"amount\":999999999999.99}", CreateTransactionRequest.class);
+
+        assertThat(request.amount().minorUnits()).isEqualTo(99_999_999_999_999L);
+    }
+
+    @Test
+    void json_shouldWriteAmountAsDecimalString() throws Exception {
+        TransactionResponse response = TransactionResponse.builder()
+                .transactionId(1L)
+                .amount(Money.parse("-50"))
+                .build();
+
+        assertThat(objectMapper.writeValueAsString(response)).contains("\"amount\":\"-50.00\"");
+        assertThat(objectMapper.writeValueAsString(Money.parse("10"))).isEqualTo("10.00");
+    }
+}
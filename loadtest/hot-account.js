@@ -0,0 +1,42 @@
+// Hammers a single account with concurrent transactions to compare platform and
+// virtual request threads under row lock contention.
+//
+//   k6 run -e BASE_URL=http://localhost:8080 -e VUS=1000 loadtest/hot-account.js
+import http from 'k6/http';
+import encoding from 'k6/encoding';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const VUS = parseInt(__ENV.VUS || '1000');
+
+const headers = {
+    'Content-Type': 'application/json',
+    'Authorization': `Basic ${encoding.b64encode('admin:password')}`,
+};
+
+export const options = {
+    scenarios: {
+        hot_account: {
+            executor: 'constant-vus',
+            vus: VUS,
+            duration: __ENV.DURATION || '60s',
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+export function setup() {
+    const response = http.post(`${BASE_URL}/v1/accounts`,
+        JSON.stringify({ documentNumber: `${Date.now()}` }),
+        { headers: { ...headers, 'Idempotency-Key': `loadtest-account-${Date.now()}` } });
+    check(response, { 'account created': (r) => r.status === 201 });
+    return { accountId: response.json('id') };
+}
+
+export default function (data) {
+    // Payments only, so the hot account never runs out of funds
+    const response = http.post(`${BASE_URL}/v1/transactions`,
+        JSON.stringify({ accountId: data.accountId, operationType: 4, amount: 1.00 }),
+        { headers: { ...headers, 'Idempotency-Key': `loadtest-${__VU}-${__ITER}-${Date.now()}` } });
+    check(response, { 'transaction created': (r) => r.status === 201 });
+}
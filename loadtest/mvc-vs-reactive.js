@@ -0,0 +1,110 @@
+// Many slow clients against the servlet application and the reactive module, one after
+// the other, with the same traffic. Each client thinks between requests like a mobile
+// app does, so most connections sit idle most of the time.
+//
+//   java -jar mvc/target/pismo-0.0.1.jar --pismo.rate-limit.enabled=false   # :8080
+//   java -jar reactive/target/pismo-reactive-0.0.1.jar                      # :8081
+//   k6 run -e VUS=5000 loadtest/mvc-vs-reactive.js
+//
+// The reactive module has no rate limiter, so the servlet application must run with its
+// limiter off (the default) or the comparison measures 429s. Any 429 that still comes
+// back is counted in throttled_requests and fails that scenario's threshold.
+//
+// Compare the {scenario:mvc} and {scenario:reactive} rows of the summary, and the
+// resident memory of the two JVMs while each scenario runs. A scenario fails its
+// thresholds when more than MAX_ERROR_RATE of its requests fail or its p99 exceeds P99_MS.
+import http from 'k6/http';
+import encoding from 'k6/encoding';
+import { check, sleep } from 'k6';
+import { Counter } from 'k6/metrics';
+
+const TARGETS = {
+    mvc: __ENV.MVC_URL || 'http://localhost:8080',
+    reactive: __ENV.REACTIVE_URL || 'http://localhost:8081',
+};
+const VUS = parseInt(__ENV.VUS || '5000');
+const DURATION = __ENV.DURATION || '60s';
+const THINK_TIME = parseFloat(__ENV.THINK_TIME || '2');
+const ACCOUNTS = parseInt(__ENV.ACCOUNTS || '100');
+const P99_MS = parseInt(__ENV.P99_MS || '1000');
+const MAX_ERROR_RATE = parseFloat(__ENV.MAX_ERROR_RATE || '0.01');
+
+const throttled = new Counter('throttled_requests');
+
+const headers = {
+    'Content-Type': 'application/json',
+    'Authorization': `Basic ${encoding.b64encode('admin:password')}`,
+};
+
+function scenario(name, startTime) {
+    return {
+        executor: 'constant-vus',
+        vus: VUS,
+        duration: DURATION,
+        startTime: startTime,
+        gracefulStop: '10s',
+        env: { TARGET: name },
+        tags: { target: name },
+    };
+}
+
+export const options = {
+    scenarios: {
+        mvc: scenario('mvc', '0s'),
+        // After the first scenario and its graceful stop
+        reactive: scenario('reactive', `${parseInt(DURATION) + 15}s`),
+    },
+    // Per-scenario thresholds, so the summary reports each target on its own line
+    thresholds: {
+        'http_req_duration{scenario:mvc}': [`p(99)<${P99_MS}`],
+        'http_req_duration{scenario:reactive}': [`p(99)<${P99_MS}`],
+        'http_req_failed{scenario:mvc}': [`rate<${MAX_ERROR_RATE}`],
+        'http_req_failed{scenario:reactive}': [`rate<${MAX_ERROR_RATE}`],
+        'throttled_requests{scenario:mvc}': ['count==0'],
+        'throttled_requests{scenario:reactive}': ['count==0'],
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+export function setup() {
+    const accounts = {};
+    for (const [name, url] of Object.entries(TARGETS)) {
+        accounts[name] = [];
+        for (let i = 0; i < ACCOUNTS; i++) {
+            const response = http.post(`${url}/v1/accounts`,
+                JSON.stringify({ documentNumber: `${name}-${Date.now()}-${i}` }),
+                { headers: { ...headers, 'Idempotency-Key': `loadtest-${name}-account-${Date.now()}-${i}` } });
+            check(response, { 'account created': (r) => r.status === 201 });
+            accounts[name].push(response.json('id'));
+        }
+    }
+    return accounts;
+}
+
+export default function (accounts) {
+    const target = __ENV.TARGET;
+    const url = TARGETS[target];
+    const accountId = accounts[target][__VU % accounts[target].length];
+
+    // Payments only, so no account runs out of funds
+    const created = http.post(`${url}/v1/transactions`,
+        JSON.stringify({ accountId: accountId, operationType: 4, amount: 1.00 }),
+        { headers: { ...headers, 'Idempotency-Key': `loadtest-${target}-${__VU}-${__ITER}-${Date.now()}` } });
+    record(created, 'transaction created', 201);
+    sleep(THINK_TIME);
+
+    const account = http.get(`${url}/v1/accounts/${accountId}`, { headers });
+    record(account, 'account read', 200);
+    sleep(THINK_TIME);
+}
+
+// A 429 is counted on its own, so throttling is not mistaken for a slow or failing server
+function record(response, name, expectedStatus) {
+    if (response.status === 429) {
+        throttled.add(1);
+    }
+    check(response, {
+        [name]: (r) => r.status === expectedStatus,
+        'not throttled': (r) => r.status !== 429,
+    });
+}
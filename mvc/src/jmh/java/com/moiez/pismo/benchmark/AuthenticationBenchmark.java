@@ -0,0 +1,55 @@
+package com.moiez.pismo.benchmark;
+
+import com.moiez.pismo.security.AuthenticationCacheProperties;
+import com.moiez.pismo.security.CachingAuthenticationProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verifying the admin's Basic credentials against the bcrypt hash on every request
+ * ({@code DIRECT}) versus through {@link CachingAuthenticationProvider} ({@code CACHED}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthenticationBenchmark {
+
+    @Param({"DIRECT", "CACHED"})
+    private String mode;
+
+    private AuthenticationProvider provider;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PasswordEncoder encoder = PasswordEncoderFactories.createDelegatingPasswordEncoder();
+        DaoAuthenticationProvider dao = new DaoAuthenticationProvider(encoder);
+        dao.setUserDetailsService(new InMemoryUserDetailsManager(User.withUsername("admin")
+                .password(encoder.encode("password"))
+                .roles("ADMIN")
+                .build()));
+        provider = "CACHED".equals(mode)
+                ? new CachingAuthenticationProvider(dao,
+                        new AuthenticationCacheProperties(true, 10_000, Duration.ofSeconds(60)),
+                        new SimpleMeterRegistry())
+                : dao;
+    }
+
+    @Benchmark
+    public Authentication authenticate() {
+        return provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("admin", "password"));
+    }
+}
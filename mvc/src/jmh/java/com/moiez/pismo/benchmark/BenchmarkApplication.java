@@ -0,0 +1,26 @@
+package com.moiez.pismo.benchmark;
+
+import com.moiez.pismo.PismoApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Boots the application without a web server and with quiet logging, so that
+ * benchmarks measure the service layer rather than console output.
+ */
+final class BenchmarkApplication {
+
+    private BenchmarkApplication() {}
+
+    static ConfigurableApplicationContext start(String... properties) {
+        return new SpringApplicationBuilder(PismoApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN",
+                        "logging.level.com.moiez.pismo=WARN")
+                .properties(properties)
+                .run();
+    }
+}
@@ -0,0 +1,39 @@
+package com.moiez.pismo.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.moiez.pismo.api.dto.request.CreateTransactionRequest;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CreateTransactionRequestJsonBenchmark {
+
+    private static final byte[] PAYLOAD = """
+            {
+              "accountId": 123,
+              "operationType": 3,
+              "amount": 123.45
+            }
+            """.getBytes(StandardCharsets.UTF_8);
+
+    private ObjectReader reader;
+
+    @Setup
+    public void setUp() {
+        reader = new ObjectMapper().readerFor(CreateTransactionRequest.class);
+    }
+
+    @Benchmark
+    public CreateTransactionRequest deserialize() throws IOException {
+        return reader.readValue(PAYLOAD);
+    }
+}
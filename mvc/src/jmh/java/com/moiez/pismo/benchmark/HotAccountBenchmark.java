@@ -0,0 +1,72 @@
+package com.moiez.pismo.benchmark;
+
+import com.moiez.pismo.api.dto.request.CreateTransactionRequest;
+import com.moiez.pismo.api.dto.response.TransactionResponse;
+import com.moiez.pismo.model.Account;
+import com.moiez.pismo.model.Money;
+import com.moiez.pismo.model.OperationType;
+import com.moiez.pismo.repository.AccountRepository;
+import com.moiez.pismo.service.TransactionService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Credits to a single account from 16 threads, with the account's balance on one row or
+ * split across {@code stripes} rows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class HotAccountBenchmark {
+
+    // The only account in a fresh database
+    private static final long HOT_ACCOUNT_ID = 1L;
+
+    private static final Money AMOUNT = Money.parse("0.01");
+
+    @Param({"1", "8", "32"})
+    private int stripes;
+
+    private final AtomicLong keySequence = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private TransactionService transactionService;
+    private CreateTransactionRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(
+                "pismo.striping.enabled=" + (stripes > 1),
+                "pismo.striping.stripes=" + stripes,
+                "pismo.striping.accounts=" + HOT_ACCOUNT_ID);
+        transactionService = context.getBean(TransactionService.class);
+
+        Account account = context.getBean(AccountRepository.class).save(Account.builder()
+                .idempotencyKey("bench-account")
+                .documentNumber("bench-doc")
+                .build());
+        if (account.getId() != HOT_ACCOUNT_ID) {
+            throw new IllegalStateException("Expected account " + HOT_ACCOUNT_ID + " but got " + account.getId());
+        }
+        request = new CreateTransactionRequest(account.getId(), OperationType.PAYMENT, AMOUNT);
+        // Creates the stripes
+        transactionService.createTransaction(request, "bench-first");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public TransactionResponse credit() {
+        return transactionService.createTransaction(request, "bench-" + keySequence.incrementAndGet());
+    }
+}
@@ -0,0 +1,101 @@
+package com.moiez.pismo.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import com.moiez.pismo.logging.RequestSamplingTurboFilter;
+import com.moiez.pismo.model.Money;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.MDC;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The three INFO lines a transaction request used to write, logged the way
+ * {@code logback-spring.xml} used to (synchronously to the appender) and the way it does
+ * now (through the bounded async appender, optionally with 1 in 10 requests sampled).
+ * Sample time reports the percentiles, so compare the p0.99 rows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class LoggingBenchmark {
+
+    private static final String PATTERN = "%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p [%t] %-40.40logger{39} : %m%n";
+
+    @Param({"SYNC", "ASYNC", "ASYNC_SAMPLED"})
+    private String mode;
+
+    private LoggerContext context;
+    private Logger logger;
+    private double sampleRate;
+
+    private final Money amount = Money.parse("123.45");
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new LoggerContext();
+        context.addTurboFilter(new RequestSamplingTurboFilter());
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(PATTERN);
+        encoder.start();
+
+        FileAppender<ILoggingEvent> file = new FileAppender<>();
+        file.setContext(context);
+        file.setName("FILE");
+        file.setFile("target/logging-benchmark-" + mode + ".log");
+        file.setAppend(false);
+        file.setEncoder(encoder);
+        file.start();
+
+        Appender<ILoggingEvent> appender = file;
+        if (!mode.equals("SYNC")) {
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setName("ASYNC");
+            async.setQueueSize(8192);
+            async.setDiscardingThreshold(1638);
+            async.setNeverBlock(true);
+            async.setIncludeCallerData(false);
+            async.addAppender(file);
+            async.start();
+            appender = async;
+        }
+
+        Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel(ch.qos.logback.classic.Level.INFO);
+        root.addAppender(appender);
+        logger = context.getLogger("com.moiez.pismo.service.TransactionService");
+        sampleRate = mode.equals("ASYNC_SAMPLED") ? 0.1 : 1.0;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.stop();
+    }
+
+    @Benchmark
+    public void request() {
+        boolean sampled = sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+        MDC.put(RequestSamplingTurboFilter.SAMPLED_KEY, Boolean.toString(sampled));
+        try {
+            logger.info("Received transaction request for accountId={}, operationType={}, amount={}",
+                    42L, "PAYMENT", amount);
+            logger.info("Applying transaction of amount {} to account {}", amount, 42L);
+            logger.info("Transaction created successfully with ID: {}", 1001L);
+        } finally {
+            MDC.remove(RequestSamplingTurboFilter.SAMPLED_KEY);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.moiez.pismo.benchmark;
+
+import com.moiez.pismo.model.Money;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The balance update of {@code applyTransaction} (negate the debit, add, check for a
+ * negative result) on {@link BigDecimal}, as it used to be, and on {@link Money}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyBenchmark {
+
+    private String amountText = "12.34";
+    private BigDecimal decimalBalance = new BigDecimal("1000000.00");
+    private BigDecimal decimalAmount = new BigDecimal("12.34");
+    private Money balance = Money.parse("1000000.00");
+    private Money amount = Money.parse("12.34");
+
+    @Benchmark
+    public BigDecimal applyDebitBigDecimal() {
+        BigDecimal updated = decimalAmount.negate().add(decimalBalance);
+        return updated.compareTo(BigDecimal.ZERO) < 0 ? decimalBalance : updated;
+    }
+
+    @Benchmark
+    public Money applyDebitMoney() {
+        Money updated = balance.plus(amount.negate());
+        return updated.isNegative() ? balance : updated;
+    }
+
+    @Benchmark
+    public BigDecimal parseBigDecimal() {
+        return new BigDecimal(amountText);
+    }
+
+    @Benchmark
+    public Money parseMoney() {
+        return Money.parse(amountText);
+    }
+}
@@ -0,0 +1,23 @@
+package com.moiez.pismo.benchmark;
+
+import com.moiez.pismo.model.OperationType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OperationTypeBenchmark {
+
+    @Param({"1", "4"})
+    private int id;
+
+    @Benchmark
+    public OperationType fromId() {
+        return OperationType.fromId(id);
+    }
+}
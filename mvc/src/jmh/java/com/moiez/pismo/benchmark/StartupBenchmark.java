@@ -0,0 +1,40 @@
+package com.moiez.pismo.benchmark;
+
+import com.moiez.pismo.PismoApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold start: each fork is a fresh JVM that boots the whole application, web server
+ * included, once. Add {@code -jvmArgsAppend -Dspring.aot.enabled=true} to time the
+ * AOT-processed context when the classes were built with the {@code aot} profile.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(5)
+public class StartupBenchmark {
+
+    private ConfigurableApplicationContext context;
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ConfigurableApplicationContext start() {
+        context = new SpringApplicationBuilder(PismoApplication.class)
+                .properties(
+                        "server.port=0",
+                        "logging.level.root=WARN",
+                        "logging.level.com.moiez.pismo=WARN")
+                .run();
+        return context;
+    }
+}
@@ -0,0 +1,117 @@
+package com.moiez.pismo.benchmark;
+
+import com.moiez.pismo.api.dto.request.CreateTransactionRequest;
+import com.moiez.pismo.api.dto.response.TransactionResponse;
+import com.moiez.pismo.model.Account;
+import com.moiez.pismo.model.Money;
+import com.moiez.pismo.model.OperationType;
+import com.moiez.pismo.repository.AccountRepository;
+import com.moiez.pismo.service.AccountService;
+import com.moiez.pismo.service.TransactionService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Transaction hot path against the embedded database.
+ * Every scenario credits, so no request is rejected and balances only grow.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class TransactionServiceBenchmark {
+
+    private static final Money AMOUNT = Money.parse("1.00");
+    private static final String REPLAY_KEY = "bench-replay";
+
+    @Param({"100000"})
+    private int accounts;
+
+    @Param({"PESSIMISTIC", "OPTIMISTIC", "ATOMIC"})
+    private String balanceMode;
+
+    private final AtomicLong keySequence = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private TransactionService transactionService;
+    private AccountService accountService;
+    private TransactionTemplate transactionTemplate;
+    private long[] accountIds;
+    private long hotAccountId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("pismo.balance.mode=" + balanceMode);
+        transactionService = context.getBean(TransactionService.class);
+        accountService = context.getBean(AccountService.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        AccountRepository accountRepository = context.getBean(AccountRepository.class);
+        accountIds = new long[accounts];
+        List<Account> chunk = new ArrayList<>();
+        int created = 0;
+        for (int i = 0; i < accounts; i++) {
+            chunk.add(Account.builder()
+                    .idempotencyKey("bench-account-" + i)
+                    .documentNumber("bench-doc-" + i)
+                    .build());
+            if (chunk.size() == 1_000 || i == accounts - 1) {
+                for (Account saved : accountRepository.saveAll(chunk)) {
+                    accountIds[created++] = saved.getId();
+                }
+                chunk.clear();
+            }
+        }
+        hotAccountId = accountIds[0];
+
+        transactionService.createTransaction(credit(hotAccountId), REPLAY_KEY);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public TransactionResponse singleAccountContention() {
+        return transactionService.createTransaction(credit(hotAccountId), nextKey());
+    }
+
+    @Benchmark
+    @Threads(8)
+    public TransactionResponse uniformSpread() {
+        long accountId = accountIds[ThreadLocalRandom.current().nextInt(accountIds.length)];
+        return transactionService.createTransaction(credit(accountId), nextKey());
+    }
+
+    @Benchmark
+    @Threads(8)
+    public TransactionResponse idempotentReplay() {
+        return transactionService.createTransaction(credit(hotAccountId), REPLAY_KEY);
+    }
+
+    @Benchmark
+    public void applyTransaction() {
+        long accountId = accountIds[ThreadLocalRandom.current().nextInt(accountIds.length)];
+        transactionTemplate.executeWithoutResult(status -> accountService.applyTransaction(accountId, AMOUNT));
+    }
+
+    private CreateTransactionRequest credit(long accountId) {
+        return new CreateTransactionRequest(accountId, OperationType.PAYMENT, AMOUNT);
+    }
+
+    private String nextKey() {
+        return "bench-" + keySequence.incrementAndGet();
+    }
+}
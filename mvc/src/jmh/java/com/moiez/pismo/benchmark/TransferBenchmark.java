@@ -0,0 +1,79 @@
+package com.moiez.pismo.benchmark;
+
+import com.moiez.pismo.api.dto.request.CreateTransferRequest;
+import com.moiez.pismo.api.dto.response.TransferResponse;
+import com.moiez.pismo.model.Account;
+import com.moiez.pismo.model.Money;
+import com.moiez.pismo.repository.AccountRepository;
+import com.moiez.pismo.service.TransactionService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Random transfers among a pool of accounts from 8 threads. With few accounts most
+ * transfers share an account with a concurrent one, in either direction; ordered locking
+ * turns that into queueing on the row lock rather than deadlocks and lock timeouts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class TransferBenchmark {
+
+    private static final Money AMOUNT = Money.parse("0.01");
+    private static final Money OPENING_BALANCE = Money.parse("1000000");
+
+    @Param({"8", "1000"})
+    private int accounts;
+
+    @Param({"PESSIMISTIC", "ATOMIC"})
+    private String balanceMode;
+
+    private final AtomicLong keySequence = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private TransactionService transactionService;
+    private long[] accountIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("pismo.balance.mode=" + balanceMode);
+        transactionService = context.getBean(TransactionService.class);
+
+        List<Account> created = new ArrayList<>();
+        for (int i = 0; i < accounts; i++) {
+            created.add(Account.builder()
+                    .idempotencyKey("bench-account-" + i)
+                    .documentNumber("bench-doc-" + i)
+                    .balance(OPENING_BALANCE)
+                    .build());
+        }
+        accountIds = context.getBean(AccountRepository.class).saveAll(created).stream()
+                .mapToLong(Account::getId)
+                .toArray();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public TransferResponse randomTransfer() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int source = random.nextInt(accountIds.length);
+        int destination = (source + 1 + random.nextInt(accountIds.length - 1)) % accountIds.length;
+        return transactionService.createTransfer(
+                new CreateTransferRequest(accountIds[source], accountIds[destination], AMOUNT),
+                "bench-" + keySequence.incrementAndGet());
+    }
+}
@@ -0,0 +1,18 @@
+package com.moiez.pismo;
+
+import com.moiez.pismo.config.PismoRuntimeHints;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@SpringBootApplication
+@ConfigurationPropertiesScan
+@EnableScheduling
+@ImportRuntimeHints(PismoRuntimeHints.class)
+public class PismoApplication {
+    public static void main(String[] args) {
+        SpringApplication.run(PismoApplication.class, args);
+    }
+}
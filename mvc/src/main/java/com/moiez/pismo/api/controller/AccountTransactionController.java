@@ -0,0 +1,61 @@
+package com.moiez.pismo.api.controller;
+
+import com.moiez.pismo.api.dto.response.TransactionPageResponse;
+import com.moiez.pismo.constant.ApiConstants;
+import com.moiez.pismo.model.OperationType;
+import com.moiez.pismo.service.TransactionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+
+@Slf4j
+@Validated
+@RestController
+@RequestMapping(ApiConstants.ACCOUNTS_BASE_URL + "/{id}/transactions")
+@Tag(name = "Accounts", description = "Account APIs")
+public class AccountTransactionController {
+
+    private final TransactionService service;
+
+    public AccountTransactionController(TransactionService service) {
+        this.service = service;
+    }
+
+    @GetMapping
+    @Operation(summary = "List the transactions of an account, newest first")
+    public ResponseEntity<TransactionPageResponse> list(
+            @PathVariable("id")
+            @Parameter(description = "Account ID")
+            Long id,
+            @RequestParam(required = false)
+            @Parameter(description = "Only transactions of this operation type id", example = "4")
+            Integer operationType,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            @Parameter(description = "Only transactions created at or after this instant")
+            Instant from,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            @Parameter(description = "Only transactions created before this instant")
+            Instant to,
+            @RequestParam(required = false)
+            @Parameter(description = "Cursor returned by the previous page")
+            String cursor,
+            @RequestParam(defaultValue = "" + ApiConstants.DEFAULT_PAGE_SIZE)
+            @Min(1) @Max(ApiConstants.MAX_PAGE_SIZE)
+            @Parameter(description = "Page size")
+            int limit) {
+        log.debug("Listing transactions for account ID: {}", id);
+        OperationType type = operationType == null ? null : OperationType.fromId(operationType);
+        return ResponseEntity.ok(service.getAccountTransactions(id, type, from, to, cursor, limit));
+    }
+}
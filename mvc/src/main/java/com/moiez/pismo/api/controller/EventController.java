@@ -0,0 +1,39 @@
+package com.moiez.pismo.api.controller;
+
+import com.moiez.pismo.constant.ApiConstants;
+import com.moiez.pismo.outbox.TransactionEventStream;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.PositiveOrZero;
+import org.springframework.http.MediaType;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@Validated
+@RestController
+@RequestMapping(ApiConstants.EVENTS_BASE_URL)
+@Tag(name = "Events", description = "Change stream APIs")
+public class EventController {
+
+    private final TransactionEventStream stream;
+
+    public EventController(TransactionEventStream stream) {
+        this.stream = stream;
+    }
+
+    @GetMapping(value = "/transactions", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream committed transactions as server-sent events, in publication order")
+    public SseEmitter transactions(
+            @RequestHeader(value = ApiConstants.LAST_EVENT_ID_HEADER, required = false)
+            @PositiveOrZero
+            @Parameter(description = "Resume after this event id; sent automatically by reconnecting clients")
+            Long lastEventId,
+            @RequestParam(required = false)
+            @PositiveOrZero
+            @Parameter(description = "Start after this event id, 0 for every retained event; defaults to new events only")
+            Long after) {
+        return stream.subscribe(lastEventId != null ? lastEventId : after);
+    }
+}
@@ -0,0 +1,142 @@
+package com.moiez.pismo.api.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.moiez.pismo.api.dto.request.CreateTransactionBatchRequest;
+import com.moiez.pismo.api.dto.request.CreateTransactionRequest;
+import com.moiez.pismo.api.dto.response.BatchTransactionResponse;
+import com.moiez.pismo.api.dto.response.TransactionResponse;
+import com.moiez.pismo.constant.ApiConstants;
+import com.moiez.pismo.constant.ErrorConstants;
+import com.moiez.pismo.logging.MdcSnapshot;
+import com.moiez.pismo.repository.TransactionExportQuery;
+import com.moiez.pismo.service.TransactionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.zip.GZIPOutputStream;
+
+@Slf4j
+@Validated
+@RestController
+@RequestMapping("/v1/transactions")
+@Tag(name = "Transactions", description = "Transaction APIs")
+public class TransactionController {
+
+    private final TransactionService service;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter lineWriter;
+
+    public TransactionController(TransactionService service, ObjectMapper objectMapper) {
+        this.service = service;
+        this.objectMapper = objectMapper;
+        // Let the output buffers decide when to flush instead of flushing every line
+        this.lineWriter = objectMapper.writerFor(TransactionResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @PostMapping
+    @Operation(summary = "Create a new transaction")
+    public ResponseEntity<TransactionResponse> create(
+            @RequestHeader("Idempotency-Key") @NotBlank
+            @Pattern(regexp = ApiConstants.IDEMPOTENCY_KEY_PATTERN, message = ErrorConstants.IDEMPOTENCY_KEY_RESERVED)
+            String idempotencyKey,
+            @RequestBody @Valid CreateTransactionRequest request) {
+        log.debug("Received transaction request for account: {} type: {} amount: {} [Idempotency-Key: {}]", 
+                request.accountId(), request.operationType(), request.amount(), idempotencyKey);
+        
+        TransactionResponse response = service.createTransaction(request, idempotencyKey);
+        
+        log.debug("Transaction created successfully with ID: {}", response.transactionId());
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(response);
+    }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Create a batch of transactions")
+    public ResponseEntity<BatchTransactionResponse> createBatch(
+            @RequestBody @Valid CreateTransactionBatchRequest request) {
+        log.info("Received transaction batch with {} items", request.items().size());
+
+        BatchTransactionResponse response = service.createTransactions(request.items());
+
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream transactions as newline-delimited JSON, in id order")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(required = false)
+            @Parameter(description = "Only transactions of this account")
+            Long accountId,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            @Parameter(description = "Only transactions created at or after this instant")
+            Instant from,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            @Parameter(description = "Only transactions created before this instant")
+            Instant to,
+            @RequestParam(required = false)
+            @Parameter(description = "Resume after this transaction id")
+            Long afterId,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        TransactionExportQuery query = TransactionExportQuery.builder()
+                .accountId(accountId)
+                .from(from)
+                .to(to)
+                .afterId(afterId)
+                .build();
+        service.checkExportQuery(query);
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        log.info("Received transaction export request [Account: {}, From: {}, To: {}, After ID: {}, Gzip: {}]",
+                accountId, from, to, afterId, gzip);
+
+        // The body is written on an async thread; keep the request's sampling decision
+        MdcSnapshot loggingContext = MdcSnapshot.capture();
+        StreamingResponseBody body = out -> {
+            OutputStream target = gzip ? new GZIPOutputStream(out) : out;
+            try (MdcSnapshot.Scope ignored = loggingContext.apply();
+                 JsonGenerator generator = objectMapper.getFactory().createGenerator(target)) {
+                generator.setRootValueSeparator(null);
+                service.exportTransactions(query, transaction -> writeLine(generator, transaction));
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    private void writeLine(JsonGenerator generator, TransactionResponse transaction) {
+        try {
+            lineWriter.writeValue(generator, transaction);
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.moiez.pismo.api.controller;
+
+import com.moiez.pismo.api.dto.request.CreateTransferRequest;
+import com.moiez.pismo.api.dto.response.TransferResponse;
+import com.moiez.pismo.constant.ApiConstants;
+import com.moiez.pismo.constant.ErrorConstants;
+import com.moiez.pismo.service.TransactionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+@Slf4j
+@Validated
+@RestController
+@RequestMapping(ApiConstants.TRANSFERS_BASE_URL)
+@Tag(name = "Transfers", description = "Transfer APIs")
+public class TransferController {
+
+    private final TransactionService service;
+
+    public TransferController(TransactionService service) {
+        this.service = service;
+    }
+
+    @PostMapping
+    @Operation(summary = "Transfer an amount between two accounts atomically")
+    public ResponseEntity<TransferResponse> create(
+            @RequestHeader(ApiConstants.IDEMPOTENCY_KEY_HEADER)
+            @NotBlank(message = ErrorConstants.IDEMPOTENCY_KEY_REQUIRED)
+            @Pattern(regexp = ApiConstants.IDEMPOTENCY_KEY_PATTERN, message = ErrorConstants.IDEMPOTENCY_KEY_RESERVED)
+            String idempotencyKey,
+            @RequestBody @Valid CreateTransferRequest request) {
+        log.debug("Received transfer request from account: {} to account: {} amount: {} [{}: {}]",
+                request.sourceAccountId(), request.destinationAccountId(), request.amount(),
+                ApiConstants.IDEMPOTENCY_KEY_HEADER, idempotencyKey);
+
+        TransferResponse response = service.createTransfer(request, idempotencyKey);
+
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(response);
+    }
+}
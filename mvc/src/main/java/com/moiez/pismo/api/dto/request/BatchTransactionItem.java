@@ -0,0 +1,29 @@
+package com.moiez.pismo.api.dto.request;
+
+import com.moiez.pismo.constant.ApiConstants;
+import com.moiez.pismo.constant.ErrorConstants;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+
+@Schema(
+        name = "Batch Transaction Item",
+        description = "A single transaction within a batch, carrying its own idempotency key"
+)
+public record BatchTransactionItem(
+
+        @Schema(
+                description = "Idempotency key of this transaction",
+                example = "idem-123"
+        )
+        @NotBlank(message = ErrorConstants.IDEMPOTENCY_KEY_REQUIRED)
+        @Pattern(regexp = ApiConstants.IDEMPOTENCY_KEY_PATTERN, message = ErrorConstants.IDEMPOTENCY_KEY_RESERVED)
+        String idempotencyKey,
+
+        @Schema(description = "Transaction to create")
+        @NotNull(message = "Transaction is required")
+        @Valid
+        CreateTransactionRequest transaction
+) {}
@@ -0,0 +1,22 @@
+package com.moiez.pismo.api.dto.request;
+
+import com.moiez.pismo.constant.ApiConstants;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+@Schema(
+        name = "Transaction Batch Request",
+        description = "Represents the create request for a batch of transactions"
+)
+public record CreateTransactionBatchRequest(
+
+        @Schema(description = "Transactions to create, processed in order")
+        @NotEmpty(message = "Batch must contain at least one transaction")
+        @Size(max = ApiConstants.MAX_BATCH_SIZE,
+                message = "Batch must contain at most " + ApiConstants.MAX_BATCH_SIZE + " transactions")
+        List<@Valid BatchTransactionItem> items
+) {}
@@ -0,0 +1,33 @@
+package com.moiez.pismo.api.dto.request;
+
+import com.moiez.pismo.model.Money;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+
+@Schema(
+        name = "Transfer Request",
+        description = "Moves an amount from one account to another"
+)
+public record CreateTransferRequest(
+
+        @Schema(
+                description = "Account the amount is withdrawn from",
+                example = "1"
+        )
+        @NotNull(message = "Source account Id is required")
+        Long sourceAccountId,
+
+        @Schema(
+                description = "Account the amount is paid into",
+                example = "2"
+        )
+        @NotNull(message = "Destination account Id is required")
+        Long destinationAccountId,
+
+        @Schema(
+                description = "Positive amount to transfer, with at most 12 integer digits and 2 decimal places",
+                example = "50.00"
+        )
+        @NotNull(message = "Transfer amount is required")
+        Money amount
+) {}
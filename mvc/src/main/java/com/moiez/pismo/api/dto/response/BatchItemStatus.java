@@ -0,0 +1,7 @@
+package com.moiez.pismo.api.dto.response;
+
+public enum BatchItemStatus {
+    CREATED,
+    REPLAYED,
+    REJECTED
+}
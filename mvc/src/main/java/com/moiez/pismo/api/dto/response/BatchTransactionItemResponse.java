@@ -0,0 +1,30 @@
+package com.moiez.pismo.api.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+@Schema
+@Builder
+public record BatchTransactionItemResponse(
+
+        @Schema(
+                description = "Idempotency key of the item",
+                example = "idem-123"
+        )
+        String idempotencyKey,
+
+        @Schema(
+                description = "Outcome of the item",
+                example = "CREATED"
+        )
+        BatchItemStatus status,
+
+        @Schema(description = "Created or previously processed transaction, absent when rejected")
+        TransactionResponse transaction,
+
+        @Schema(
+                description = "Reason the item was rejected",
+                example = "Insufficient funds"
+        )
+        String error
+) {}
@@ -0,0 +1,12 @@
+package com.moiez.pismo.api.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema
+public record BatchTransactionResponse(
+
+        @Schema(description = "Per-item results, in request order")
+        List<BatchTransactionItemResponse> results
+) {}
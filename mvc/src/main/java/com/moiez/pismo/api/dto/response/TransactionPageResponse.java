@@ -0,0 +1,16 @@
+package com.moiez.pismo.api.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema
+public record TransactionPageResponse(
+
+        @Schema(description = "Transactions of the page, newest first")
+        List<TransactionResponse> transactions,
+
+        @Schema(description = "Cursor for the next page, absent on the last page",
+                example = "MjAyNC0wNi0wMVQxMjozMDo0NVp8NDI")
+        String nextCursor
+) {}
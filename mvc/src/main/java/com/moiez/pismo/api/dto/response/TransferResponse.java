@@ -0,0 +1,15 @@
+package com.moiez.pismo.api.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+@Schema
+@Builder
+public record TransferResponse(
+
+        @Schema(description = "The WITHDRAWAL recorded on the source account")
+        TransactionResponse debit,
+
+        @Schema(description = "The PAYMENT recorded on the destination account")
+        TransactionResponse credit
+) {}
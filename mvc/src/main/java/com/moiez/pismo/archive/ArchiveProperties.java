@@ -0,0 +1,14 @@
+package com.moiez.pismo.archive;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "pismo.archive")
+public record ArchiveProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("30d") Duration replayWindow,
+        @DefaultValue("1h") Duration interval,
+        @DefaultValue("1000") int batchSize
+) {}
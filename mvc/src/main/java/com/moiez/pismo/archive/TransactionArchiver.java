@@ -0,0 +1,109 @@
+package com.moiez.pismo.archive;
+
+import com.moiez.pismo.ledger.BalanceProperties;
+import com.moiez.pismo.repository.ArchivedTransactionRepository;
+import com.moiez.pismo.repository.TransactionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Moves whole months of transactions that ended before the idempotency replay window
+ * from {@code transactions} to {@code transactions_archive}, so the hot table and its
+ * unique index only ever hold the window plus the current month.
+ * <p>
+ * Each batch is copied and deleted in one database transaction, so a row is always in
+ * exactly one of the tables. In {@link com.moiez.pismo.ledger.BalanceMode#LEDGER} mode
+ * balances are summed from the hot table's transactions not yet in a snapshot, so only
+ * snapshotted ones are archived.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "pismo.archive", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class TransactionArchiver implements SchedulingConfigurer {
+
+    private final TransactionRepository transactionRepository;
+    private final ArchivedTransactionRepository archiveRepository;
+    private final ArchiveProperties properties;
+    private final BalanceProperties balanceProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+
+    public TransactionArchiver(TransactionRepository transactionRepository,
+                               ArchivedTransactionRepository archiveRepository,
+                               ArchiveProperties properties,
+                               BalanceProperties balanceProperties,
+                               PlatformTransactionManager transactionManager) {
+        this.transactionRepository = transactionRepository;
+        this.archiveRepository = archiveRepository;
+        this.properties = properties;
+        this.balanceProperties = balanceProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = Clock.systemUTC();
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.addFixedDelayTask(this::archive, properties.interval());
+    }
+
+    /**
+     * @return the number of transactions archived
+     */
+    public int archive() {
+        return archiveBefore(cutoff());
+    }
+
+    /**
+     * Start of the month the replay window begins in.
+     */
+    Instant cutoff() {
+        Instant windowStart = clock.instant().minus(properties.replayWindow());
+        return YearMonth.from(windowStart.atZone(ZoneOffset.UTC))
+                .atDay(1)
+                .atStartOfDay(ZoneOffset.UTC)
+                .toInstant();
+    }
+
+    int archiveBefore(Instant cutoff) {
+        int archived = 0;
+        try {
+            Integer moved;
+            do {
+                moved = transactionTemplate.execute(status -> moveBatch(cutoff));
+                archived += moved == null ? 0 : moved;
+            } while (moved != null && moved == properties.batchSize());
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Archiving transactions before {} raced with another run, skipping", cutoff);
+        }
+        if (archived > 0) {
+            log.info("Archived {} transactions created before {}", archived, cutoff);
+        }
+        return archived;
+    }
+
+    private int moveBatch(Instant cutoff) {
+        PageRequest page = PageRequest.of(0, properties.batchSize());
+        List<Long> ids = balanceProperties.isLedger()
+                ? transactionRepository.findSnapshottedIdsCreatedBefore(cutoff, page)
+                : transactionRepository.findIdsCreatedBefore(cutoff, page);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        archiveRepository.copyFromTransactions(ids, clock.instant());
+        transactionRepository.deleteAllByIdInBatch(ids);
+        return ids.size();
+    }
+}
@@ -0,0 +1,115 @@
+package com.moiez.pismo.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.moiez.pismo.api.dto.response.AccountResponse;
+import com.moiez.pismo.model.Account;
+import com.moiez.pismo.model.Money;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of account responses served by {@code GET /v1/accounts/{id}}.
+ * <p>
+ * Writers refresh an entry only after their transaction commits, so a rolled back
+ * balance is never visible. Each entry remembers the {@code updatedAt} of the row it
+ * was built from and an older snapshot never replaces a newer one, which keeps a slow
+ * reader from overwriting a fresher value put by a writer.
+ */
+@Component
+public class AccountCache {
+
+    private static final String CACHE_NAME = "accounts";
+
+    private final AccountCacheProperties properties;
+    private final Cache<Long, Entry> cache;
+
+    public AccountCache(AccountCacheProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.ttl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public Optional<AccountResponse> get(Long accountId) {
+        if (!properties.enabled()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(cache.getIfPresent(accountId)).map(Entry::response);
+    }
+
+    public void put(Account account, AccountResponse response) {
+        if (!properties.enabled()) {
+            return;
+        }
+        cache.asMap().merge(account.getId(), new Entry(response, account.getUpdatedAt()), Entry::newest);
+    }
+
+    /**
+     * Re-maps the account once the surrounding transaction commits, picking up the
+     * balance and timestamp it was flushed with. Outside a transaction it is put immediately.
+     */
+    public void refreshAfterCommit(Account account, Function<Account, AccountResponse> mapper) {
+        afterCommit(() -> put(account, mapper.apply(account)));
+    }
+
+    /**
+     * For writers that update the balance with a statement instead of through the entity:
+     * once the transaction commits, a cached entry takes the balance and timestamp that
+     * were written, unless it already holds a newer row. Accounts that are not cached are
+     * left to be loaded on their next read.
+     */
+    public void refreshAfterCommit(Long accountId, Money balance, Instant updatedAt) {
+        afterCommit(() -> {
+            if (properties.enabled()) {
+                cache.asMap().computeIfPresent(accountId, (id, entry) -> entry.withBalance(balance, updatedAt));
+            }
+        });
+    }
+
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private record Entry(AccountResponse response, Instant updatedAt) {
+
+        Entry withBalance(Money balance, Instant balanceUpdatedAt) {
+            AccountResponse updated = AccountResponse.builder()
+                    .id(response.id())
+                    .documentNumber(response.documentNumber())
+                    .balance(balance)
+                    .build();
+            return newest(new Entry(updated, balanceUpdatedAt));
+        }
+
+        Entry newest(Entry other) {
+            if (updatedAt == null || other.updatedAt == null) {
+                return other;
+            }
+            return other.updatedAt.isBefore(updatedAt) ? this : other;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.moiez.pismo.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "pismo.idempotency")
+public record IdempotencyProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("100000") long maximumSize,
+        @DefaultValue("10m") Duration ttl,
+        @DefaultValue("1000000") long expectedKeys,
+        @DefaultValue("0.01") double falsePositiveRate
+) {}
@@ -0,0 +1,159 @@
+package com.moiez.pismo.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * In-memory view of processed idempotency keys, placed in front of the
+ * {@code findByIdempotencyKey} lookups.
+ * <p>
+ * Completed responses are kept in a bounded cache with TTL eviction so replays are
+ * answered from memory. Seen keys are also recorded in a Bloom filter, seeded from the
+ * database at startup, which can answer "definitely not seen" without a query. Until
+ * seeding has completed every key is reported as possibly seen.
+ * <p>
+ * The filter has two generations and both are checked. Keys go into the current one,
+ * which is retired to previous once it is {@code generationLifetime} old or holds
+ * {@code expected-keys} keys, dropping the generation before it. A key therefore stays
+ * for at least one lifetime (the replay window) unless the traffic in that window
+ * exceeds twice {@code expected-keys}, and the false-positive rate never climbs past
+ * what a full generation gives.
+ * <p>
+ * A negative answer is only a hint: a key written by another instance, or dropped with
+ * an old generation, surfaces as a unique constraint violation on insert, after which
+ * callers look it up.
+ */
+public class IdempotencyStore<T> {
+
+    private final IdempotencyProperties properties;
+    private final Duration generationLifetime;
+    private final Clock clock;
+    private final Cache<String, T> responses;
+
+    private volatile Generations seenKeys;
+    private volatile boolean seeded;
+
+    public IdempotencyStore(IdempotencyProperties properties, Duration generationLifetime) {
+        this(properties, generationLifetime, Clock.systemUTC());
+    }
+
+    IdempotencyStore(IdempotencyProperties properties, Duration generationLifetime, Clock clock) {
+        this.properties = properties;
+        this.generationLifetime = generationLifetime;
+        this.clock = clock;
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.ttl())
+                .recordStats()
+                .build();
+        this.seenKeys = nextGeneration(newFilter());
+    }
+
+    public Optional<T> getIfPresent(String idempotencyKey) {
+        if (!properties.enabled()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(responses.getIfPresent(idempotencyKey));
+    }
+
+    /**
+     * @return {@code false} only when the key has definitely never been processed
+     */
+    public boolean mightContain(String idempotencyKey) {
+        return !properties.enabled() || !seeded || seenKeys.mightContain(idempotencyKey);
+    }
+
+    public void put(String idempotencyKey, T response) {
+        if (!properties.enabled()) {
+            return;
+        }
+        record(idempotencyKey);
+        responses.put(idempotencyKey, response);
+    }
+
+    /**
+     * Records the response once the surrounding transaction commits, so a rolled
+     * back write is never replayed. Outside a transaction it is recorded immediately.
+     */
+    public void putAfterCommit(String idempotencyKey, T response) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            put(idempotencyKey, response);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                put(idempotencyKey, response);
+            }
+        });
+    }
+
+    /**
+     * Records the keys of the current replay window; older keys are not replayed and
+     * would only fill the filter.
+     */
+    public void seed(Stream<String> idempotencyKeys) {
+        idempotencyKeys.forEach(this::record);
+        seeded = true;
+    }
+
+    public void clear() {
+        responses.invalidateAll();
+        seenKeys = nextGeneration(newFilter());
+        seeded = true;
+    }
+
+    public Cache<String, T> responses() {
+        return responses;
+    }
+
+    private void record(String idempotencyKey) {
+        Generations generations = seenKeys;
+        if (generations.isDue(clock.instant(), properties.expectedKeys())) {
+            generations = rotate();
+        }
+        generations.current().put(idempotencyKey);
+        generations.insertions().incrementAndGet();
+    }
+
+    private synchronized Generations rotate() {
+        Generations generations = seenKeys;
+        if (generations.isDue(clock.instant(), properties.expectedKeys())) {
+            generations = nextGeneration(generations.current());
+            seenKeys = generations;
+        }
+        return generations;
+    }
+
+    private Generations nextGeneration(BloomFilter previous) {
+        return new Generations(newFilter(), previous, clock.instant().plus(generationLifetime), new AtomicLong());
+    }
+
+    private BloomFilter newFilter() {
+        return new BloomFilter(properties.expectedKeys(), properties.falsePositiveRate());
+    }
+
+    /**
+     * Swapped as a whole, so a reader never sees the new current generation next to the
+     * generation that was just dropped.
+     */
+    private record Generations(BloomFilter current, BloomFilter previous, Instant rotateAt, AtomicLong insertions) {
+
+        boolean mightContain(String idempotencyKey) {
+            return current.mightContain(idempotencyKey) || previous.mightContain(idempotencyKey);
+        }
+
+        boolean isDue(Instant now, long expectedKeys) {
+            return insertions.get() >= expectedKeys || !now.isBefore(rotateAt);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.moiez.pismo.cache;
+
+import com.moiez.pismo.api.dto.response.AccountResponse;
+import com.moiez.pismo.api.dto.response.TransactionResponse;
+import com.moiez.pismo.archive.ArchiveProperties;
+import com.moiez.pismo.repository.AccountRepository;
+import com.moiez.pismo.repository.TransactionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.stream.Stream;
+
+/**
+ * Loads the idempotency keys written within the replay window into the Bloom filters
+ * once the application is up.
+ */
+@Slf4j
+@Component
+public class IdempotencyStoreSeeder {
+
+    private final IdempotencyStore<AccountResponse> accountIdempotencyStore;
+    private final IdempotencyStore<TransactionResponse> transactionIdempotencyStore;
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final ArchiveProperties archiveProperties;
+    private final TransactionTemplate transactionTemplate;
+
+    public IdempotencyStoreSeeder(IdempotencyStore<AccountResponse> accountIdempotencyStore,
+                                  IdempotencyStore<TransactionResponse> transactionIdempotencyStore,
+                                  AccountRepository accountRepository,
+                                  TransactionRepository transactionRepository,
+                                  ArchiveProperties archiveProperties,
+                                  PlatformTransactionManager transactionManager) {
+        this.accountIdempotencyStore = accountIdempotencyStore;
+        this.transactionIdempotencyStore = transactionIdempotencyStore;
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.archiveProperties = archiveProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        Instant since = Instant.now().minus(archiveProperties.replayWindow());
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<String> keys = accountRepository.streamIdempotencyKeysCreatedSince(since)) {
+                accountIdempotencyStore.seed(keys);
+            }
+            try (Stream<String> keys = transactionRepository.streamIdempotencyKeysCreatedSince(since)) {
+                transactionIdempotencyStore.seed(keys);
+            }
+        });
+        log.info("Idempotency filters seeded");
+    }
+}
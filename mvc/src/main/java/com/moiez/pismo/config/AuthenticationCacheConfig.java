@@ -0,0 +1,28 @@
+package com.moiez.pismo.config;
+
+import com.moiez.pismo.security.AuthenticationCacheProperties;
+import com.moiez.pismo.security.CachingAuthenticationProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+@Configuration
+public class AuthenticationCacheConfig {
+
+    /**
+     * Replaces the provider Spring Security would otherwise build from the
+     * {@link UserDetailsService} and {@link PasswordEncoder}, wrapping that same provider.
+     */
+    @Bean
+    public CachingAuthenticationProvider cachingAuthenticationProvider(UserDetailsService userDetailsService,
+                                                                       PasswordEncoder passwordEncoder,
+                                                                       AuthenticationCacheProperties properties,
+                                                                       MeterRegistry meterRegistry) {
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(passwordEncoder);
+        provider.setUserDetailsService(userDetailsService);
+        return new CachingAuthenticationProvider(provider, properties, meterRegistry);
+    }
+}
@@ -0,0 +1,59 @@
+package com.moiez.pismo.config;
+
+import com.moiez.pismo.datasource.ConnectionLimitProperties;
+import com.moiez.pismo.datasource.ConnectionLimitingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "pismo.datasource.connection-limit", name = "enabled", havingValue = "true")
+public class DataSourceConfig {
+
+    @Bean
+    public static BeanPostProcessor connectionLimitingDataSourcePostProcessor(
+            ObjectProvider<ConnectionLimitProperties> properties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // Only the pools themselves are limited, not the routing and lazy proxies in front of them
+                if (!(bean instanceof DataSource dataSource)
+                        || bean instanceof DelegatingDataSource
+                        || bean instanceof AbstractRoutingDataSource) {
+                    return bean;
+                }
+                ConnectionLimitProperties limit = properties.getObject();
+                // A Hikari pool admits as many borrowers as it has connections, so the primary
+                // and the replica are each sized by their own maximum-pool-size
+                int permits = dataSource instanceof HikariDataSource hikari
+                        ? hikari.getMaximumPoolSize()
+                        : limit.permits();
+                log.info("Limiting data source '{}' to {} concurrent connections", beanName, permits);
+                return new ConnectionLimitingDataSource(beanName, dataSource, permits, limit.acquireTimeout());
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder connectionLimitMetrics(ObjectProvider<DataSource> dataSources) {
+        return registry -> dataSources.stream()
+                .filter(ConnectionLimitingDataSource.class::isInstance)
+                .map(ConnectionLimitingDataSource.class::cast)
+                .forEach(dataSource -> Gauge.builder("pismo.datasource.permit.queue", dataSource,
+                                ConnectionLimitingDataSource::queueLength)
+                        .description("Threads waiting for a connection permit")
+                        .tag("name", dataSource.name())
+                        .register(registry));
+    }
+}
@@ -0,0 +1,35 @@
+package com.moiez.pismo.config;
+
+import com.moiez.pismo.api.dto.response.AccountResponse;
+import com.moiez.pismo.api.dto.response.TransactionResponse;
+import com.moiez.pismo.archive.ArchiveProperties;
+import com.moiez.pismo.cache.IdempotencyProperties;
+import com.moiez.pismo.cache.IdempotencyStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class IdempotencyConfig {
+
+    @Bean
+    public IdempotencyStore<AccountResponse> accountIdempotencyStore(IdempotencyProperties properties,
+                                                                     ArchiveProperties archiveProperties,
+                                                                     MeterRegistry meterRegistry) {
+        IdempotencyStore<AccountResponse> store =
+                new IdempotencyStore<>(properties, archiveProperties.replayWindow());
+        CaffeineCacheMetrics.monitor(meterRegistry, store.responses(), "account-idempotency");
+        return store;
+    }
+
+    @Bean
+    public IdempotencyStore<TransactionResponse> transactionIdempotencyStore(IdempotencyProperties properties,
+                                                                             ArchiveProperties archiveProperties,
+                                                                             MeterRegistry meterRegistry) {
+        IdempotencyStore<TransactionResponse> store =
+                new IdempotencyStore<>(properties, archiveProperties.replayWindow());
+        CaffeineCacheMetrics.monitor(meterRegistry, store.responses(), "transaction-idempotency");
+        return store;
+    }
+}
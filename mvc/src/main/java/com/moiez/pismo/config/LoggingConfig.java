@@ -0,0 +1,24 @@
+package com.moiez.pismo.config;
+
+import com.moiez.pismo.logging.LogSamplingFilter;
+import com.moiez.pismo.logging.LoggingProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class LoggingConfig {
+
+    /**
+     * Runs ahead of the security chain so authentication logging is sampled with the rest
+     * of the request.
+     */
+    @Bean
+    public FilterRegistrationBean<LogSamplingFilter> logSamplingFilter(LoggingProperties properties) {
+        FilterRegistrationBean<LogSamplingFilter> registration =
+                new FilterRegistrationBean<>(new LogSamplingFilter(properties));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,9 @@
+package com.moiez.pismo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "pismo.persistence")
+public record PersistenceProperties(
+        @DefaultValue("50") int idAllocationSize
+) {}
@@ -0,0 +1,101 @@
+package com.moiez.pismo.config;
+
+import com.moiez.pismo.api.dto.request.BatchTransactionItem;
+import com.moiez.pismo.api.dto.request.CreateAccountRequest;
+import com.moiez.pismo.api.dto.request.CreateTransactionBatchRequest;
+import com.moiez.pismo.api.dto.request.CreateTransactionRequest;
+import com.moiez.pismo.api.dto.request.CreateTransferRequest;
+import com.moiez.pismo.api.dto.response.AccountResponse;
+import com.moiez.pismo.api.dto.response.BatchItemStatus;
+import com.moiez.pismo.api.dto.response.BatchTransactionItemResponse;
+import com.moiez.pismo.api.dto.response.BatchTransactionResponse;
+import com.moiez.pismo.api.dto.response.TransactionPageResponse;
+import com.moiez.pismo.api.dto.response.TransactionResponse;
+import com.moiez.pismo.api.dto.response.TransferResponse;
+import com.moiez.pismo.exception.dto.ErrorCode;
+import com.moiez.pismo.exception.dto.ErrorResponse;
+import com.moiez.pismo.logging.RequestSamplingTurboFilter;
+import com.moiez.pismo.model.Account;
+import com.moiez.pismo.model.AccountStripe;
+import com.moiez.pismo.model.ArchivedTransaction;
+import com.moiez.pismo.model.BalanceSnapshot;
+import com.moiez.pismo.model.Money;
+import com.moiez.pismo.model.MoneyConverter;
+import com.moiez.pismo.model.MoneyDeserializer;
+import com.moiez.pismo.model.MoneySerializer;
+import com.moiez.pismo.model.OperationType;
+import com.moiez.pismo.model.OutboxEvent;
+import com.moiez.pismo.model.PooledSequenceGenerator;
+import com.moiez.pismo.model.Transaction;
+import com.moiez.pismo.repository.AccountBalance;
+import com.moiez.pismo.repository.TransactionView;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+import java.util.List;
+
+/**
+ * Reflection a native image cannot discover on its own: Hibernate instantiates the
+ * entities, their id generator and the {@link Money} converter, JPQL constructor
+ * expressions and projections call record constructors, Jackson binds the DTOs and the
+ * Lombok builders behind them, and Logback creates the turbo filter named in
+ * {@code logback-spring.xml}.
+ */
+public class PismoRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final MemberCategory[] ALL_MEMBERS = {
+            MemberCategory.DECLARED_FIELDS,
+            MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+            MemberCategory.INVOKE_DECLARED_METHODS
+    };
+
+    private static final List<Class<?>> ENTITIES = List.of(
+            Account.class,
+            Account.AccountBuilder.class,
+            Transaction.class,
+            Transaction.TransactionBuilder.class,
+            ArchivedTransaction.class,
+            BalanceSnapshot.class,
+            OutboxEvent.class,
+            AccountStripe.class,
+            AccountStripe.Key.class,
+            PooledSequenceGenerator.class,
+            MoneyConverter.class,
+            AccountBalance.class,
+            TransactionView.class
+    );
+
+    private static final List<Class<?>> JSON_TYPES = List.of(
+            Money.class,
+            MoneySerializer.class,
+            MoneyDeserializer.class,
+            OperationType.class,
+            CreateAccountRequest.class,
+            CreateTransactionRequest.class,
+            CreateTransactionBatchRequest.class,
+            BatchTransactionItem.class,
+            CreateTransferRequest.class,
+            AccountResponse.class,
+            AccountResponse.AccountResponseBuilder.class,
+            TransactionResponse.class,
+            TransactionResponse.TransactionResponseBuilder.class,
+            BatchTransactionResponse.class,
+            BatchTransactionItemResponse.class,
+            BatchTransactionItemResponse.BatchTransactionItemResponseBuilder.class,
+            BatchItemStatus.class,
+            TransactionPageResponse.class,
+            TransferResponse.class,
+            TransferResponse.TransferResponseBuilder.class,
+            ErrorResponse.class,
+            ErrorResponse.ErrorResponseBuilder.class,
+            ErrorCode.class
+    );
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        ENTITIES.forEach(type -> hints.reflection().registerType(type, ALL_MEMBERS));
+        JSON_TYPES.forEach(type -> hints.reflection().registerType(type, ALL_MEMBERS));
+        hints.reflection().registerType(RequestSamplingTurboFilter.class, MemberCategory.values());
+    }
+}
@@ -0,0 +1,48 @@
+package com.moiez.pismo.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moiez.pismo.ratelimit.AuthenticationThrottleFilter;
+import com.moiez.pismo.ratelimit.AuthenticationThrottleProperties;
+import com.moiez.pismo.ratelimit.RateLimitFilter;
+import com.moiez.pismo.ratelimit.RateLimitProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RateLimitConfig {
+
+    @Bean
+    public RateLimitFilter rateLimitFilter(RateLimitProperties properties,
+                                           ObjectMapper objectMapper,
+                                           MeterRegistry meterRegistry) {
+        return new RateLimitFilter(properties, objectMapper, meterRegistry);
+    }
+
+    @Bean
+    public AuthenticationThrottleFilter authenticationThrottleFilter(AuthenticationThrottleProperties properties,
+                                                                     ObjectMapper objectMapper,
+                                                                     MeterRegistry meterRegistry) {
+        return new AuthenticationThrottleFilter(properties, objectMapper, meterRegistry);
+    }
+
+    /**
+     * The filter needs the authenticated principal, so it only runs inside the security
+     * filter chain and is not registered with the servlet container on its own.
+     */
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter filter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    @Bean
+    public FilterRegistrationBean<AuthenticationThrottleFilter> authenticationThrottleFilterRegistration(
+            AuthenticationThrottleFilter filter) {
+        FilterRegistrationBean<AuthenticationThrottleFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+}
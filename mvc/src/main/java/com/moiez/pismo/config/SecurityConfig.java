@@ -1,5 +1,8 @@
 package com.moiez.pismo.config;
 
+import com.moiez.pismo.ratelimit.AuthenticationThrottleFilter;
+import com.moiez.pismo.ratelimit.RateLimitFilter;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.Customizer;
@@ -9,20 +12,27 @@ import org.springframework.security.config.annotation.web.configurers.AbstractHt
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http,
+                                           ObjectProvider<AuthenticationThrottleFilter> authenticationThrottleFilter,
+                                           ObjectProvider<RateLimitFilter> rateLimitFilter) throws Exception {
         http
                 .csrf(AbstractHttpConfigurer::disable) // Disable CSRF for stateless APIs
                 .authorizeHttpRequests(auth -> auth
                         // Allow Swagger UI and API Docs
                         .requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
+                        // Allow health checks and Prometheus scrapes
+                        .requestMatchers("/actuator/health/**", "/actuator/prometheus").permitAll()
                         // Secure API endpoints
                         .requestMatchers("/v1/**").authenticated()
                         // Allow health checks or other endpoints by default
@@ -30,6 +40,11 @@ public class SecurityConfig {
                 )
                 .httpBasic(Customizer.withDefaults()); // Use Basic Auth
 
+        // Turn away addresses with too many failed logins before their credentials cost a bcrypt check
+        authenticationThrottleFilter.ifAvailable(filter -> http.addFilterBefore(filter, BasicAuthenticationFilter.class));
+        // Throttle by principal once it is known, before any controller runs
+        rateLimitFilter.ifAvailable(filter -> http.addFilterAfter(filter, BasicAuthenticationFilter.class));
+
         return http.build();
     }
 
@@ -37,10 +52,15 @@ public class SecurityConfig {
     public UserDetailsService userDetailsService() {
         UserDetails admin = User.builder()
                 .username("admin")
-                .password("{noop}password") // {noop} allows plain text for demo purposes
+                .password("{bcrypt}$2a$10$JeOzpggsaG8Y405FjRsW/OOsmkk.mHS6.FcpbuCFfoXqQb.polKF.") // "password"
                 .roles("ADMIN")
                 .build();
 
         return new InMemoryUserDetailsManager(admin);
     }
+
+    @Bean
+    public PasswordEncoder passwordEncoder() {
+        return PasswordEncoderFactories.createDelegatingPasswordEncoder();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.moiez.pismo.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * {@code permits} only applies to pools other than Hikari; a Hikari pool is limited to its
+ * own {@code maximum-pool-size}.
+ */
+@ConfigurationProperties(prefix = "pismo.datasource.connection-limit")
+public record ConnectionLimitProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("10") int permits,
+        @DefaultValue("3s") Duration acquireTimeout
+) {}
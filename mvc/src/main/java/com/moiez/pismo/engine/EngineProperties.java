@@ -0,0 +1,16 @@
+package com.moiez.pismo.engine;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "pismo.engine")
+public record EngineProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("8") int shards,
+        @DefaultValue("64") int maxBatchSize,
+        @DefaultValue("10000") int queueCapacity,
+        @DefaultValue("0") Duration maxLinger,
+        @DefaultValue("30s") Duration commitTimeout
+) {}
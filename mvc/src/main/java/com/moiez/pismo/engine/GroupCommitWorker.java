@@ -0,0 +1,140 @@
+package com.moiez.pismo.engine;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single thread that drains its queue and commits everything it took in one
+ * database transaction. If the group transaction fails as a whole, each item
+ * is replayed in its own transaction so one bad item cannot fail its neighbours.
+ * <p>
+ * With a non-zero {@code maxLinger} the worker keeps collecting after the first item
+ * until the batch is full or the linger has passed, trading that much latency for
+ * fewer commits when requests arrive just too far apart to queue up on their own.
+ * <p>
+ * A batch is applied in ascending account id order, so two shards whose groups touch
+ * the same accounts take the row locks in the same order and cannot deadlock. The sort
+ * is stable, so the items for one account still run in the order they arrived.
+ * Items whose callers stopped waiting before the batch was taken are dropped unrun.
+ */
+@Slf4j
+class GroupCommitWorker implements Runnable {
+
+    private static final long POLL_TIMEOUT_MS = 100;
+    private static final Comparator<PendingWork<?>> BY_ACCOUNT = Comparator.comparingLong(PendingWork::accountId);
+
+    private final BlockingQueue<PendingWork<?>> queue;
+    private final int maxBatchSize;
+    private final long maxLingerNanos;
+    private final TransactionTemplate transactionTemplate;
+    private final DistributionSummary batchSizes;
+    private final Thread thread;
+
+    private volatile boolean running = true;
+
+    GroupCommitWorker(String name,
+                      int queueCapacity,
+                      int maxBatchSize,
+                      Duration maxLinger,
+                      TransactionTemplate transactionTemplate,
+                      DistributionSummary batchSizes) {
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxBatchSize = maxBatchSize;
+        this.maxLingerNanos = maxLinger.toNanos();
+        this.transactionTemplate = transactionTemplate;
+        this.batchSizes = batchSizes;
+        this.thread = new Thread(this, name);
+        this.thread.setDaemon(true);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    void submit(PendingWork<?> work) throws InterruptedException {
+        queue.put(work);
+        if (!running) {
+            // stop() may already have drained the queue; fail whatever it missed
+            failQueued();
+        }
+    }
+
+    int queueDepth() {
+        return queue.size();
+    }
+
+    void stop() throws InterruptedException {
+        running = false;
+        thread.join(TimeUnit.SECONDS.toMillis(5));
+        failQueued();
+    }
+
+    private void failQueued() {
+        List<PendingWork<?>> abandoned = new ArrayList<>();
+        queue.drainTo(abandoned);
+        abandoned.forEach(work -> work.fail(new IllegalStateException(ShardedTransactionEngine.SHUTTING_DOWN)));
+    }
+
+    @Override
+    public void run() {
+        List<PendingWork<?>> batch = new ArrayList<>(maxBatchSize);
+        while (running) {
+            try {
+                PendingWork<?> first = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatchSize - 1);
+                linger(batch);
+                batch.removeIf(work -> !work.claim());
+                if (batch.isEmpty()) {
+                    continue;
+                }
+                batch.sort(BY_ACCOUNT);
+                batchSizes.record(batch.size());
+                commit(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void linger(List<PendingWork<?>> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + maxLingerNanos;
+        while (batch.size() < maxBatchSize) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return;
+            }
+            PendingWork<?> next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+            queue.drainTo(batch, maxBatchSize - batch.size());
+        }
+    }
+
+    private void commit(List<PendingWork<?>> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> batch.forEach(PendingWork::attempt));
+            batch.forEach(PendingWork::complete);
+        } catch (RuntimeException e) {
+            log.warn("Group commit of {} items failed, retrying them individually", batch.size(), e);
+            batch.forEach(work -> work.runIsolated(transactionTemplate));
+        }
+    }
+}
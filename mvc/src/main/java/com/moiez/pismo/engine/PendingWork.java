@@ -0,0 +1,93 @@
+package com.moiez.pismo.engine;
+
+import com.moiez.pismo.exception.BadRequestException;
+import com.moiez.pismo.logging.MdcSnapshot;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * A unit of work queued for a group commit, together with the future its caller waits on.
+ * The caller's MDC is captured on creation and installed on the shard thread while the
+ * work runs, so its logging follows the request's sampling decision.
+ * <p>
+ * The shard {@link #claim() claims} the work before running it and a caller that gave up
+ * {@link #withdraw() withdraws} it; only one of the two succeeds, so withdrawn work is
+ * never run.
+ */
+class PendingWork<T> {
+
+    private final long accountId;
+    private final Supplier<T> work;
+    private final MdcSnapshot loggingContext = MdcSnapshot.capture();
+    private final CompletableFuture<T> future = new CompletableFuture<>();
+    private final AtomicBoolean taken = new AtomicBoolean();
+
+    private T result;
+    private RuntimeException rejection;
+
+    PendingWork(long accountId, Supplier<T> work) {
+        this.accountId = accountId;
+        this.work = work;
+    }
+
+    long accountId() {
+        return accountId;
+    }
+
+    CompletableFuture<T> future() {
+        return future;
+    }
+
+    /**
+     * Called by the shard before running the work; false once the caller has withdrawn it.
+     */
+    boolean claim() {
+        return taken.compareAndSet(false, true);
+    }
+
+    /**
+     * Called by a caller that stopped waiting; false once the shard has claimed the work,
+     * which may then still commit.
+     */
+    boolean withdraw() {
+        return taken.compareAndSet(false, true);
+    }
+
+    /**
+     * Runs the work inside the shared group transaction. Business rejections are
+     * raised before anything is written, so they are kept for this item only;
+     * any other failure propagates and aborts the whole group.
+     */
+    void attempt() {
+        try (MdcSnapshot.Scope ignored = loggingContext.apply()) {
+            result = work.get();
+            rejection = null;
+        } catch (BadRequestException e) {
+            result = null;
+            rejection = e;
+        }
+    }
+
+    void complete() {
+        if (rejection != null) {
+            future.completeExceptionally(rejection);
+        } else {
+            future.complete(result);
+        }
+    }
+
+    void runIsolated(TransactionTemplate transactionTemplate) {
+        try (MdcSnapshot.Scope ignored = loggingContext.apply()) {
+            future.complete(transactionTemplate.execute(status -> work.get()));
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+    }
+
+    void fail(RuntimeException e) {
+        future.completeExceptionally(e);
+    }
+}
@@ -0,0 +1,131 @@
+package com.moiez.pismo.engine;
+
+import com.moiez.pismo.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import static com.moiez.pismo.constant.ErrorConstants.TRANSACTION_NOT_CONFIRMED;
+
+/**
+ * Routes work for an account onto one of N single-threaded shards, chosen by
+ * hashing the account id. All writes to an account issued by this instance are
+ * therefore applied in order by one thread, so the account row lock is never
+ * contended locally, and each shard commits whatever it has queued as a group.
+ */
+@Slf4j
+@Component
+public class ShardedTransactionEngine {
+
+    static final String SHUTTING_DOWN = "Transaction engine is shutting down";
+
+    private final EngineProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final DistributionSummary batchSizes;
+    private final List<GroupCommitWorker> shards = new ArrayList<>();
+
+    private volatile boolean stopped;
+
+    public ShardedTransactionEngine(EngineProperties properties,
+                                    PlatformTransactionManager transactionManager,
+                                    MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        Gauge.builder("pismo.engine.queue.depth", this, ShardedTransactionEngine::queueDepth)
+                .description("Transactions waiting for a shard")
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("pismo.engine.batch.size")
+                .description("Transactions committed together by a shard")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!properties.enabled()) {
+            return;
+        }
+        for (int i = 0; i < properties.shards(); i++) {
+            GroupCommitWorker shard = new GroupCommitWorker(
+                    "ledger-shard-" + i,
+                    properties.queueCapacity(),
+                    properties.maxBatchSize(),
+                    properties.maxLinger(),
+                    transactionTemplate,
+                    batchSizes);
+            shard.start();
+            shards.add(shard);
+        }
+        log.info("Sharded transaction engine started with {} shards, max linger {}",
+                shards.size(), properties.maxLinger());
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        stopped = true;
+        for (GroupCommitWorker shard : shards) {
+            shard.stop();
+        }
+    }
+
+    public int queueDepth() {
+        return shards.stream().mapToInt(GroupCommitWorker::queueDepth).sum();
+    }
+
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    /**
+     * Runs the work on the shard owning the account and waits for its group to commit,
+     * for at most {@code pismo.engine.commit-timeout}. Work arriving once the engine is
+     * stopping fails at once instead of waiting on a shard that will never drain it.
+     * <p>
+     * On timeout the work is withdrawn if its shard has not started it yet. Otherwise it
+     * may still commit, so either way the caller gets a {@link ServiceUnavailableException}
+     * and a retry with the same idempotency key either replays it or applies it once.
+     */
+    public <T> T execute(long accountId, Supplier<T> work) {
+        if (stopped) {
+            throw new IllegalStateException(SHUTTING_DOWN);
+        }
+        GroupCommitWorker shard = shards.get(Math.floorMod(Long.hashCode(accountId), shards.size()));
+        PendingWork<T> pending = new PendingWork<>(accountId, work);
+        try {
+            shard.submit(pending);
+            return pending.future().get(properties.commitTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the transaction engine", e);
+        } catch (TimeoutException e) {
+            if (pending.withdraw()) {
+                log.warn("Transaction for account {} withdrawn after waiting {} for its shard",
+                        accountId, properties.commitTimeout());
+            } else {
+                log.warn("Transaction for account {} still committing after {}",
+                        accountId, properties.commitTimeout());
+            }
+            throw new ServiceUnavailableException(TRANSACTION_NOT_CONFIRMED);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
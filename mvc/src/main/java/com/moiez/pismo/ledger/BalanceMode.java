@@ -0,0 +1,30 @@
+package com.moiez.pismo.ledger;
+
+/**
+ * How a transaction is applied to the balance of its account.
+ */
+public enum BalanceMode {
+
+    /**
+     * Read-modify-write of {@code accounts.balance} under a row lock.
+     */
+    PESSIMISTIC,
+
+    /**
+     * Unlocked read of the balance and its version, written back with a conditional
+     * update that only matches an unchanged version; retried with jitter on conflict.
+     */
+    OPTIMISTIC,
+
+    /**
+     * Single conditional update that adds the amount in the database, without loading
+     * the account. Batches fall back to {@link #PESSIMISTIC}, which already reads once.
+     */
+    ATOMIC,
+
+    /**
+     * Append-only: transactions are inserted without touching the account row and the
+     * balance is derived from the latest snapshot plus the transactions after it.
+     */
+    LEDGER
+}
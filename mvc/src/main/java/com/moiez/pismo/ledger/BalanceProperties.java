@@ -0,0 +1,27 @@
+package com.moiez.pismo.ledger;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "pismo.balance")
+public record BalanceProperties(
+        @DefaultValue("PESSIMISTIC") BalanceMode mode,
+        @DefaultValue("1m") Duration snapshotInterval,
+        @DefaultValue("1000") int snapshotBatchSize,
+        @DefaultValue("5") int optimisticMaxAttempts,
+        @DefaultValue("5ms") Duration optimisticBackoff
+) {
+    public boolean isLedger() {
+        return mode == BalanceMode.LEDGER;
+    }
+
+    public boolean isOptimistic() {
+        return mode == BalanceMode.OPTIMISTIC;
+    }
+
+    public boolean isAtomic() {
+        return mode == BalanceMode.ATOMIC;
+    }
+}
@@ -0,0 +1,104 @@
+package com.moiez.pismo.ledger;
+
+import com.moiez.pismo.model.BalanceSnapshot;
+import com.moiez.pismo.model.Money;
+import com.moiez.pismo.repository.BalanceSnapshotRepository;
+import com.moiez.pismo.repository.TransactionRepository;
+import com.moiez.pismo.repository.UnsnapshottedAmount;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Periodically folds the committed transactions of each account into its
+ * {@link BalanceSnapshot}, so deriving a balance only has to sum a short tail.
+ * <p>
+ * A run locks the transactions not yet marked {@code snapshotted}, adds them to their
+ * accounts' snapshots and marks them, all in one database transaction. Which rows are
+ * covered is decided by the mark rather than by a creation-time cutoff, so a transaction
+ * that commits late is folded into a later run instead of being skipped. Runs on several
+ * instances never lock the same rows; a snapshot both update is protected by its version
+ * and the loser rolls back.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "pismo.balance", name = "mode", havingValue = "LEDGER")
+public class BalanceSnapshotter implements SchedulingConfigurer {
+
+    private final TransactionRepository transactionRepository;
+    private final BalanceSnapshotRepository snapshotRepository;
+    private final BalanceProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    public BalanceSnapshotter(TransactionRepository transactionRepository,
+                              BalanceSnapshotRepository snapshotRepository,
+                              BalanceProperties properties,
+                              PlatformTransactionManager transactionManager) {
+        this.transactionRepository = transactionRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.addFixedDelayTask(this::snapshot, properties.snapshotInterval());
+    }
+
+    /**
+     * @return the number of snapshots advanced, counting an account once per batch
+     */
+    public int snapshot() {
+        int advanced = 0;
+        try {
+            Batch batch;
+            do {
+                batch = transactionTemplate.execute(status -> snapshotBatch());
+                advanced += batch == null ? 0 : batch.accounts();
+            } while (batch != null && batch.transactions() == properties.snapshotBatchSize());
+        } catch (OptimisticLockingFailureException | DataIntegrityViolationException
+                 | PessimisticLockingFailureException e) {
+            log.warn("Balance snapshot raced with another run, retrying on the next run");
+        }
+        if (advanced > 0) {
+            log.info("Balance snapshots advanced for {} accounts", advanced);
+        }
+        return advanced;
+    }
+
+    private record Batch(int transactions, int accounts) {}
+
+    private Batch snapshotBatch() {
+        List<UnsnapshottedAmount> pending = transactionRepository.findUnsnapshottedForUpdate(
+                properties.snapshotBatchSize());
+        if (pending.isEmpty()) {
+            return new Batch(0, 0);
+        }
+
+        // Snapshot rows are written in account order, like every other multi-account lock
+        Map<Long, Long> deltas = new TreeMap<>();
+        pending.forEach(amount -> deltas.merge(amount.getAccountId(), amount.getAmount(), Long::sum));
+        deltas.forEach((accountId, delta) -> {
+            BalanceSnapshot snapshot = snapshotRepository.findById(accountId)
+                    .orElseGet(() -> BalanceSnapshot.builder()
+                            .accountId(accountId)
+                            .balance(Money.ZERO)
+                            .build());
+            snapshot.setBalance(snapshot.getBalance().plus(Money.ofMinor(delta)));
+            snapshotRepository.save(snapshot);
+        });
+        transactionRepository.markSnapshotted(pending.stream().map(UnsnapshottedAmount::getId).toList());
+        return new Batch(pending.size(), deltas.size());
+    }
+}
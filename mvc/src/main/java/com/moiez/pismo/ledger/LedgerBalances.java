@@ -0,0 +1,140 @@
+package com.moiez.pismo.ledger;
+
+import com.moiez.pismo.exception.BadRequestException;
+import com.moiez.pismo.model.BalanceSnapshot;
+import com.moiez.pismo.model.Money;
+import com.moiez.pismo.repository.AccountRepository;
+import com.moiez.pismo.repository.BalanceSnapshotRepository;
+import com.moiez.pismo.repository.TransactionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.moiez.pismo.constant.ErrorConstants.ACCOUNT_NOT_FOUND;
+
+/**
+ * Balances for {@link BalanceMode#LEDGER}.
+ * <p>
+ * The posted balance is derived from the account's {@link BalanceSnapshot} plus the
+ * transactions not folded into it yet. Credits are plain inserts. Debits lock the
+ * account row without updating it, so debits to one account are serialized across every
+ * instance, and are checked against the posted balance read after the lock, which
+ * includes every committed transaction and those of the current database transaction.
+ * <p>
+ * The last balance each instance saw is kept in memory, but only to turn away a debit
+ * that is clearly too large without taking the lock; it is never trusted to accept one.
+ */
+@Slf4j
+@Component
+public class LedgerBalances {
+
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final BalanceSnapshotRepository snapshotRepository;
+    private final Map<Long, Long> knownFunds = new ConcurrentHashMap<>();
+
+    public LedgerBalances(AccountRepository accountRepository,
+                          TransactionRepository transactionRepository,
+                          BalanceSnapshotRepository snapshotRepository) {
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.snapshotRepository = snapshotRepository;
+    }
+
+    public Money postedBalance(Long accountId) {
+        return Money.ofMinor(snapshotRepository.postedBalance(accountId));
+    }
+
+    /**
+     * Accepts {@code amount} for the account inside the caller's transaction. Credits
+     * always succeed; a debit fails if it would take the balance below zero.
+     *
+     * @return whether the amount was accepted
+     */
+    public boolean reserve(Long accountId, Money amount) {
+        if (amount.isNegative() && clearlyInsufficient(accountId, amount)) {
+            return false;
+        }
+        return reserveAll(accountId, List.of(amount))[0];
+    }
+
+    /**
+     * Accepts the amounts in order against a running balance, skipping any debit that
+     * would take it below zero.
+     *
+     * @return for each amount, whether it was accepted
+     */
+    public boolean[] reserveAll(Long accountId, List<Money> amounts) {
+        boolean[] accepted = new boolean[amounts.size()];
+        if (amounts.stream().noneMatch(Money::isNegative)) {
+            if (!knownFunds.containsKey(accountId) && !accountRepository.existsById(accountId)) {
+                throw accountNotFound(accountId);
+            }
+            Arrays.fill(accepted, true);
+            long credited = amounts.stream().mapToLong(Money::minorUnits).sum();
+            onCommit(() -> knownFunds.computeIfPresent(accountId, (id, funds) -> funds + credited));
+            return accepted;
+        }
+
+        accountRepository.findByIdForUpdate(accountId).orElseThrow(() -> accountNotFound(accountId));
+        // Inserts of this transaction still queued in the session count towards the sum
+        transactionRepository.flush();
+        Money runningBalance = postedBalance(accountId);
+        for (int i = 0; i < amounts.size(); i++) {
+            Money updatedBalance = runningBalance.plus(amounts.get(i));
+            if (!updatedBalance.isNegative()) {
+                runningBalance = updatedBalance;
+                accepted[i] = true;
+            }
+        }
+        long balance = runningBalance.minorUnits();
+        onCommit(() -> knownFunds.put(accountId, balance));
+        return accepted;
+    }
+
+    public void clear() {
+        knownFunds.clear();
+    }
+
+    /**
+     * A debit beyond the last balance seen is checked once more against an unlocked read,
+     * since another instance may have credited the account since.
+     */
+    private boolean clearlyInsufficient(Long accountId, Money amount) {
+        Long funds = knownFunds.get(accountId);
+        if (funds == null || funds + amount.minorUnits() >= 0) {
+            return false;
+        }
+        long posted = postedBalance(accountId).minorUnits();
+        knownFunds.put(accountId, posted);
+        return posted + amount.minorUnits() < 0;
+    }
+
+    private BadRequestException accountNotFound(Long accountId) {
+        log.error("Failed to apply transaction: Account ID {} not found", accountId);
+        return new BadRequestException(ACCOUNT_NOT_FOUND);
+    }
+
+    /**
+     * Runs {@code action} once the surrounding transaction commits, or at once outside a
+     * transaction.
+     */
+    private void onCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,156 @@
+package com.moiez.pismo.ledger;
+
+import com.moiez.pismo.exception.BadRequestException;
+import com.moiez.pismo.model.AccountStripe;
+import com.moiez.pismo.model.Money;
+import com.moiez.pismo.repository.AccountRepository;
+import com.moiez.pismo.repository.AccountStripeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+
+import static com.moiez.pismo.constant.ErrorConstants.ACCOUNT_NOT_FOUND;
+
+/**
+ * Balances of the hot accounts listed in {@code pismo.striping.accounts}, split across
+ * {@code stripes} {@link AccountStripe} rows.
+ * <p>
+ * A credit adds to one randomly chosen stripe and never touches the account row, so K
+ * concurrent credits to the same account mostly lock different rows. A debit locks the
+ * account row, which serializes debits, then every stripe in order; it checks the total
+ * and folds the stripes back into the account row. Readers sum the account row and its
+ * stripes. Not used in {@link BalanceMode#LEDGER}, which keeps no balance on the rows.
+ */
+@Slf4j
+@Component
+public class StripedBalances {
+
+    private final StripingProperties properties;
+    private final AccountRepository accountRepository;
+    private final AccountStripeRepository stripeRepository;
+    private final TransactionTemplate setupTransactionTemplate;
+
+    public StripedBalances(StripingProperties properties,
+                           AccountRepository accountRepository,
+                           AccountStripeRepository stripeRepository,
+                           PlatformTransactionManager transactionManager) {
+        this.properties = properties;
+        this.accountRepository = accountRepository;
+        this.stripeRepository = stripeRepository;
+        this.setupTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.setupTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public boolean isStriped(Long accountId) {
+        return properties.enabled() && properties.accounts().contains(accountId);
+    }
+
+    /**
+     * Balance of the account, or empty if it does not exist.
+     */
+    public Optional<Money> balance(Long accountId) {
+        return stripeRepository.findTotalBalanceByAccountId(accountId).map(Money::ofMinor);
+    }
+
+    /**
+     * Applies {@code amount} to the account inside the caller's transaction.
+     *
+     * @return whether it was applied; only a debit beyond the total balance is refused
+     * @throws BadRequestException if the account does not exist
+     */
+    public boolean apply(Long accountId, Money amount) {
+        return amount.signum() >= 0 ? credit(accountId, amount) : debit(accountId, amount);
+    }
+
+    /**
+     * Until the account has its stripes, the credit goes straight to the account row and
+     * the stripes are created once this transaction has completed, when it no longer
+     * holds locks the creation would wait for.
+     */
+    private boolean credit(Long accountId, Money amount) {
+        int stripe = ThreadLocalRandom.current().nextInt(properties.stripes());
+        if (stripeRepository.addToStripe(accountId, stripe, amount.minorUnits()) == 1) {
+            return true;
+        }
+        if (accountRepository.addToBalance(accountId, amount.minorUnits(), Instant.now()) == 0) {
+            log.error("Failed to apply transaction: Account ID {} not found", accountId);
+            throw new BadRequestException(ACCOUNT_NOT_FOUND);
+        }
+        afterCompletion(() -> createStripes(accountId));
+        return true;
+    }
+
+    /**
+     * Reads and folds with native statements only. A credit later in the same transaction
+     * (a batch, an engine group) adds to a stripe in the database, so a folded stripe
+     * left as a dirty entity would be written back over it at commit.
+     */
+    private boolean debit(Long accountId, Money amount) {
+        Money accountBalance = accountRepository.lockBalanceById(accountId)
+                .map(Money::ofMinor)
+                .orElseThrow(() -> {
+                    log.error("Failed to apply transaction: Account ID {} not found", accountId);
+                    return new BadRequestException(ACCOUNT_NOT_FOUND);
+                });
+        Money striped = stripeRepository.lockBalancesByAccountId(accountId).stream()
+                .map(Money::ofMinor)
+                .reduce(Money.ZERO, Money::plus);
+
+        Money updatedBalance = accountBalance.plus(striped).plus(amount);
+        if (updatedBalance.isNegative()) {
+            return false;
+        }
+        stripeRepository.clearStripes(accountId);
+        accountRepository.addToBalance(accountId, updatedBalance.minus(accountBalance).minorUnits(), Instant.now());
+        return true;
+    }
+
+    /**
+     * Creates the missing stripes under the account row lock, so that concurrent first
+     * credits create them once.
+     */
+    private void createStripes(Long accountId) {
+        try {
+            setupTransactionTemplate.executeWithoutResult(status -> {
+                if (accountRepository.findByIdForUpdate(accountId).isEmpty()) {
+                    return;
+                }
+                List<AccountStripe> existing = stripeRepository.findByAccountIdForUpdate(accountId);
+                List<AccountStripe> missing = IntStream.range(0, properties.stripes())
+                        .filter(stripe -> existing.stream().noneMatch(s -> s.getStripe() == stripe))
+                        .mapToObj(stripe -> AccountStripe.builder().accountId(accountId).stripe(stripe).build())
+                        .toList();
+                if (!missing.isEmpty()) {
+                    stripeRepository.saveAll(missing);
+                    log.info("Created {} balance stripes for account ID: {}", missing.size(), accountId);
+                }
+            });
+        } catch (RuntimeException e) {
+            // Credits keep going to the account row; the next one tries again
+            log.warn("Failed to create balance stripes for account ID: {}", accountId, e);
+        }
+    }
+
+    private void afterCompletion(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,13 @@
+package com.moiez.pismo.ledger;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Set;
+
+@ConfigurationProperties(prefix = "pismo.striping")
+public record StripingProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("8") int stripes,
+        @DefaultValue Set<Long> accounts
+) {}
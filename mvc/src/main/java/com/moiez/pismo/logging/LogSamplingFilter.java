@@ -0,0 +1,38 @@
+package com.moiez.pismo.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides once per request whether its INFO logging is kept, so a sampled request logs
+ * every line and an unsampled one logs only warnings and errors.
+ */
+public class LogSamplingFilter extends OncePerRequestFilter {
+
+    private final LoggingProperties properties;
+
+    public LogSamplingFilter(LoggingProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        boolean sampled = properties.sampleRate() >= 1.0
+                || ThreadLocalRandom.current().nextDouble() < properties.sampleRate();
+        MDC.put(RequestSamplingTurboFilter.SAMPLED_KEY, Boolean.toString(sampled));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(RequestSamplingTurboFilter.SAMPLED_KEY);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.moiez.pismo.logging;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "pismo.logging")
+public record LoggingProperties(
+        @DefaultValue("1.0") double sampleRate
+) {}
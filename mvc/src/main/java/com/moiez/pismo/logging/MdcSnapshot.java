@@ -0,0 +1,48 @@
+package com.moiez.pismo.logging;
+
+import org.slf4j.MDC;
+
+import java.util.Map;
+
+/**
+ * The MDC of the thread that accepted a request, carried to the thread that finishes it
+ * (an engine shard, an async export), so its lines keep the request's
+ * {@link RequestSamplingTurboFilter#SAMPLED_KEY sampling decision}.
+ */
+public final class MdcSnapshot {
+
+    private final Map<String, String> context;
+
+    private MdcSnapshot(Map<String, String> context) {
+        this.context = context;
+    }
+
+    public static MdcSnapshot capture() {
+        return new MdcSnapshot(MDC.getCopyOfContextMap());
+    }
+
+    /**
+     * Installs the captured context on the current thread until the returned scope is
+     * closed, which puts back whatever the thread had before.
+     */
+    public Scope apply() {
+        Map<String, String> previous = MDC.getCopyOfContextMap();
+        replace(context);
+        return () -> replace(previous);
+    }
+
+    private static void replace(Map<String, String> context) {
+        if (context == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(context);
+        }
+    }
+
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
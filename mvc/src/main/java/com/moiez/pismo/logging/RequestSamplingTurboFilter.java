@@ -0,0 +1,31 @@
+package com.moiez.pismo.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+/**
+ * Drops INFO and below from the application's loggers for requests that
+ * {@link LogSamplingFilter} did not sample. Turbo filters run before the event is
+ * created, so a dropped line costs no formatting and never reaches the appender queue.
+ * Warnings, errors and anything logged outside a request always pass.
+ */
+public class RequestSamplingTurboFilter extends TurboFilter {
+
+    public static final String SAMPLED_KEY = "sampled";
+
+    private static final String APPLICATION_LOGGERS = "com.moiez.pismo";
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level.isGreaterOrEqual(Level.WARN)
+                || !logger.getName().startsWith(APPLICATION_LOGGERS)
+                || !"false".equals(MDC.get(SAMPLED_KEY))) {
+            return FilterReply.NEUTRAL;
+        }
+        return FilterReply.DENY;
+    }
+}
@@ -0,0 +1,136 @@
+package com.moiez.pismo.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Supplier;
+
+/**
+ * Timers and counters for each stage of transaction creation.
+ */
+@Component
+public class TransactionMetrics {
+
+    public static final String REPLAY_FROM_CACHE = "cache";
+    public static final String REPLAY_FROM_DATABASE = "database";
+
+    private static final String STAGE_TIMER = "pismo.transaction.stage";
+
+    private final MeterRegistry registry;
+    private final Timer idempotencyLookupTimer;
+    private final Timer insertTimer;
+    private final Timer commitTimer;
+    private final Timer lockWaitTimer;
+    private final Counter insufficientFundsCounter;
+    private final Counter conflictCounter;
+    private final Counter optimisticRetryCounter;
+    private final Counter cacheReplayCounter;
+    private final Counter databaseReplayCounter;
+    // Bound to a transaction once its commit timing is registered
+    private final Object commitTimingKey = new Object();
+
+    public TransactionMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.idempotencyLookupTimer = stageTimer("idempotency_lookup");
+        this.insertTimer = stageTimer("insert");
+        this.commitTimer = stageTimer("commit");
+        this.lockWaitTimer = Timer.builder("pismo.account.lock.wait")
+                .description("Time spent waiting for the account row lock")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.insufficientFundsCounter = Counter.builder("pismo.transaction.insufficient.funds")
+                .description("Transactions rejected because they would overdraw the account")
+                .register(registry);
+        this.conflictCounter = Counter.builder("pismo.transaction.conflicts")
+                .description("Transactions rejected by the idempotency key unique constraint")
+                .register(registry);
+        this.optimisticRetryCounter = Counter.builder("pismo.account.optimistic.retries")
+                .description("Balance updates retried because the account version changed")
+                .register(registry);
+        this.cacheReplayCounter = replayCounter(REPLAY_FROM_CACHE);
+        this.databaseReplayCounter = replayCounter(REPLAY_FROM_DATABASE);
+    }
+
+    public <T> T recordIdempotencyLookup(Supplier<T> lookup) {
+        return idempotencyLookupTimer.record(lookup);
+    }
+
+    public <T> T recordLockWait(Supplier<T> lock) {
+        return lockWaitTimer.record(lock);
+    }
+
+    public <T> T recordInsert(Supplier<T> insert) {
+        return insertTimer.record(insert);
+    }
+
+    /**
+     * Times the commit of the surrounding transaction, from the start of the commit
+     * (including the final flush) until it completes. A batch or group commit calls this
+     * once per item but is timed once. No-op outside a transaction.
+     */
+    public void recordCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(commitTimingKey)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(commitTimingKey, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private Timer.Sample sample;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                sample = Timer.start(registry);
+            }
+
+            @Override
+            public void afterCommit() {
+                if (sample != null) {
+                    sample.stop(commitTimer);
+                }
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(commitTimingKey);
+            }
+        });
+    }
+
+    /**
+     * @param source {@link #REPLAY_FROM_CACHE} or {@link #REPLAY_FROM_DATABASE}
+     */
+    public void replay(String source) {
+        (REPLAY_FROM_CACHE.equals(source) ? cacheReplayCounter : databaseReplayCounter).increment();
+    }
+
+    public void insufficientFunds() {
+        insufficientFundsCounter.increment();
+    }
+
+    public void conflict() {
+        conflictCounter.increment();
+    }
+
+    public void optimisticRetry() {
+        optimisticRetryCounter.increment();
+    }
+
+    private Counter replayCounter(String source) {
+        return Counter.builder("pismo.transaction.replays")
+                .description("Requests answered from a previously processed idempotency key")
+                .tag("source", source)
+                .register(registry);
+    }
+
+    private Timer stageTimer(String stage) {
+        return Timer.builder(STAGE_TIMER)
+                .description("Time spent in each stage of transaction creation")
+                .tag("stage", stage)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
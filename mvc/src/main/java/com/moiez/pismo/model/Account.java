@@ -1,31 +1,32 @@
 package com.moiez.pismo.model;
 
 import jakarta.persistence.*;
-import jakarta.validation.constraints.PositiveOrZero;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Check;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.Instant;
 
 @Entity
 @Table(name = "accounts")
+@Check(constraints = "balance >= 0")
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Account {
 
-    public static final int SCALE = 2;
-    public static final RoundingMode ROUNDING = RoundingMode.HALF_EVEN;
-
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "accounts_seq")
+    @GenericGenerator(name = "accounts_seq", type = PooledSequenceGenerator.class,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "accounts_seq"))
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -34,10 +35,12 @@ public class Account {
     @Column(nullable = false, unique = true)
     private String documentNumber;
 
-    @Column(nullable = false, precision = 12, scale = SCALE)
-    @PositiveOrZero
+    @Column(nullable = false)
     @Builder.Default
-    private BigDecimal balance = BigDecimal.ZERO.setScale(SCALE, ROUNDING);
+    private Money balance = Money.ZERO;
+
+    @Version
+    private Long version;
 
     @Column(nullable = false,
             updatable = false,
@@ -0,0 +1,46 @@
+package com.moiez.pismo.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * One of the sub-balances of a striped hot account. The account's balance is its own
+ * {@code balance} plus the sum of its stripes; credits land on a random stripe so they
+ * do not queue on the account row.
+ */
+@Entity
+@Table(name = "account_stripes")
+@IdClass(AccountStripe.Key.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountStripe {
+
+    @Id
+    private Long accountId;
+
+    @Id
+    private Integer stripe;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Money balance = Money.ZERO;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long accountId;
+        private Integer stripe;
+    }
+}
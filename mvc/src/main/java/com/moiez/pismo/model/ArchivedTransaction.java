@@ -0,0 +1,49 @@
+package com.moiez.pismo.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * A {@link Transaction} moved out of the hot table once its month fell out of the
+ * idempotency replay window. The idempotency key is kept for reference only: it is no
+ * longer unique, so the hot table's index stays bounded by the window.
+ */
+@Entity
+@Table(name = "transactions_archive", indexes = {
+        @Index(name = "idx_transactions_archive_account_created_at_id", columnList = "account_id, created_at, id"),
+        @Index(name = "idx_transactions_archive_created_at", columnList = "created_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedTransaction {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private String idempotencyKey;
+
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    @Enumerated(EnumType.STRING)
+    private OperationType operationType;
+
+    @Column(nullable = false)
+    private Money amount;
+
+    @Column(nullable = false,
+            columnDefinition = "TIMESTAMP(6)")
+    private Instant createdAt;
+
+    @Column(nullable = false,
+            columnDefinition = "TIMESTAMP(6)")
+    private Instant archivedAt;
+}
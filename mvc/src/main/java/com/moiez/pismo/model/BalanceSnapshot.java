@@ -0,0 +1,37 @@
+package com.moiez.pismo.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
+
+/**
+ * Materialized balance of an account, covering every transaction marked
+ * {@link Transaction#isSnapshotted() snapshotted}.
+ */
+@Entity
+@Table(name = "balance_snapshots")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalanceSnapshot {
+
+    @Id
+    private Long accountId;
+
+    @Column(nullable = false)
+    private Money balance;
+
+    @Version
+    private Long version;
+
+    @Column(nullable = false,
+            columnDefinition = "TIMESTAMP(6)")
+    @UpdateTimestamp
+    private Instant takenAt;
+}
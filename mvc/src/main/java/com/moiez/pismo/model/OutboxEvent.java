@@ -0,0 +1,67 @@
+package com.moiez.pismo.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
+import java.time.Instant;
+
+/**
+ * A committed {@link Transaction}, written in the same database transaction and copied
+ * so subscribers never have to read the transactions table. {@code position} is
+ * assigned by the relay once the row is visible, so it orders events by when they were
+ * published rather than by id, which concurrent writers may commit out of order.
+ */
+@Entity
+@Table(name = "outbox_events", indexes = {
+        @Index(name = "idx_outbox_events_published_at", columnList = "published_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(generator = "outbox_events_seq")
+    @GenericGenerator(name = "outbox_events_seq", type = PooledSequenceGenerator.class,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "outbox_events_seq"))
+    private Long id;
+
+    @Column(unique = true)
+    private Long position;
+
+    @Column(nullable = false)
+    private Long transactionId;
+
+    @Column(nullable = false)
+    private Long accountId;
+
+    @Enumerated(EnumType.STRING)
+    private OperationType operationType;
+
+    @Column(nullable = false)
+    private Money amount;
+
+    @Column(nullable = false,
+            columnDefinition = "TIMESTAMP(6)")
+    private Instant eventTimestamp;
+
+    @Column(columnDefinition = "TIMESTAMP(6)")
+    private Instant publishedAt;
+
+    public static OutboxEvent of(Transaction transaction) {
+        return OutboxEvent.builder()
+                .transactionId(transaction.getId())
+                .accountId(transaction.getAccount().getId())
+                .operationType(transaction.getOperationType())
+                .amount(transaction.getAmount())
+                .eventTimestamp(transaction.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,69 @@
+package com.moiez.pismo.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+@Entity
+@Table(name = "transactions", indexes = {
+        @Index(name = "idx_transactions_account_created_at_id", columnList = "account_id, created_at, id"),
+        @Index(name = "idx_transactions_created_at", columnList = "created_at"),
+        @Index(name = "idx_transactions_snapshotted_account", columnList = "snapshotted, account_id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+
+public class Transaction {
+
+    @Id
+    @GeneratedValue(generator = "transactions_seq")
+    @GenericGenerator(name = "transactions_seq", type = PooledSequenceGenerator.class,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "transactions_seq"))
+    private Long id;
+
+    @Column(nullable = false, unique = true)
+    private String idempotencyKey;
+
+    @ManyToOne(optional = false)
+    private Account account;
+
+    @Enumerated(EnumType.STRING)
+    private OperationType operationType;
+
+    @Column(nullable = false)
+    private Money amount;
+
+    @Column(nullable = false,
+            updatable = false,
+            columnDefinition = "TIMESTAMP(6)")
+    private Instant createdAt;
+
+    /**
+     * Set by the ledger snapshotter once the amount is folded into the account's
+     * {@link BalanceSnapshot}. Only committed rows can be marked, however late they commit.
+     */
+    @Column(nullable = false,
+            columnDefinition = "BOOLEAN DEFAULT FALSE NOT NULL")
+    @Builder.Default
+    private boolean snapshotted = false;
+
+    /**
+     * Stamped on persist rather than on insert: the insert is deferred to the flush, and
+     * the response and the outbox event are built from the entity before that.
+     */
+    @PrePersist
+    void stampCreatedAt() {
+        // Column precision, so the stored value matches the one handed out
+        createdAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+    }
+}
@@ -0,0 +1,17 @@
+package com.moiez.pismo.outbox;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "pismo.outbox")
+public record OutboxProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("200ms") Duration relayInterval,
+        @DefaultValue("500") int batchSize,
+        @DefaultValue("10000") int bufferSize,
+        @DefaultValue("7d") Duration retention,
+        @DefaultValue("1h") Duration purgeInterval,
+        @DefaultValue("30m") Duration streamTimeout
+) {}
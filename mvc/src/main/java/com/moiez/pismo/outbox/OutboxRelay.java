@@ -0,0 +1,110 @@
+package com.moiez.pismo.outbox;
+
+import com.moiez.pismo.model.OutboxEvent;
+import com.moiez.pismo.repository.OutboxEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Drains the outbox in batches: gives newly committed events the next positions after
+ * the highest one assigned so far, then hands every event past the stream's head to
+ * {@link TransactionEventStream}, including those positioned by other instances.
+ * <p>
+ * Pending rows are locked before the highest position is read, so relays on several
+ * instances number one batch at a time and a position only becomes visible after every
+ * lower one. The unique constraint on the position backs this up: a run that loses a
+ * race fails at commit and leaves its events to the next run.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "pismo.outbox", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay implements SchedulingConfigurer {
+
+    private final OutboxEventRepository repository;
+    private final TransactionEventStream stream;
+    private final OutboxProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+
+    public OutboxRelay(OutboxEventRepository repository,
+                       TransactionEventStream stream,
+                       OutboxProperties properties,
+                       PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.stream = stream;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = Clock.systemUTC();
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.addFixedDelayTask(this::relay, properties.relayInterval());
+        registrar.addFixedDelayTask(this::purge, properties.purgeInterval());
+    }
+
+    /**
+     * @return the number of events this run assigned a position to
+     */
+    public int relay() {
+        int assigned = 0;
+        try {
+            Integer count;
+            do {
+                count = transactionTemplate.execute(status -> assignPositions());
+                assigned += count == null ? 0 : count;
+            } while (count != null && count == properties.batchSize());
+        } catch (DataIntegrityViolationException | PessimisticLockingFailureException e) {
+            log.debug("Outbox positions raced with another relay, retrying on the next run");
+        }
+
+        List<OutboxEvent> events;
+        do {
+            events = repository.findByPositionGreaterThanOrderByPosition(
+                    stream.head(), PageRequest.of(0, properties.batchSize()));
+            stream.publish(events.stream().map(TransactionEvent::of).toList());
+        } while (events.size() == properties.batchSize());
+        return assigned;
+    }
+
+    /**
+     * Removes events published longer ago than the retention. Subscribers resuming from
+     * an older position continue from the oldest event left.
+     */
+    public int purge() {
+        Instant before = clock.instant().minus(properties.retention());
+        Integer deleted = transactionTemplate.execute(status -> repository.deletePublishedBefore(before));
+        if (deleted != null && deleted > 0) {
+            log.info("Purged {} outbox events published before {}", deleted, before);
+        }
+        return deleted == null ? 0 : deleted;
+    }
+
+    private int assignPositions() {
+        List<OutboxEvent> pending = repository.findByPositionIsNullOrderById(PageRequest.of(0, properties.batchSize()));
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        // Read after the lock, so it includes positions committed by a relay we waited for
+        long position = repository.findMaxPosition().orElse(0L);
+        Instant now = clock.instant();
+        for (OutboxEvent event : pending) {
+            event.setPosition(++position);
+            event.setPublishedAt(now);
+        }
+        repository.flush();
+        return pending.size();
+    }
+}
@@ -0,0 +1,20 @@
+package com.moiez.pismo.outbox;
+
+import com.moiez.pismo.api.dto.response.TransactionResponse;
+import com.moiez.pismo.model.OutboxEvent;
+
+/**
+ * A published outbox event: its position in the stream and the transaction it carries.
+ */
+public record TransactionEvent(long position, TransactionResponse transaction) {
+
+    public static TransactionEvent of(OutboxEvent event) {
+        return new TransactionEvent(event.getPosition(), TransactionResponse.builder()
+                .transactionId(event.getTransactionId())
+                .accountId(event.getAccountId())
+                .amount(event.getAmount())
+                .operationType(event.getOperationType())
+                .eventTimestamp(event.getEventTimestamp())
+                .build());
+    }
+}
@@ -0,0 +1,199 @@
+package com.moiez.pismo.outbox;
+
+import com.moiez.pismo.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans published transaction events out to server-sent event subscribers.
+ * <p>
+ * The most recent {@code bufferSize} events are kept in memory. Each subscriber pulls
+ * the events after its own position, from that buffer while it keeps up and from the
+ * outbox table (in read-only transactions, so from the replica when one is configured)
+ * when it falls behind or resumes from an older position. Subscribers are written to on
+ * their own threads, so a client that stops reading only delays itself.
+ */
+@Slf4j
+@Component
+public class TransactionEventStream {
+
+    public static final String EVENT_NAME = "transaction";
+
+    private final OutboxEventRepository repository;
+    private final OutboxProperties properties;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final ConcurrentSkipListMap<Long, TransactionEvent> recent = new ConcurrentSkipListMap<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService dispatcher;
+    private long head = -1;
+    private int buffered;
+
+    public TransactionEventStream(OutboxEventRepository repository,
+                                  OutboxProperties properties,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.properties = properties;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        AtomicInteger threads = new AtomicInteger();
+        this.dispatcher = Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task, "outbox-stream-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder("pismo.outbox.subscribers", subscribers, Set::size)
+                .description("Open transaction event streams")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void stop() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        dispatcher.shutdownNow();
+    }
+
+    /**
+     * Position of the last published event, 0 when nothing was published yet.
+     */
+    public synchronized long head() {
+        if (head < 0) {
+            head = repository.findMaxPosition().orElse(0L);
+        }
+        return head;
+    }
+
+    /**
+     * Appends events read from the outbox in position order and wakes up the subscribers.
+     * Events at or before the head are ignored.
+     */
+    public void publish(List<TransactionEvent> events) {
+        synchronized (this) {
+            long current = head();
+            for (TransactionEvent event : events) {
+                if (event.position() <= current) {
+                    continue;
+                }
+                recent.put(event.position(), event);
+                current = event.position();
+                if (++buffered > properties.bufferSize()) {
+                    recent.pollFirstEntry();
+                    buffered--;
+                }
+            }
+            head = current;
+        }
+        subscribers.forEach(Subscriber::schedule);
+    }
+
+    /**
+     * Opens a stream of the events after {@code position}, or of the events published
+     * from now on when it is null.
+     */
+    public SseEmitter subscribe(Long position) {
+        SseEmitter emitter = new SseEmitter(properties.streamTimeout().toMillis());
+        Subscriber subscriber = new Subscriber(emitter, position == null ? head() : position);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> subscriber.close());
+        subscribers.add(subscriber);
+        log.info("Transaction event subscriber connected after position {}", subscriber.position);
+        subscriber.schedule();
+        return emitter;
+    }
+
+    List<TransactionEvent> after(long position, int limit) {
+        if (position >= head()) {
+            return List.of();
+        }
+        Long oldest = recent.isEmpty() ? null : recent.firstKey();
+        if (oldest != null && oldest <= position + 1) {
+            List<TransactionEvent> page = new ArrayList<>(limit);
+            for (TransactionEvent event : recent.tailMap(position, false).values()) {
+                page.add(event);
+                if (page.size() == limit) {
+                    break;
+                }
+            }
+            return page;
+        }
+        return readOnlyTransactionTemplate.execute(status -> repository
+                .findByPositionGreaterThanOrderByPosition(position, PageRequest.of(0, limit))
+                .stream()
+                .map(TransactionEvent::of)
+                .toList());
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile boolean closed;
+        // Only touched by the drain task; handed between runs through the scheduled flag
+        private long position;
+
+        Subscriber(SseEmitter emitter, long position) {
+            this.emitter = emitter;
+            this.position = position;
+        }
+
+        void schedule() {
+            if (!closed && scheduled.compareAndSet(false, true)) {
+                dispatcher.execute(this::drain);
+            }
+        }
+
+        void close() {
+            closed = true;
+            subscribers.remove(this);
+        }
+
+        private void drain() {
+            try {
+                List<TransactionEvent> page;
+                while (!closed && !(page = after(position, properties.batchSize())).isEmpty()) {
+                    for (TransactionEvent event : page) {
+                        emitter.send(SseEmitter.event()
+                                .id(Long.toString(event.position()))
+                                .name(EVENT_NAME)
+                                .data(event.transaction(), MediaType.APPLICATION_JSON));
+                        position = event.position();
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                // The client went away or the emitter already completed
+                log.debug("Transaction event subscriber disconnected at position {}", position);
+                close();
+            } catch (RuntimeException e) {
+                log.warn("Transaction event subscriber failed at position {}", position, e);
+                emitter.completeWithError(e);
+                close();
+            } finally {
+                scheduled.set(false);
+            }
+            // Events published while this run was finishing would otherwise wait for the next publish
+            if (!closed && position < head()) {
+                schedule();
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.moiez.pismo.outbox;
+
+import com.moiez.pismo.model.OutboxEvent;
+import com.moiez.pismo.model.Transaction;
+import com.moiez.pismo.repository.OutboxEventRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Queues events for saved transactions. Must be called in the transaction that saved
+ * them, so an event exists exactly when its transaction committed.
+ */
+@Component
+public class TransactionOutbox {
+
+    private final OutboxEventRepository repository;
+    private final OutboxProperties properties;
+
+    public TransactionOutbox(OutboxEventRepository repository, OutboxProperties properties) {
+        this.repository = repository;
+        this.properties = properties;
+    }
+
+    public void record(Transaction transaction) {
+        if (properties.enabled()) {
+            repository.save(OutboxEvent.of(transaction));
+        }
+    }
+
+    public void recordAll(List<Transaction> transactions) {
+        if (properties.enabled() && !transactions.isEmpty()) {
+            repository.saveAll(transactions.stream().map(OutboxEvent::of).toList());
+        }
+    }
+}
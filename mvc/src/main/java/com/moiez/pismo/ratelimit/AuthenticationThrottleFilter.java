@@ -0,0 +1,80 @@
+package com.moiez.pismo.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static com.moiez.pismo.constant.ErrorConstants.TOO_MANY_FAILED_AUTHENTICATIONS;
+
+/**
+ * Throttles failed authentication by remote address, ahead of the filter that checks
+ * Basic credentials. Every request answered 401 takes a token from its address's
+ * {@link TokenBucket}; once the bucket is empty the address gets 429 with
+ * {@code Retry-After} before its credentials are checked, so a flood of wrong passwords
+ * cannot keep the CPU busy with bcrypt. Requests that authenticate take nothing.
+ */
+@Slf4j
+public class AuthenticationThrottleFilter extends OncePerRequestFilter {
+
+    public static final String REASON_AUTH_FAILURES = "auth_failures";
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AuthenticationThrottleProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, TokenBucket> failures;
+    private final Counter throttledCounter;
+
+    public AuthenticationThrottleFilter(AuthenticationThrottleProperties properties,
+                                        ObjectMapper objectMapper,
+                                        MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.failures = Caffeine.newBuilder()
+                .maximumSize(properties.maxAddresses())
+                .expireAfterAccess(properties.addressIdleTimeout())
+                .build();
+        this.throttledCounter = RateLimitFilter.rejectionCounter(meterRegistry, REASON_AUTH_FAILURES);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.enabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String address = request.getRemoteAddr();
+        TokenBucket bucket = failures.getIfPresent(address);
+        long waitNanos = bucket == null ? 0 : bucket.waitNanos(System.nanoTime());
+        if (waitNanos > 0) {
+            log.debug("Too many failed authentications from {}", address);
+            throttledCounter.increment();
+            RateLimitFilter.reject(objectMapper, response, (waitNanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND,
+                    TOO_MANY_FAILED_AUTHENTICATIONS);
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+
+        if (response.getStatus() == HttpStatus.UNAUTHORIZED.value()) {
+            long now = System.nanoTime();
+            failures.get(address, key -> new TokenBucket(properties.burst(), properties.failuresPerSecond(), now))
+                    .tryConsume(now);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.moiez.pismo.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "pismo.auth-throttle")
+public record AuthenticationThrottleProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("1") double failuresPerSecond,
+        @DefaultValue("20") int burst,
+        @DefaultValue("100000") long maxAddresses,
+        @DefaultValue("10m") Duration addressIdleTimeout
+) {}
@@ -0,0 +1,151 @@
+package com.moiez.pismo.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.moiez.pismo.exception.dto.ErrorResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static com.moiez.pismo.constant.ErrorConstants.RATE_LIMIT_EXCEEDED;
+import static com.moiez.pismo.constant.ErrorConstants.SERVER_BUSY;
+
+/**
+ * Sheds {@code /v1} requests before they take a database connection, answering 429
+ * with {@code Retry-After}:
+ * <ul>
+ *     <li>each client (the authenticated principal, or the remote address before
+ *     authentication) draws from its own {@link TokenBucket}, so one client retrying in a
+ *     loop cannot starve the others;</li>
+ *     <li>at most {@code maxConcurrent} requests run at once; the rest wait up to
+ *     {@code queueTimeout} for a slot and are then turned away, instead of piling up on
+ *     the connection pool.</li>
+ * </ul>
+ * Runs after authentication in the security filter chain.
+ */
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    public static final String REASON_RATE_LIMIT = "rate_limit";
+    public static final String REASON_OVERLOAD = "overload";
+
+    private static final String PROTECTED_PATH = "/v1/";
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final RateLimitProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, TokenBucket> buckets;
+    private final Semaphore permits;
+    private final Counter rateLimitedCounter;
+    private final Counter overloadCounter;
+
+    public RateLimitFilter(RateLimitProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.maxClients())
+                .expireAfterAccess(properties.clientIdleTimeout())
+                .build();
+        this.permits = new Semaphore(properties.maxConcurrent(), true);
+        this.rateLimitedCounter = rejectionCounter(meterRegistry, REASON_RATE_LIMIT);
+        this.overloadCounter = rejectionCounter(meterRegistry, REASON_OVERLOAD);
+        Gauge.builder("pismo.admission.in.flight", this, RateLimitFilter::inFlight)
+                .description("Requests holding an admission slot")
+                .register(meterRegistry);
+        Gauge.builder("pismo.admission.queue.depth", permits, Semaphore::getQueueLength)
+                .description("Requests waiting for an admission slot")
+                .register(meterRegistry);
+    }
+
+    public int inFlight() {
+        return properties.maxConcurrent() - permits.availablePermits();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.enabled()
+                || !request.getRequestURI().startsWith(request.getContextPath() + PROTECTED_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String client = clientKey(request);
+        long now = System.nanoTime();
+        long waitNanos = buckets.get(client, key -> new TokenBucket(properties.burst(), properties.requestsPerSecond(), now))
+                .tryConsume(now);
+        if (waitNanos > 0) {
+            log.debug("Rate limit exceeded for {}", client);
+            rateLimitedCounter.increment();
+            reject(objectMapper, response, (waitNanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND, RATE_LIMIT_EXCEEDED);
+            return;
+        }
+
+        if (!acquire()) {
+            log.debug("Shedding request of {}, {} requests in flight", client, inFlight());
+            overloadCounter.increment();
+            reject(objectMapper, response, 1, SERVER_BUSY);
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private boolean acquire() {
+        try {
+            return permits.tryAcquire(properties.queueTimeout().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null
+                && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+        return "address:" + request.getRemoteAddr();
+    }
+
+    static void reject(ObjectMapper objectMapper, HttpServletResponse response, long retryAfterSeconds, String message)
+            throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ErrorResponse.builder()
+                .status(HttpStatus.TOO_MANY_REQUESTS.value())
+                .message(message)
+                .build());
+    }
+
+    static Counter rejectionCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("pismo.ratelimit.rejections")
+                .description("Requests answered with 429 before reaching a controller")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,17 @@
+package com.moiez.pismo.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "pismo.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("200") double requestsPerSecond,
+        @DefaultValue("400") int burst,
+        @DefaultValue("64") int maxConcurrent,
+        @DefaultValue("100ms") Duration queueTimeout,
+        @DefaultValue("100000") long maxClients,
+        @DefaultValue("10m") Duration clientIdleTimeout
+) {}
@@ -0,0 +1,43 @@
+package com.moiez.pismo.ratelimit;
+
+/**
+ * Holds up to {@code capacity} tokens, refilled continuously at a fixed rate. Each
+ * request takes one token; an empty bucket tells how long until the next one.
+ */
+public class TokenBucket {
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private double tokens;
+    private long refilledAt;
+
+    public TokenBucket(int capacity, double tokensPerSecond, long nowNanos) {
+        this.capacity = capacity;
+        this.tokensPerNano = tokensPerSecond / 1_000_000_000d;
+        this.tokens = capacity;
+        this.refilledAt = nowNanos;
+    }
+
+    /**
+     * @return 0 if a token was taken, otherwise the nanoseconds until one is available
+     */
+    public synchronized long tryConsume(long nowNanos) {
+        long waitNanos = waitNanos(nowNanos);
+        if (waitNanos == 0) {
+            tokens -= 1;
+        }
+        return waitNanos;
+    }
+
+    /**
+     * @return 0 if a token is available, otherwise the nanoseconds until one is; takes nothing
+     */
+    public synchronized long waitNanos(long nowNanos) {
+        tokens = Math.min(capacity, tokens + (nowNanos - refilledAt) * tokensPerNano);
+        refilledAt = nowNanos;
+        if (tokens >= 1) {
+            return 0;
+        }
+        return (long) Math.ceil((1 - tokens) / tokensPerNano);
+    }
+}
@@ -0,0 +1,8 @@
+package com.moiez.pismo.repository;
+
+import com.moiez.pismo.model.Money;
+
+/**
+ * Balance of an account together with the version it was read at.
+ */
+public record AccountBalance(Money balance, Long version) {}
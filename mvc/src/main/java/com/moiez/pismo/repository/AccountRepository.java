@@ -0,0 +1,81 @@
+package com.moiez.pismo.repository;
+
+import com.moiez.pismo.model.Account;
+import com.moiez.pismo.model.Money;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_FLUSH_MODE;
+
+public interface AccountRepository extends JpaRepository<Account, Long> {
+    boolean existsByDocumentNumber(String documentNumber);
+
+    Optional<Account> findByIdempotencyKey(String idempotencyKey);
+
+    // Locking needs none of the pending writes; auto-flushing them here would split group
+    // commits and multi-account batches into one statement per row
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints({
+            @QueryHint(name = "jakarta.persistence.lock.timeout", value = "3000"),
+            @QueryHint(name = HINT_FLUSH_MODE, value = "COMMIT")
+    })
+    @Query("select a from Account a where a.id = :id")
+    Optional<Account> findByIdForUpdate(Long id);
+
+    /**
+     * Locks the account row and reads its balance from the row itself, never from an
+     * {@link Account} this transaction may already hold with a stale balance.
+     */
+    @QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "COMMIT"))
+    @Query(value = "select balance from accounts where id = :id for update", nativeQuery = true)
+    Optional<Long> lockBalanceById(Long id);
+
+    @Query("select new com.moiez.pismo.repository.AccountBalance(a.balance, a.version) from Account a where a.id = :id")
+    Optional<AccountBalance> findBalanceById(Long id);
+
+    /**
+     * Writes the balance only if the row is still at {@code version}.
+     *
+     * @return 1 if updated, 0 if the account changed since it was read
+     */
+    @Modifying
+    @Query("update Account a set a.balance = :balance, a.version = a.version + 1, a.updatedAt = :updatedAt "
+            + "where a.id = :id and a.version = :version")
+    int updateBalanceIfVersion(Long id, Long version, Money balance, Instant updatedAt);
+
+    /**
+     * Adds {@code delta} minor units to the balance in one statement, unless that would
+     * take it below zero. {@code updatedAt} is taken before the row lock is granted, so
+     * {@code updated_at} only ever moves forward: updates that queued on the lock keep
+     * the order in which they were applied.
+     *
+     * @return 1 if updated, 0 if the account does not exist or lacks the funds
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "COMMIT"))
+    @Query(value = "update accounts set balance = balance + :delta, version = version + 1, "
+            + "updated_at = greatest(updated_at, :updatedAt) "
+            + "where id = :id and balance + :delta >= 0", nativeQuery = true)
+    int addToBalance(Long id, long delta, Instant updatedAt);
+
+    // Reads back a balance written by a statement in this transaction; as with the
+    // update itself, pending inserts are left for the commit
+    @QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "COMMIT"))
+    @Query("select new com.moiez.pismo.repository.CurrentBalance(a.balance, a.updatedAt) from Account a "
+            + "where a.id = :id")
+    CurrentBalance findCurrentBalanceById(Long id);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("select a.idempotencyKey from Account a where a.createdAt >= :since")
+    Stream<String> streamIdempotencyKeysCreatedSince(Instant since);
+}
\ No newline at end of file
@@ -0,0 +1,61 @@
+package com.moiez.pismo.repository;
+
+import com.moiez.pismo.model.AccountStripe;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FLUSH_MODE;
+
+public interface AccountStripeRepository extends JpaRepository<AccountStripe, AccountStripe.Key> {
+
+    /**
+     * Account row plus its stripes, read in one statement so both come from the same
+     * snapshot; empty if the account does not exist.
+     */
+    @Query(value = "select a.balance + coalesce((select sum(s.balance) from account_stripes s "
+            + "where s.account_id = a.id), 0) from accounts a where a.id = :accountId", nativeQuery = true)
+    Optional<Long> findTotalBalanceByAccountId(Long accountId);
+
+    /**
+     * Locks every stripe of the account in stripe order, so two lockers never hold each
+     * other's next stripe.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints({
+            @QueryHint(name = "jakarta.persistence.lock.timeout", value = "3000"),
+            @QueryHint(name = HINT_FLUSH_MODE, value = "COMMIT")
+    })
+    @Query("select s from AccountStripe s where s.accountId = :accountId order by s.stripe")
+    List<AccountStripe> findByAccountIdForUpdate(Long accountId);
+
+    /**
+     * Locks every stripe of the account in stripe order and reads their balances from
+     * the rows, which native credits earlier in this transaction may have changed.
+     */
+    @QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "COMMIT"))
+    @Query(value = "select balance from account_stripes where account_id = :accountId "
+            + "order by stripe for update", nativeQuery = true)
+    List<Long> lockBalancesByAccountId(Long accountId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "COMMIT"))
+    @Query(value = "update account_stripes set balance = 0 where account_id = :accountId", nativeQuery = true)
+    int clearStripes(Long accountId);
+
+    /**
+     * @return 1 if the stripe exists and was credited, 0 if the account has no such stripe yet
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "COMMIT"))
+    @Query(value = "update account_stripes set balance = balance + :delta "
+            + "where account_id = :accountId and stripe = :stripe", nativeQuery = true)
+    int addToStripe(Long accountId, int stripe, long delta);
+}
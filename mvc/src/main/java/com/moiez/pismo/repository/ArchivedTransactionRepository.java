@@ -0,0 +1,20 @@
+package com.moiez.pismo.repository;
+
+import com.moiez.pismo.model.ArchivedTransaction;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.Instant;
+import java.util.Collection;
+
+public interface ArchivedTransactionRepository extends JpaRepository<ArchivedTransaction, Long> {
+
+    @Modifying
+    @Query("""
+            insert into ArchivedTransaction (id, idempotencyKey, accountId, operationType, amount, createdAt, archivedAt)
+            select t.id, t.idempotencyKey, t.account.id, t.operationType, t.amount, t.createdAt, :archivedAt
+            from Transaction t
+            where t.id in :ids""")
+    int copyFromTransactions(Collection<Long> ids, Instant archivedAt);
+}
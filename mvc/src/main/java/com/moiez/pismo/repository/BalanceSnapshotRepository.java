@@ -0,0 +1,19 @@
+package com.moiez.pismo.repository;
+
+import com.moiez.pismo.model.BalanceSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+public interface BalanceSnapshotRepository extends JpaRepository<BalanceSnapshot, Long> {
+
+    /**
+     * Snapshot plus the transactions not folded into it yet, in one statement so a
+     * snapshot run committing in between is seen either entirely or not at all.
+     */
+    @Query(value = """
+            select coalesce((select s.balance from balance_snapshots s where s.account_id = :accountId), 0)
+                 + coalesce((select sum(t.amount) from transactions t
+                             where t.account_id = :accountId and t.snapshotted = false), 0)""",
+            nativeQuery = true)
+    long postedBalance(Long accountId);
+}
@@ -0,0 +1,10 @@
+package com.moiez.pismo.repository;
+
+import com.moiez.pismo.model.Money;
+
+import java.time.Instant;
+
+/**
+ * Balance of an account together with the {@code updated_at} it was written with.
+ */
+public record CurrentBalance(Money balance, Instant updatedAt) {}
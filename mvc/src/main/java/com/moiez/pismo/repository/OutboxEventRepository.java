@@ -0,0 +1,37 @@
+package com.moiez.pismo.repository;
+
+import com.moiez.pismo.model.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Locks the rows so a concurrent relay waits, then skips them once they are numbered.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<OutboxEvent> findByPositionIsNullOrderById(Pageable page);
+
+    List<OutboxEvent> findByPositionGreaterThanOrderByPosition(long position, Pageable page);
+
+    @Query("select max(e.position) from OutboxEvent e")
+    Optional<Long> findMaxPosition();
+
+    /**
+     * Keeps the event holding the highest position, which the relay numbers from.
+     */
+    @Modifying
+    @Query("""
+            delete from OutboxEvent e
+            where e.publishedAt < :before
+              and e.position < (select max(p.position) from OutboxEvent p)""")
+    int deletePublishedBefore(Instant before);
+}
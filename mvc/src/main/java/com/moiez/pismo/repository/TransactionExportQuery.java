@@ -0,0 +1,17 @@
+package com.moiez.pismo.repository;
+
+import lombok.Builder;
+
+import java.time.Instant;
+
+/**
+ * Transactions to export in id order. Every filter is optional; {@code afterId} resumes
+ * an interrupted export after the last id received.
+ */
+@Builder
+public record TransactionExportQuery(
+        Long accountId,
+        Instant from,
+        Instant to,
+        Long afterId
+) {}
@@ -0,0 +1,24 @@
+package com.moiez.pismo.repository;
+
+import com.moiez.pismo.model.OperationType;
+import lombok.Builder;
+
+import java.time.Instant;
+
+/**
+ * A page of an account's transactions, newest first. Filters and the keyset position
+ * {@code (afterCreatedAt, afterId)} are optional; {@code (beforeCreatedAt, beforeId)}
+ * bounds the page from the other side.
+ */
+@Builder
+public record TransactionHistoryQuery(
+        Long accountId,
+        OperationType operationType,
+        Instant from,
+        Instant to,
+        Instant afterCreatedAt,
+        Long afterId,
+        Instant beforeCreatedAt,
+        Long beforeId,
+        int limit
+) {}
@@ -0,0 +1,14 @@
+package com.moiez.pismo.repository;
+
+import java.util.List;
+
+public interface TransactionHistoryRepository {
+
+    List<TransactionView> findHistory(TransactionHistoryQuery query);
+
+    /**
+     * Up to {@code limit} matching transactions with ids above {@code query.afterId()},
+     * in id order.
+     */
+    List<TransactionView> findExportPage(TransactionExportQuery query, int limit);
+}
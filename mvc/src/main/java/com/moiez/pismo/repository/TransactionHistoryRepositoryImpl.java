@@ -0,0 +1,184 @@
+package com.moiez.pismo.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+/**
+ * Keyset pagination over {@code idx_transactions_account_created_at_id}: only the
+ * predicates that are actually set are added, so the database can seek straight to the
+ * cursor position instead of skipping rows with an OFFSET.
+ * <p>
+ * Both queries cover the hot {@code transactions} table and {@code transactions_archive},
+ * which hold disjoint rows, and merge the two in the requested order.
+ */
+class TransactionHistoryRepositoryImpl implements TransactionHistoryRepository {
+
+    private static final Comparator<TransactionView> NEWEST_FIRST = Comparator
+            .comparing(TransactionView::createdAt)
+            .thenComparing(TransactionView::id)
+            .reversed();
+
+    private static final Comparator<TransactionView> BY_ID = Comparator.comparing(TransactionView::id);
+
+    private enum Table {
+        HOT("Transaction", "t.account.id"),
+        ARCHIVE("ArchivedTransaction", "t.accountId");
+
+        private final String entity;
+        private final String accountId;
+
+        Table(String entity, String accountId) {
+            this.entity = entity;
+            this.accountId = accountId;
+        }
+
+        String select() {
+            return "select new com.moiez.pismo.repository.TransactionView("
+                    + " t.id, " + accountId + ", t.operationType, t.amount, t.createdAt)"
+                    + " from " + entity + " t";
+        }
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * When the hot table fills the page, the archive is only asked for rows sorting before
+     * the last of them, which the index answers without reading any row once the page is
+     * past the archived months.
+     */
+    @Override
+    public List<TransactionView> findHistory(TransactionHistoryQuery query) {
+        List<TransactionView> hot = findHistory(Table.HOT, query);
+        TransactionHistoryQuery archiveQuery = query;
+        if (hot.size() == query.limit()) {
+            TransactionView last = hot.get(hot.size() - 1);
+            archiveQuery = TransactionHistoryQuery.builder()
+                    .accountId(query.accountId())
+                    .operationType(query.operationType())
+                    .from(query.from())
+                    .to(query.to())
+                    .afterCreatedAt(query.afterCreatedAt())
+                    .afterId(query.afterId())
+                    .beforeCreatedAt(last.createdAt())
+                    .beforeId(last.id())
+                    .limit(query.limit())
+                    .build();
+        }
+        List<TransactionView> archived = findHistory(Table.ARCHIVE, archiveQuery);
+        if (archived.isEmpty()) {
+            return hot;
+        }
+
+        List<TransactionView> merged = new ArrayList<>(hot.size() + archived.size());
+        merged.addAll(hot);
+        merged.addAll(archived);
+        merged.sort(NEWEST_FIRST);
+        return merged.size() > query.limit() ? merged.subList(0, query.limit()) : merged;
+    }
+
+    /**
+     * Each table contributes at most {@code limit} rows after the cursor, so the first
+     * {@code limit} of their merge are the next page of the combined id order.
+     */
+    @Override
+    public List<TransactionView> findExportPage(TransactionExportQuery query, int limit) {
+        List<TransactionView> hot = findExportPage(Table.HOT, query, limit);
+        List<TransactionView> archived = findExportPage(Table.ARCHIVE, query, limit);
+        if (archived.isEmpty()) {
+            return hot;
+        }
+
+        List<TransactionView> merged = new ArrayList<>(hot.size() + archived.size());
+        merged.addAll(hot);
+        merged.addAll(archived);
+        merged.sort(BY_ID);
+        return merged.size() > limit ? merged.subList(0, limit) : merged;
+    }
+
+    private List<TransactionView> findHistory(Table table, TransactionHistoryQuery query) {
+        StringBuilder jpql = new StringBuilder(table.select())
+                .append(" where ").append(table.accountId).append(" = :accountId");
+        if (query.operationType() != null) {
+            jpql.append(" and t.operationType = :operationType");
+        }
+        if (query.from() != null) {
+            jpql.append(" and t.createdAt >= :from");
+        }
+        if (query.to() != null) {
+            jpql.append(" and t.createdAt < :to");
+        }
+        if (query.afterId() != null) {
+            jpql.append(" and (t.createdAt < :afterCreatedAt"
+                    + " or (t.createdAt = :afterCreatedAt and t.id < :afterId))");
+        }
+        if (query.beforeId() != null) {
+            jpql.append(" and (t.createdAt > :beforeCreatedAt"
+                    + " or (t.createdAt = :beforeCreatedAt and t.id > :beforeId))");
+        }
+        jpql.append(" order by t.createdAt desc, t.id desc");
+
+        TypedQuery<TransactionView> typedQuery = entityManager.createQuery(jpql.toString(), TransactionView.class)
+                .setParameter("accountId", query.accountId())
+                .setMaxResults(query.limit());
+        if (query.operationType() != null) {
+            typedQuery.setParameter("operationType", query.operationType());
+        }
+        if (query.from() != null) {
+            typedQuery.setParameter("from", query.from());
+        }
+        if (query.to() != null) {
+            typedQuery.setParameter("to", query.to());
+        }
+        if (query.afterId() != null) {
+            typedQuery.setParameter("afterCreatedAt", query.afterCreatedAt());
+            typedQuery.setParameter("afterId", query.afterId());
+        }
+        if (query.beforeId() != null) {
+            typedQuery.setParameter("beforeCreatedAt", query.beforeCreatedAt());
+            typedQuery.setParameter("beforeId", query.beforeId());
+        }
+        return typedQuery.getResultList();
+    }
+
+    private List<TransactionView> findExportPage(Table table, TransactionExportQuery query, int limit) {
+        StringBuilder jpql = new StringBuilder(table.select()).append(" where 1 = 1");
+        if (query.accountId() != null) {
+            jpql.append(" and ").append(table.accountId).append(" = :accountId");
+        }
+        if (query.from() != null) {
+            jpql.append(" and t.createdAt >= :from");
+        }
+        if (query.to() != null) {
+            jpql.append(" and t.createdAt < :to");
+        }
+        if (query.afterId() != null) {
+            jpql.append(" and t.id > :afterId");
+        }
+        jpql.append(" order by t.id");
+
+        TypedQuery<TransactionView> typedQuery = entityManager.createQuery(jpql.toString(), TransactionView.class)
+                .setHint(HINT_READ_ONLY, true)
+                .setMaxResults(limit);
+        if (query.accountId() != null) {
+            typedQuery.setParameter("accountId", query.accountId());
+        }
+        if (query.from() != null) {
+            typedQuery.setParameter("from", query.from());
+        }
+        if (query.to() != null) {
+            typedQuery.setParameter("to", query.to());
+        }
+        if (query.afterId() != null) {
+            typedQuery.setParameter("afterId", query.afterId());
+        }
+        return typedQuery.getResultList();
+    }
+}
@@ -0,0 +1,48 @@
+package com.moiez.pismo.repository;
+
+import com.moiez.pismo.model.Transaction;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
+public interface TransactionRepository extends JpaRepository<Transaction, Long>, TransactionHistoryRepository {
+    Optional<Transaction> findByIdempotencyKeyAndCreatedAtGreaterThanEqual(String idempotencyKey, Instant since);
+
+    List<Transaction> findByIdempotencyKeyInAndCreatedAtGreaterThanEqual(Collection<String> idempotencyKeys,
+                                                                        Instant since);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("select t.idempotencyKey from Transaction t where t.createdAt >= :since")
+    Stream<String> streamIdempotencyKeysCreatedSince(Instant since);
+
+    /**
+     * Locks committed transactions not yet folded into a balance snapshot. Rows still
+     * uncommitted are invisible here and picked up by a later run.
+     */
+    @Query(value = """
+            select t.id as id, t.account_id as accountId, t.amount as amount from transactions t
+            where t.snapshotted = false order by t.id limit :limit for update""",
+            nativeQuery = true)
+    List<UnsnapshottedAmount> findUnsnapshottedForUpdate(int limit);
+
+    @Modifying
+    @Query("update Transaction t set t.snapshotted = true where t.id in :ids")
+    int markSnapshotted(Collection<Long> ids);
+
+    @Query("select t.id from Transaction t where t.createdAt < :before order by t.id")
+    List<Long> findIdsCreatedBefore(Instant before, Pageable page);
+
+    @Query("select t.id from Transaction t where t.createdAt < :before and t.snapshotted = true order by t.id")
+    List<Long> findSnapshottedIdsCreatedBefore(Instant before, Pageable page);
+}
@@ -0,0 +1,18 @@
+package com.moiez.pismo.repository;
+
+import com.moiez.pismo.model.Money;
+import com.moiez.pismo.model.OperationType;
+
+import java.time.Instant;
+
+/**
+ * Read-only projection of a transaction that carries the account id from the foreign
+ * key column instead of loading the {@code Account} association.
+ */
+public record TransactionView(
+        Long id,
+        Long accountId,
+        OperationType operationType,
+        Money amount,
+        Instant createdAt
+) {}
@@ -0,0 +1,13 @@
+package com.moiez.pismo.repository;
+
+/**
+ * A transaction amount waiting to be folded into its account's balance snapshot.
+ */
+public interface UnsnapshottedAmount {
+
+    Long getId();
+
+    Long getAccountId();
+
+    long getAmount();
+}
@@ -0,0 +1,85 @@
+package com.moiez.pismo.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Remembers successful username/password authentications for a short TTL, so repeated
+ * Basic credentials skip the user lookup and the (deliberately slow) password hash.
+ * <p>
+ * Entries are keyed by a SHA-256 digest of the credentials, never the password itself.
+ * Failures are not cached, so guessing still pays the full hash. A changed password or
+ * disabled user takes effect for cached credentials once the entry expires.
+ */
+public class CachingAuthenticationProvider implements AuthenticationProvider {
+
+    private static final String CACHE_NAME = "authentication";
+
+    private final AuthenticationProvider delegate;
+    private final AuthenticationCacheProperties properties;
+    private final Cache<ByteBuffer, Authentication> cache;
+
+    public CachingAuthenticationProvider(AuthenticationProvider delegate,
+                                         AuthenticationCacheProperties properties,
+                                         MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.properties = properties;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.ttl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        if (!properties.enabled() || !(authentication.getCredentials() instanceof String password)) {
+            return delegate.authenticate(authentication);
+        }
+        ByteBuffer key = digest(authentication.getName(), password);
+        Authentication cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        Authentication result = delegate.authenticate(authentication);
+        if (result != null && result.isAuthenticated()) {
+            cache.put(key, result);
+        }
+        return result;
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return UsernamePasswordAuthenticationToken.class.isAssignableFrom(authentication)
+                && delegate.supports(authentication);
+    }
+
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    private static ByteBuffer digest(String username, String password) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            sha256.update(username.getBytes(StandardCharsets.UTF_8));
+            // Separator that cannot appear in a Basic username, so ("ab", "c") != ("a", "bc")
+            sha256.update((byte) ':');
+            sha256.update(password.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(sha256.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,409 @@
+package com.moiez.pismo.service;
+
+import com.moiez.pismo.api.dto.request.CreateAccountRequest;
+import com.moiez.pismo.api.dto.response.AccountResponse;
+import com.moiez.pismo.cache.AccountCache;
+import com.moiez.pismo.cache.IdempotencyStore;
+import com.moiez.pismo.constant.ErrorConstants;
+import com.moiez.pismo.exception.BadRequestException;
+import com.moiez.pismo.exception.ConflictingRequestException;
+import com.moiez.pismo.exception.NotFoundException;
+import com.moiez.pismo.ledger.BalanceProperties;
+import com.moiez.pismo.ledger.LedgerBalances;
+import com.moiez.pismo.ledger.StripedBalances;
+import com.moiez.pismo.metrics.TransactionMetrics;
+import com.moiez.pismo.model.Account;
+import com.moiez.pismo.model.Money;
+import com.moiez.pismo.repository.AccountBalance;
+import com.moiez.pismo.repository.AccountRepository;
+import com.moiez.pismo.repository.CurrentBalance;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static com.moiez.pismo.constant.ErrorConstants.*;
+
+@Slf4j
+@Service
+public class AccountService {
+
+    private final AccountRepository repository;
+    private final IdempotencyStore<AccountResponse> idempotencyStore;
+    private final AccountCache accountCache;
+    private final TransactionMetrics metrics;
+    private final BalanceProperties balanceProperties;
+    private final LedgerBalances ledgerBalances;
+    private final StripedBalances stripedBalances;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    public AccountService(AccountRepository repository,
+                          IdempotencyStore<AccountResponse> idempotencyStore,
+                          AccountCache accountCache,
+                          TransactionMetrics metrics,
+                          BalanceProperties balanceProperties,
+                          LedgerBalances ledgerBalances,
+                          StripedBalances stripedBalances,
+                          PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.idempotencyStore = idempotencyStore;
+        this.accountCache = accountCache;
+        this.metrics = metrics;
+        this.balanceProperties = balanceProperties;
+        this.ledgerBalances = ledgerBalances;
+        this.stripedBalances = stripedBalances;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * The insert runs in its own transaction so that a unique violation can be answered
+     * from the committed row: the lookup before it is skipped whenever the Bloom filter
+     * has not seen the key, which is always the case for a key another instance took.
+     */
+    public AccountResponse createAccount(CreateAccountRequest request, String idempotencyKey) {
+        log.debug("Processing create account request with [Idempotency-Key: {}]", idempotencyKey);
+        Optional<AccountResponse> cachedResponse = idempotencyStore.getIfPresent(idempotencyKey);
+        if (cachedResponse.isPresent()) {
+            log.debug("Duplicate account creation request");
+            return cachedResponse.get();
+        }
+
+        try {
+            return transactionTemplate.execute(status -> insertAccount(request, idempotencyKey));
+        } catch (DataIntegrityViolationException e) {
+            // The failed flush left its transaction unusable; read the winner in a new one
+            Optional<Account> existingAccount = transactionTemplate.execute(status ->
+                    repository.findByIdempotencyKey(idempotencyKey));
+            if (existingAccount.isEmpty()) {
+                log.error("Account already exists", e);
+                throw new ConflictingRequestException(ACCOUNT_ALREADY_EXISTS);
+            }
+            log.debug("Duplicate account creation request");
+            AccountResponse response = mapToAccountResponse(existingAccount.get());
+            idempotencyStore.put(idempotencyKey, response);
+            return response;
+        }
+    }
+
+    private AccountResponse insertAccount(CreateAccountRequest request, String idempotencyKey) {
+        Optional<Account> existingAccount = idempotencyStore.mightContain(idempotencyKey)
+                ? repository.findByIdempotencyKey(idempotencyKey)
+                : Optional.empty();
+        if (existingAccount.isPresent()) {
+            log.debug("Duplicate account creation request");
+            AccountResponse response = mapToAccountResponse(existingAccount.get());
+            idempotencyStore.putAfterCommit(idempotencyKey, response);
+            return response;
+        }
+
+        log.debug("Creating new account");
+        Account account = new Account();
+        account.setDocumentNumber(request.documentNumber());
+        account.setIdempotencyKey(idempotencyKey);
+        Account saved = repository.saveAndFlush(account);
+        log.debug("Account created successfully with ID: {}", saved.getId());
+        AccountResponse response = mapToAccountResponse(saved);
+        idempotencyStore.putAfterCommit(idempotencyKey, response);
+        accountCache.refreshAfterCommit(saved, this::mapToAccountResponse);
+        return response;
+    }
+
+    /**
+     * Cache misses are read in a read-only transaction, which is served by the replica
+     * when one is configured. Cache hits never borrow a connection.
+     */
+    public AccountResponse getAccount(Long id) {
+        log.debug("Retrieving account with ID: {}", id);
+        if (balanceProperties.isLedger()) {
+            return readOnlyTransactionTemplate.execute(status -> getLedgerAccount(id));
+        }
+        if (stripedBalances.isStriped(id)) {
+            return readOnlyTransactionTemplate.execute(status -> getStripedAccount(id));
+        }
+        Optional<AccountResponse> cachedResponse = accountCache.get(id);
+        if (cachedResponse.isPresent()) {
+            return cachedResponse.get();
+        }
+
+        Account account = readOnlyTransactionTemplate.execute(status -> repository.findById(id))
+                .orElseThrow(() -> {
+                    log.warn("Account not found with ID: {}", id);
+                    return new NotFoundException(ACCOUNT_NOT_FOUND);
+                });
+        AccountResponse response = mapToAccountResponse(account);
+        accountCache.put(account, response);
+        return response;
+    }
+
+    public void ensureAccountExists(Long id) {
+        if (accountCache.get(id).isEmpty() && !repository.existsById(id)) {
+            log.warn("Account not found with ID: {}", id);
+            throw new NotFoundException(ACCOUNT_NOT_FOUND);
+        }
+    }
+
+    /**
+     * Reference to the account for use as an association, without loading it. The
+     * account must exist; in pessimistic mode it is the instance already locked.
+     */
+    public Account getAccountReference(Long id) {
+        return repository.getReferenceById(id);
+    }
+
+    public void applyTransaction(Long accountId, Money amount) {
+        log.debug("Applying transaction of amount {} to account ID: {}", amount, accountId);
+
+        if (balanceProperties.isLedger()) {
+            if (!ledgerBalances.reserve(accountId, amount)) {
+                log.warn("Insufficient funds for account ID: {}. Attempted debit: {}", accountId, amount);
+                metrics.insufficientFunds();
+                throw new BadRequestException(INSUFFICIENT_FUNDS);
+            }
+            return;
+        }
+
+        if (stripedBalances.isStriped(accountId)) {
+            if (!stripedBalances.apply(accountId, amount)) {
+                log.warn("Insufficient funds for account ID: {}. Attempted debit: {}", accountId, amount);
+                metrics.insufficientFunds();
+                throw new BadRequestException(INSUFFICIENT_FUNDS);
+            }
+            return;
+        }
+
+        if (balanceProperties.isAtomic()) {
+            applyAtomically(accountId, amount);
+            return;
+        }
+
+        if (balanceProperties.isOptimistic()) {
+            if (!applyOptimistically(accountId, List.of(amount))[0]) {
+                log.warn("Insufficient funds for account ID: {}. Attempted debit: {}", accountId, amount);
+                metrics.insufficientFunds();
+                throw new BadRequestException(INSUFFICIENT_FUNDS);
+            }
+            return;
+        }
+
+        Account account = metrics.recordLockWait(() -> repository.findByIdForUpdate(accountId))
+                .orElseThrow(() -> {
+                    log.error("Failed to apply transaction: Account ID {} not found", accountId);
+                    return new BadRequestException(ACCOUNT_NOT_FOUND);
+                });
+
+        Money updatedBalance = account.getBalance().plus(amount);
+        if (updatedBalance.isNegative()) {
+            log.warn("Insufficient funds for account ID: {}. Current balance: {}, Attempted debit: {}", 
+                    accountId, account.getBalance(), amount);
+            metrics.insufficientFunds();
+            throw new BadRequestException(INSUFFICIENT_FUNDS);
+        }
+
+        account.setBalance(updatedBalance);
+        accountCache.refreshAfterCommit(account, this::mapToAccountResponse);
+        log.debug("Transaction applied successfully. New balance for account {}: {}", accountId, updatedBalance);
+    }
+
+    /**
+     * Applies several amounts to one account while taking its row lock only once.
+     * Amounts are applied in order against a running balance; an amount that would
+     * take the balance below zero is skipped and the remaining ones are still tried.
+     *
+     * @return for each amount, whether it was applied
+     */
+    public boolean[] applyTransactions(Long accountId, List<Money> amounts) {
+        log.debug("Applying {} transactions to account ID: {}", amounts.size(), accountId);
+
+        if (balanceProperties.isLedger()) {
+            return reserveAll(accountId, amounts);
+        }
+        if (stripedBalances.isStriped(accountId)) {
+            boolean[] applied = new boolean[amounts.size()];
+            for (int i = 0; i < amounts.size(); i++) {
+                applied[i] = stripedBalances.apply(accountId, amounts.get(i));
+            }
+            reportSkipped(accountId, applied);
+            return applied;
+        }
+        if (balanceProperties.isOptimistic()) {
+            boolean[] applied = applyOptimistically(accountId, amounts);
+            reportSkipped(accountId, applied);
+            return applied;
+        }
+
+        Account account = metrics.recordLockWait(() -> repository.findByIdForUpdate(accountId))
+                .orElseThrow(() -> {
+                    log.error("Failed to apply transactions: Account ID {} not found", accountId);
+                    return new BadRequestException(ACCOUNT_NOT_FOUND);
+                });
+
+        boolean[] applied = new boolean[amounts.size()];
+        Money runningBalance = applyInOrder(account.getBalance(), amounts, applied);
+        reportSkipped(accountId, applied);
+
+        account.setBalance(runningBalance);
+        accountCache.refreshAfterCommit(account, this::mapToAccountResponse);
+        log.debug("Batch applied successfully. New balance for account {}: {}", accountId, runningBalance);
+        return applied;
+    }
+
+    /**
+     * Ledger mode leaves the account row untouched, so the balance is derived on every
+     * read instead of being served from the account cache.
+     */
+    private AccountResponse getLedgerAccount(Long id) {
+        Account account = repository.findById(id)
+                .orElseThrow(() -> {
+                    log.warn("Account not found with ID: {}", id);
+                    return new NotFoundException(ACCOUNT_NOT_FOUND);
+                });
+        return AccountResponse.builder()
+                .id(account.getId())
+                .documentNumber(account.getDocumentNumber())
+                .balance(ledgerBalances.postedBalance(id))
+                .build();
+    }
+
+    /**
+     * Credits to a striped account never touch the account row, so its balance is summed
+     * on every read instead of being served from the account cache.
+     */
+    private AccountResponse getStripedAccount(Long id) {
+        Account account = repository.findById(id)
+                .orElseThrow(() -> {
+                    log.warn("Account not found with ID: {}", id);
+                    return new NotFoundException(ACCOUNT_NOT_FOUND);
+                });
+        return AccountResponse.builder()
+                .id(account.getId())
+                .documentNumber(account.getDocumentNumber())
+                .balance(stripedBalances.balance(id).orElseThrow())
+                .build();
+    }
+
+    /**
+     * One conditional update instead of a locked read followed by a write. Only when
+     * nothing was updated is the account looked up, to tell a missing account from
+     * insufficient funds. The new balance and {@code updated_at} are read back under the
+     * row lock the update took, so the cached account is refreshed rather than dropped,
+     * and ordered by what the row holds rather than by when this request started.
+     */
+    private void applyAtomically(Long accountId, Money amount) {
+        if (repository.addToBalance(accountId, amount.minorUnits(), Instant.now()) == 1) {
+            CurrentBalance written = repository.findCurrentBalanceById(accountId);
+            accountCache.refreshAfterCommit(accountId, written.balance(), written.updatedAt());
+            return;
+        }
+        if (!repository.existsById(accountId)) {
+            log.error("Failed to apply transaction: Account ID {} not found", accountId);
+            throw new BadRequestException(ACCOUNT_NOT_FOUND);
+        }
+        log.warn("Insufficient funds for account ID: {}. Attempted debit: {}", accountId, amount);
+        metrics.insufficientFunds();
+        throw new BadRequestException(INSUFFICIENT_FUNDS);
+    }
+
+    /**
+     * Applies the amounts against an unlocked read of the balance and writes the result
+     * back only if the account version is unchanged. When another writer got in first,
+     * the balance is read again after a jittered, exponentially growing pause, up to
+     * {@code optimistic-max-attempts} times.
+     * <p>
+     * The guard is the version rather than {@code balance + :delta >= 0}: which amounts of
+     * a batch are skipped depends on the balance they were checked against, so the write
+     * must fail if that balance changed, not only if the total would go negative. The
+     * delta-guarded statement is {@code ATOMIC} mode.
+     */
+    private boolean[] applyOptimistically(Long accountId, List<Money> amounts) {
+        for (int attempt = 1; ; attempt++) {
+            AccountBalance current = repository.findBalanceById(accountId)
+                    .orElseThrow(() -> {
+                        log.error("Failed to apply transactions: Account ID {} not found", accountId);
+                        return new BadRequestException(ACCOUNT_NOT_FOUND);
+                    });
+
+            boolean[] applied = new boolean[amounts.size()];
+            Money updatedBalance = applyInOrder(current.balance(), amounts, applied);
+            if (updatedBalance.equals(current.balance())) {
+                return applied;
+            }
+            Instant updatedAt = Instant.now();
+            if (repository.updateBalanceIfVersion(accountId, current.version(), updatedBalance, updatedAt) == 1) {
+                accountCache.refreshAfterCommit(accountId, updatedBalance, updatedAt);
+                return applied;
+            }
+
+            if (attempt >= balanceProperties.optimisticMaxAttempts()) {
+                log.warn("Giving up on account ID: {} after {} conflicting updates", accountId, attempt);
+                throw new OptimisticLockingFailureException(CONCURRENT_BALANCE_UPDATE);
+            }
+            log.debug("Account ID: {} changed since it was read, retrying (attempt {})", accountId, attempt);
+            metrics.optimisticRetry();
+            backOff(attempt);
+        }
+    }
+
+    private void backOff(int attempt) {
+        long ceiling = balanceProperties.optimisticBackoff().toNanos() << Math.min(attempt - 1, 10);
+        try {
+            TimeUnit.NANOSECONDS.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying a balance update", e);
+        }
+    }
+
+    /**
+     * Applies the amounts in order against a running balance, skipping any that would
+     * take it below zero.
+     *
+     * @return the final balance
+     */
+    private static Money applyInOrder(Money balance, List<Money> amounts, boolean[] applied) {
+        Money runningBalance = balance;
+        for (int i = 0; i < amounts.size(); i++) {
+            Money updatedBalance = runningBalance.plus(amounts.get(i));
+            if (!updatedBalance.isNegative()) {
+                runningBalance = updatedBalance;
+                applied[i] = true;
+            }
+        }
+        return runningBalance;
+    }
+
+    private void reportSkipped(Long accountId, boolean[] applied) {
+        for (int i = 0; i < applied.length; i++) {
+            if (!applied[i]) {
+                log.warn("Insufficient funds for account ID: {}. Skipping batch item {}", accountId, i);
+                metrics.insufficientFunds();
+            }
+        }
+    }
+
+    private boolean[] reserveAll(Long accountId, List<Money> amounts) {
+        boolean[] applied = ledgerBalances.reserveAll(accountId, amounts);
+        reportSkipped(accountId, applied);
+        return applied;
+    }
+
+    private AccountResponse mapToAccountResponse(Account account) {
+        return AccountResponse.builder()
+                .id(account.getId())
+                .documentNumber(account.getDocumentNumber())
+                .balance(account.getBalance())
+                .build();
+    }
+}
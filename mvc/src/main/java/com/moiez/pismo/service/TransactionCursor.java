@@ -0,0 +1,41 @@
+package com.moiez.pismo.service;
+
+import com.moiez.pismo.exception.BadRequestException;
+import com.moiez.pismo.repository.TransactionView;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import static com.moiez.pismo.constant.ErrorConstants.INVALID_CURSOR;
+
+/**
+ * Keyset position of the last transaction of a page, handed to clients as an opaque
+ * URL-safe token.
+ */
+public record TransactionCursor(Instant createdAt, Long id) {
+
+    private static final char SEPARATOR = '|';
+
+    public static TransactionCursor of(TransactionView transaction) {
+        return new TransactionCursor(transaction.createdAt(), transaction.id());
+    }
+
+    public static TransactionCursor decode(String token) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(SEPARATOR);
+            return new TransactionCursor(
+                    Instant.parse(decoded.substring(0, separator)),
+                    Long.parseLong(decoded.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new BadRequestException(INVALID_CURSOR);
+        }
+    }
+
+    public String encode() {
+        String raw = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
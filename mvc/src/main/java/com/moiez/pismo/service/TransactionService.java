@@ -0,0 +1,509 @@
+package com.moiez.pismo.service;
+
+import com.moiez.pismo.api.dto.request.BatchTransactionItem;
+import com.moiez.pismo.api.dto.request.CreateTransactionRequest;
+import com.moiez.pismo.api.dto.request.CreateTransferRequest;
+import com.moiez.pismo.api.dto.response.BatchItemStatus;
+import com.moiez.pismo.api.dto.response.BatchTransactionItemResponse;
+import com.moiez.pismo.api.dto.response.BatchTransactionResponse;
+import com.moiez.pismo.api.dto.response.TransactionPageResponse;
+import com.moiez.pismo.api.dto.response.TransactionResponse;
+import com.moiez.pismo.api.dto.response.TransferResponse;
+import com.moiez.pismo.archive.ArchiveProperties;
+import com.moiez.pismo.cache.IdempotencyStore;
+import com.moiez.pismo.constant.ApiConstants;
+import com.moiez.pismo.engine.ShardedTransactionEngine;
+import com.moiez.pismo.exception.BadRequestException;
+import com.moiez.pismo.exception.ConflictingRequestException;
+import com.moiez.pismo.metrics.TransactionMetrics;
+import com.moiez.pismo.model.Money;
+import com.moiez.pismo.model.OperationType;
+import com.moiez.pismo.model.Transaction;
+import com.moiez.pismo.outbox.TransactionOutbox;
+import com.moiez.pismo.repository.TransactionExportQuery;
+import com.moiez.pismo.repository.TransactionHistoryQuery;
+import com.moiez.pismo.repository.TransactionRepository;
+import com.moiez.pismo.repository.TransactionView;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.moiez.pismo.constant.ErrorConstants.*;
+
+@Slf4j
+@Service
+public class TransactionService {
+
+    // A transfer is stored as two transactions, keyed by the request's key plus these;
+    // client keys may not contain ':', so they cannot collide with a leg
+    private static final String TRANSFER_DEBIT_SUFFIX = ":debit";
+    private static final String TRANSFER_CREDIT_SUFFIX = ":credit";
+
+    private static final int EXPORT_PAGE_SIZE = 1000;
+
+    private final TransactionRepository transactionRepository;
+    private final AccountService accountService;
+    private final ShardedTransactionEngine engine;
+    private final IdempotencyStore<TransactionResponse> idempotencyStore;
+    private final TransactionMetrics metrics;
+    private final TransactionOutbox outbox;
+    private final ArchiveProperties archiveProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    public TransactionService(TransactionRepository transactionRepository,
+                              AccountService accountService,
+                              ShardedTransactionEngine engine,
+                              IdempotencyStore<TransactionResponse> idempotencyStore,
+                              TransactionMetrics metrics,
+                              TransactionOutbox outbox,
+                              ArchiveProperties archiveProperties,
+                              PlatformTransactionManager transactionManager) {
+        this.transactionRepository = transactionRepository;
+        this.accountService = accountService;
+        this.engine = engine;
+        this.idempotencyStore = idempotencyStore;
+        this.metrics = metrics;
+        this.outbox = outbox;
+        this.archiveProperties = archiveProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+    }
+
+    public TransactionResponse createTransaction(
+            CreateTransactionRequest request,
+            String idempotencyKey
+    ) {
+        log.debug("Processing transaction request for account: {} [{}: {}]", 
+                request.accountId(), ApiConstants.IDEMPOTENCY_KEY_HEADER, idempotencyKey);
+
+        Optional<TransactionResponse> cachedResponse = idempotencyStore.getIfPresent(idempotencyKey);
+        if (cachedResponse.isPresent()) {
+            log.info("Transaction already processed with key: {}", idempotencyKey);
+            metrics.replay(TransactionMetrics.REPLAY_FROM_CACHE);
+            return cachedResponse.get();
+        }
+        boolean possiblySeen = idempotencyStore.mightContain(idempotencyKey);
+
+        TransactionResponse response;
+        try {
+            response = commitTransaction(request, idempotencyKey, possiblySeen);
+        } catch (ConflictingRequestException e) {
+            if (possiblySeen) {
+                metrics.conflict();
+                throw e;
+            }
+            // The lookup was skipped; the key may have been committed by another instance
+            response = transactionRepository
+                    .findByIdempotencyKeyAndCreatedAtGreaterThanEqual(idempotencyKey, replayHorizon())
+                    .map(this::mapToTransactionResponse)
+                    .orElseThrow(() -> {
+                        metrics.conflict();
+                        return e;
+                    });
+            metrics.replay(TransactionMetrics.REPLAY_FROM_DATABASE);
+        }
+
+        idempotencyStore.put(idempotencyKey, response);
+        return response;
+    }
+
+    /**
+     * The insert is only flushed at commit, together with the rest of the engine's group
+     * when it is enabled, so a duplicate idempotency key surfaces here rather than on save.
+     */
+    private TransactionResponse commitTransaction(CreateTransactionRequest request,
+                                                  String idempotencyKey,
+                                                  boolean possiblySeen) {
+        try {
+            return engine.isEnabled()
+                    ? engine.execute(request.accountId(), () -> recordTransaction(request, idempotencyKey, possiblySeen))
+                    : transactionTemplate.execute(status -> recordTransaction(request, idempotencyKey, possiblySeen));
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Transaction conflict detected [Idempotency-Key: {}]", idempotencyKey);
+            throw new ConflictingRequestException(TRANSACTION_ALREADY_EXISTS);
+        }
+    }
+
+    /**
+     * Idempotency check, balance update and insert of a single transaction. Must run
+     * inside a transaction, either a dedicated one or a group commit of the engine.
+     */
+    private TransactionResponse recordTransaction(CreateTransactionRequest request,
+                                                  String idempotencyKey,
+                                                  boolean possiblySeen) {
+        Optional<Transaction> existingTransaction = possiblySeen
+                ? metrics.recordIdempotencyLookup(() -> transactionRepository
+                        .findByIdempotencyKeyAndCreatedAtGreaterThanEqual(idempotencyKey, replayHorizon()))
+                : Optional.empty();
+        if (existingTransaction.isPresent()) {
+            log.info("Transaction already processed with key: {}", idempotencyKey);
+            metrics.replay(TransactionMetrics.REPLAY_FROM_DATABASE);
+            return mapToTransactionResponse(existingTransaction.get());
+        }
+
+        log.debug("Creating new transaction for account: {}", request.accountId());
+
+        Money finalAmount = signedAmount(request);
+
+        accountService.applyTransaction(request.accountId(), finalAmount);
+
+        Transaction transaction = buildTransaction(request, idempotencyKey, finalAmount);
+
+        Transaction saved = metrics.recordInsert(() -> transactionRepository.save(transaction));
+        outbox.record(saved);
+        metrics.recordCommit();
+        log.debug("Transaction created successfully [ID: {}, Account: {}, Amount: {}]", 
+                saved.getId(), saved.getAccount().getId(), saved.getAmount());
+        return mapToTransactionResponse(saved);
+    }
+
+    /**
+     * Only keys the idempotency store may have seen are looked up. A key committed by
+     * another instance is not among them, so the unique index rejects the batch; it is
+     * then run once more in a new transaction with every key looked up, which replays
+     * the committed items and applies the others.
+     */
+    public BatchTransactionResponse createTransactions(List<BatchTransactionItem> items) {
+        log.info("Processing transaction batch of {} items", items.size());
+        try {
+            return transactionTemplate.execute(status -> recordTransactions(items, false));
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Transaction conflict detected while saving batch of {} items, looking up every key",
+                    items.size());
+        }
+        try {
+            return transactionTemplate.execute(status -> recordTransactions(items, true));
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Transaction conflict detected while saving batch of {} items", items.size());
+            metrics.conflict();
+            throw new ConflictingRequestException(TRANSACTION_ALREADY_EXISTS);
+        }
+    }
+
+    private BatchTransactionResponse recordTransactions(List<BatchTransactionItem> items, boolean lookUpAllKeys) {
+        BatchTransactionItemResponse[] results = new BatchTransactionItemResponse[items.size()];
+
+        List<String> possiblySeenKeys = items.stream()
+                .map(BatchTransactionItem::idempotencyKey)
+                .filter(key -> lookUpAllKeys || idempotencyStore.mightContain(key))
+                .distinct()
+                .toList();
+        Map<String, Transaction> existingTransactions = possiblySeenKeys.isEmpty()
+                ? Map.of()
+                : metrics.recordIdempotencyLookup(() -> transactionRepository
+                        .findByIdempotencyKeyInAndCreatedAtGreaterThanEqual(possiblySeenKeys, replayHorizon()))
+                        .stream()
+                        .collect(Collectors.toMap(Transaction::getIdempotencyKey, Function.identity()));
+
+        // Sorted by account id so that concurrent batches always lock accounts in the same order
+        Map<Long, List<Integer>> pendingByAccount = new TreeMap<>();
+        Set<String> seenKeys = new HashSet<>();
+        for (int i = 0; i < items.size(); i++) {
+            BatchTransactionItem item = items.get(i);
+            Transaction existing = existingTransactions.get(item.idempotencyKey());
+            if (!seenKeys.add(item.idempotencyKey())) {
+                results[i] = rejected(item, DUPLICATE_IDEMPOTENCY_KEY);
+            } else if (existing != null) {
+                log.info("Transaction already processed with key: {}", item.idempotencyKey());
+                metrics.replay(TransactionMetrics.REPLAY_FROM_DATABASE);
+                results[i] = itemResult(item, BatchItemStatus.REPLAYED, existing);
+            } else {
+                pendingByAccount
+                        .computeIfAbsent(item.transaction().accountId(), accountId -> new ArrayList<>())
+                        .add(i);
+            }
+        }
+
+        List<Transaction> pendingTransactions = new ArrayList<>();
+        List<Integer> pendingIndexes = new ArrayList<>();
+        for (Map.Entry<Long, List<Integer>> entry : pendingByAccount.entrySet()) {
+            List<Integer> indexes = entry.getValue();
+            List<Money> amounts = indexes.stream()
+                    .map(i -> signedAmount(items.get(i).transaction()))
+                    .toList();
+
+            boolean[] applied;
+            try {
+                applied = accountService.applyTransactions(entry.getKey(), amounts);
+            } catch (BadRequestException e) {
+                indexes.forEach(i -> results[i] = rejected(items.get(i), e.getMessage()));
+                continue;
+            }
+
+            for (int j = 0; j < indexes.size(); j++) {
+                int index = indexes.get(j);
+                BatchTransactionItem item = items.get(index);
+                if (!applied[j]) {
+                    results[index] = rejected(item, INSUFFICIENT_FUNDS);
+                    continue;
+                }
+                pendingTransactions.add(buildTransaction(item.transaction(), item.idempotencyKey(), amounts.get(j)));
+                pendingIndexes.add(index);
+            }
+        }
+
+        List<Transaction> saved = metrics.recordInsert(() -> transactionRepository.saveAllAndFlush(pendingTransactions));
+        outbox.recordAll(saved);
+        metrics.recordCommit();
+        for (int k = 0; k < saved.size(); k++) {
+            int index = pendingIndexes.get(k);
+            results[index] = itemResult(items.get(index), BatchItemStatus.CREATED, saved.get(k));
+            idempotencyStore.putAfterCommit(items.get(index).idempotencyKey(), results[index].transaction());
+        }
+
+        log.info("Transaction batch processed [Created: {}, Total: {}]", pendingTransactions.size(), items.size());
+        return new BatchTransactionResponse(Arrays.asList(results));
+    }
+
+    /**
+     * Records a WITHDRAWAL on the source and a PAYMENT on the destination in one database
+     * transaction. The transfer always runs in its own transaction, outside the sharded
+     * engine, because its two accounts may belong to different shards.
+     */
+    public TransferResponse createTransfer(CreateTransferRequest request, String idempotencyKey) {
+        log.debug("Processing transfer request from account: {} to account: {} [{}: {}]",
+                request.sourceAccountId(), request.destinationAccountId(),
+                ApiConstants.IDEMPOTENCY_KEY_HEADER, idempotencyKey);
+        checkTransfer(request);
+        String debitKey = idempotencyKey + TRANSFER_DEBIT_SUFFIX;
+        String creditKey = idempotencyKey + TRANSFER_CREDIT_SUFFIX;
+
+        Optional<TransactionResponse> cachedDebit = idempotencyStore.getIfPresent(debitKey);
+        Optional<TransactionResponse> cachedCredit = idempotencyStore.getIfPresent(creditKey);
+        if (cachedDebit.isPresent() && cachedCredit.isPresent()) {
+            log.info("Transfer already processed with key: {}", idempotencyKey);
+            metrics.replay(TransactionMetrics.REPLAY_FROM_CACHE);
+            return new TransferResponse(cachedDebit.get(), cachedCredit.get());
+        }
+        boolean possiblySeen = idempotencyStore.mightContain(debitKey);
+
+        try {
+            return transactionTemplate.execute(status -> recordTransfer(request, debitKey, creditKey, possiblySeen));
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Transfer conflict detected [Idempotency-Key: {}]", idempotencyKey);
+            TransferResponse existing = findTransfer(debitKey, creditKey).orElseThrow(() -> {
+                metrics.conflict();
+                return new ConflictingRequestException(TRANSACTION_ALREADY_EXISTS);
+            });
+            metrics.replay(TransactionMetrics.REPLAY_FROM_DATABASE);
+            return existing;
+        }
+    }
+
+    /**
+     * The accounts are locked in ascending id order, the order batches lock in too, so two
+     * transfers in opposite directions queue behind each other instead of deadlocking.
+     * That holds among request threads only: with the sharded engine on, a shard holds the
+     * locks of its whole group, and a transfer waiting on it can still time out.
+     * A debit that fails for insufficient funds after the credit was applied rolls the
+     * credit back with the rest of the transaction.
+     */
+    private TransferResponse recordTransfer(CreateTransferRequest request,
+                                            String debitKey,
+                                            String creditKey,
+                                            boolean possiblySeen) {
+        Optional<TransferResponse> existing = possiblySeen
+                ? metrics.recordIdempotencyLookup(() -> findTransfer(debitKey, creditKey))
+                : Optional.empty();
+        if (existing.isPresent()) {
+            log.info("Transfer already processed with key: {}", debitKey);
+            metrics.replay(TransactionMetrics.REPLAY_FROM_DATABASE);
+            return existing.get();
+        }
+
+        CreateTransactionRequest debit = new CreateTransactionRequest(
+                request.sourceAccountId(), OperationType.WITHDRAWAL, request.amount());
+        CreateTransactionRequest credit = new CreateTransactionRequest(
+                request.destinationAccountId(), OperationType.PAYMENT, request.amount());
+        List<CreateTransactionRequest> lockOrder = debit.accountId() < credit.accountId()
+                ? List.of(debit, credit)
+                : List.of(credit, debit);
+        lockOrder.forEach(leg -> accountService.applyTransaction(leg.accountId(), signedAmount(leg)));
+
+        List<Transaction> saved = metrics.recordInsert(() -> transactionRepository.saveAll(List.of(
+                buildTransaction(debit, debitKey, signedAmount(debit)),
+                buildTransaction(credit, creditKey, signedAmount(credit)))));
+        outbox.recordAll(saved);
+        metrics.recordCommit();
+
+        TransferResponse response = new TransferResponse(
+                mapToTransactionResponse(saved.get(0)), mapToTransactionResponse(saved.get(1)));
+        idempotencyStore.putAfterCommit(debitKey, response.debit());
+        idempotencyStore.putAfterCommit(creditKey, response.credit());
+        log.debug("Transfer created successfully [Debit ID: {}, Credit ID: {}, Amount: {}]",
+                saved.get(0).getId(), saved.get(1).getId(), request.amount());
+        return response;
+    }
+
+    private Optional<TransferResponse> findTransfer(String debitKey, String creditKey) {
+        Map<String, Transaction> legs = transactionRepository
+                .findByIdempotencyKeyInAndCreatedAtGreaterThanEqual(List.of(debitKey, creditKey), replayHorizon())
+                .stream()
+                .collect(Collectors.toMap(Transaction::getIdempotencyKey, Function.identity()));
+        if (legs.size() < 2) {
+            return Optional.empty();
+        }
+        return Optional.of(new TransferResponse(
+                mapToTransactionResponse(legs.get(debitKey)), mapToTransactionResponse(legs.get(creditKey))));
+    }
+
+    private void checkTransfer(CreateTransferRequest request) {
+        if (request.amount().signum() <= 0) {
+            throw new BadRequestException(TRANSFER_AMOUNT_NOT_POSITIVE);
+        }
+        if (request.sourceAccountId().equals(request.destinationAccountId())) {
+            throw new BadRequestException(TRANSFER_TO_SAME_ACCOUNT);
+        }
+    }
+
+    /**
+     * One page of the account's transactions, newest first. One extra row is fetched to
+     * tell whether another page follows.
+     */
+    @Transactional(readOnly = true)
+    public TransactionPageResponse getAccountTransactions(Long accountId,
+                                                          OperationType operationType,
+                                                          Instant from,
+                                                          Instant to,
+                                                          String cursor,
+                                                          int limit) {
+        accountService.ensureAccountExists(accountId);
+        TransactionCursor after = cursor == null ? null : TransactionCursor.decode(cursor);
+
+        List<TransactionView> rows = transactionRepository.findHistory(TransactionHistoryQuery.builder()
+                .accountId(accountId)
+                .operationType(operationType)
+                .from(from)
+                .to(to)
+                .afterCreatedAt(after == null ? null : after.createdAt())
+                .afterId(after == null ? null : after.id())
+                .limit(limit + 1)
+                .build());
+
+        boolean hasMore = rows.size() > limit;
+        List<TransactionView> page = hasMore ? rows.subList(0, limit) : rows;
+        String nextCursor = hasMore ? TransactionCursor.of(page.get(limit - 1)).encode() : null;
+        return new TransactionPageResponse(page.stream().map(this::mapToTransactionResponse).toList(), nextCursor);
+    }
+
+    /**
+     * Sends every matching transaction to {@code sink} in id order. Rows are read in
+     * keyset pages of {@link #EXPORT_PAGE_SIZE}, each in its own short read-only
+     * transaction, and written after it ends, so a slow client never holds a pooled
+     * connection and memory stays at one page.
+     *
+     * @return the number of transactions exported
+     */
+    public long exportTransactions(TransactionExportQuery query, Consumer<TransactionResponse> sink) {
+        checkExportQuery(query);
+        log.info("Exporting transactions [Account: {}, From: {}, To: {}, After ID: {}]",
+                query.accountId(), query.from(), query.to(), query.afterId());
+
+        long exported = 0;
+        Long afterId = query.afterId();
+        List<TransactionView> page;
+        do {
+            TransactionExportQuery pageQuery = TransactionExportQuery.builder()
+                    .accountId(query.accountId())
+                    .from(query.from())
+                    .to(query.to())
+                    .afterId(afterId)
+                    .build();
+            page = readOnlyTransactionTemplate.execute(
+                    status -> transactionRepository.findExportPage(pageQuery, EXPORT_PAGE_SIZE));
+            if (page == null || page.isEmpty()) {
+                break;
+            }
+            for (TransactionView row : page) {
+                sink.accept(mapToTransactionResponse(row));
+            }
+            exported += page.size();
+            afterId = page.get(page.size() - 1).id();
+        } while (page.size() == EXPORT_PAGE_SIZE);
+        log.info("Exported {} transactions", exported);
+        return exported;
+    }
+
+    /**
+     * Rejects exports that would scan the whole table.
+     */
+    public void checkExportQuery(TransactionExportQuery query) {
+        if (query.accountId() == null && (query.from() == null || query.to() == null)) {
+            throw new BadRequestException(EXPORT_FILTER_REQUIRED);
+        }
+    }
+
+    /**
+     * Keys are only replayed within the window; older transactions may already have been
+     * moved to the archive, which is never searched.
+     */
+    private Instant replayHorizon() {
+        return Instant.now().minus(archiveProperties.replayWindow());
+    }
+
+    private Money signedAmount(CreateTransactionRequest request) {
+        return request.operationType().isDebit()
+                ? request.amount().negate()
+                : request.amount();
+    }
+
+    private Transaction buildTransaction(CreateTransactionRequest request, String idempotencyKey, Money amount) {
+        return Transaction.builder()
+                .idempotencyKey(idempotencyKey)
+                .account(accountService.getAccountReference(request.accountId()))
+                .operationType(request.operationType())
+                .amount(amount)
+                .build();
+    }
+
+    private BatchTransactionItemResponse itemResult(BatchTransactionItem item,
+                                                    BatchItemStatus status,
+                                                    Transaction transaction) {
+        return BatchTransactionItemResponse.builder()
+                .idempotencyKey(item.idempotencyKey())
+                .status(status)
+                .transaction(mapToTransactionResponse(transaction))
+                .build();
+    }
+
+    private BatchTransactionItemResponse rejected(BatchTransactionItem item, String reason) {
+        return BatchTransactionItemResponse.builder()
+                .idempotencyKey(item.idempotencyKey())
+                .status(BatchItemStatus.REJECTED)
+                .error(reason)
+                .build();
+    }
+
+    private TransactionResponse mapToTransactionResponse(TransactionView transaction) {
+        return TransactionResponse.builder()
+                .transactionId(transaction.id())
+                .accountId(transaction.accountId())
+                .amount(transaction.amount())
+                .operationType(transaction.operationType())
+                .eventTimestamp(transaction.createdAt())
+                .build();
+    }
+
+    private TransactionResponse mapToTransactionResponse(Transaction transaction) {
+        return TransactionResponse.builder()
+                .transactionId(transaction.getId())
+                .accountId(transaction.getAccount().getId())
+                .amount(transaction.getAmount())
+                .operationType(transaction.getOperationType())
+                .eventTimestamp(transaction.getCreatedAt())
+                .build();
+    }
+}
@@ -5,6 +5,7 @@ import com.moiez.pismo.api.dto.request.CreateAccountRequest;
 import com.moiez.pismo.api.dto.response.AccountResponse;
 import com.moiez.pismo.config.SecurityConfig;
 import com.moiez.pismo.constant.ApiConstants;
+import com.moiez.pismo.model.Money;
 import com.moiez.pismo.service.AccountService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,8 +16,6 @@ import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
-import java.math.BigDecimal;
-
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
@@ -42,7 +41,7 @@ class AccountControllerApiTest {
     @Test
     void createAccount_shouldReturn201() throws Exception {
         CreateAccountRequest request = new CreateAccountRequest("12345678900");
-        AccountResponse response = new AccountResponse(1L, "12345678900", BigDecimal.ZERO);
+        AccountResponse response = new AccountResponse(1L, "12345678900", Money.ZERO);
 
         when(accountService.createAccount(any(CreateAccountRequest.class), anyString()))
                 .thenReturn(response);
@@ -68,7 +67,7 @@ class AccountControllerApiTest {
 
     @Test
     void getAccount_shouldReturn200() throws Exception {
-        AccountResponse response = new AccountResponse(1L, "12345678900", BigDecimal.TEN);
+        AccountResponse response = new AccountResponse(1L, "12345678900", Money.parse("10"));
 
         when(accountService.getAccount(1L)).thenReturn(response);
 
@@ -0,0 +1,84 @@
+package com.moiez.pismo.api.controller;
+
+import com.moiez.pismo.api.dto.response.TransactionPageResponse;
+import com.moiez.pismo.api.dto.response.TransactionResponse;
+import com.moiez.pismo.config.SecurityConfig;
+import com.moiez.pismo.exception.NotFoundException;
+import com.moiez.pismo.model.Money;
+import com.moiez.pismo.model.OperationType;
+import com.moiez.pismo.service.TransactionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.List;
+
+import static com.moiez.pismo.constant.ErrorConstants.ACCOUNT_NOT_FOUND;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(AccountTransactionController.class)
+@Import(SecurityConfig.class)
+@WithMockUser(username = "admin", roles = "ADMIN")
+class AccountTransactionControllerApiTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TransactionService transactionService;
+
+    private static final String API_URL = "/v1/accounts/1/transactions";
+
+    @Test
+    void shouldListTransactions_return200() throws Exception {
+        Instant from = Instant.parse("2024-06-01T00:00:00Z");
+        when(transactionService.getAccountTransactions(
+                eq(1L), eq(OperationType.PAYMENT), eq(from), isNull(), eq("abc"), eq(20)))
+                .thenReturn(new TransactionPageResponse(List.of(TransactionResponse.builder()
+                        .transactionId(10L)
+                        .accountId(1L)
+                        .amount(Money.parse("100.00"))
+                        .operationType(OperationType.PAYMENT)
+                        .eventTimestamp(from)
+                        .build()), "next"));
+
+        mockMvc.perform(get(API_URL)
+                        .param("operationType", "4")
+                        .param("from", "2024-06-01T00:00:00Z")
+                        .param("cursor", "abc")
+                        .param("limit", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transactions[0].transactionId").value(10))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
+    @Test
+    void shouldRejectOversizedPage_return400() throws Exception {
+        mockMvc.perform(get(API_URL).param("limit", "1000"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(transactionService);
+    }
+
+    @Test
+    void shouldReturn404_whenAccountMissing() throws Exception {
+        when(transactionService.getAccountTransactions(eq(1L), any(), any(), any(), any(), anyInt()))
+                .thenThrow(new NotFoundException(ACCOUNT_NOT_FOUND));
+
+        mockMvc.perform(get(API_URL))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value(ACCOUNT_NOT_FOUND));
+    }
+}
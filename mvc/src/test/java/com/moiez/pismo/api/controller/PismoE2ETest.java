@@ -3,7 +3,11 @@ package com.moiez.pismo.api.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.moiez.pismo.api.dto.request.CreateAccountRequest;
 import com.moiez.pismo.api.dto.request.CreateTransactionRequest;
+import com.moiez.pismo.api.dto.response.AccountResponse;
+import com.moiez.pismo.api.dto.response.TransactionResponse;
+import com.moiez.pismo.cache.IdempotencyStore;
 import com.moiez.pismo.constant.ApiConstants;
+import com.moiez.pismo.model.Money;
 import com.moiez.pismo.model.OperationType;
 import com.moiez.pismo.repository.AccountRepository;
 import com.moiez.pismo.repository.TransactionRepository;
@@ -15,8 +19,6 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
-import java.math.BigDecimal;
-
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -40,10 +42,18 @@ class PismoE2ETest {
     @Autowired
     private TransactionRepository transactionRepository;
 
+    @Autowired
+    private IdempotencyStore<AccountResponse> accountIdempotencyStore;
+
+    @Autowired
+    private IdempotencyStore<TransactionResponse> transactionIdempotencyStore;
+
     @AfterEach
     void cleanDatabase() {
         transactionRepository.deleteAll();
         accountRepository.deleteAll();
+        accountIdempotencyStore.clear();
+        transactionIdempotencyStore.clear();
     }
 
 
@@ -77,7 +87,7 @@ class PismoE2ETest {
                 new CreateTransactionRequest(
                         accountId,
                         OperationType.PAYMENT, // CREDIT
-                        new BigDecimal("100.00")
+                        Money.parse("100.00")
                 );
 
         mockMvc.perform(post(ApiConstants.TRANSACTIONS_BASE_URL)
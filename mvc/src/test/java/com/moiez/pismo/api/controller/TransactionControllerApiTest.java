@@ -0,0 +1,341 @@
+package com.moiez.pismo.api.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moiez.pismo.api.dto.request.CreateTransactionRequest;
+import com.moiez.pismo.api.dto.response.BatchItemStatus;
+import com.moiez.pismo.api.dto.response.BatchTransactionItemResponse;
+import com.moiez.pismo.api.dto.response.BatchTransactionResponse;
+import com.moiez.pismo.api.dto.response.TransactionResponse;
+import com.moiez.pismo.config.SecurityConfig;
+import com.moiez.pismo.exception.BadRequestException;
+import com.moiez.pismo.model.Account;
+import com.moiez.pismo.model.Money;
+import com.moiez.pismo.model.OperationType;
+import com.moiez.pismo.model.Transaction;
+import com.moiez.pismo.repository.TransactionExportQuery;
+import com.moiez.pismo.service.TransactionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(TransactionController.class)
+@Import(SecurityConfig.class)
+@WithMockUser(username = "admin", roles = "ADMIN")
+class TransactionControllerApiTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private TransactionService transactionService;
+
+    private static final String API_BASE_URL = "/v1/transactions";
+
+    @Test
+    void shouldCreateTransaction_return200() throws Exception {
+        CreateTransactionRequest request = new CreateTransactionRequest(
+                1L,
+                OperationType.PAYMENT,
+                Money.parse("100.00")
+        );
+
+        Transaction transaction = Transaction.builder()
+                .id(10L)
+                .account(Account.builder()
+                        .id(1L)
+                        .documentNumber("123")
+                        .build())
+                .operationType(OperationType.fromId(4))
+                .amount(Money.parse("100.00"))
+                .build();
+
+        when(transactionService.createTransaction(any(CreateTransactionRequest.class), anyString()))
+                .thenReturn(TransactionResponse.builder()
+                                .transactionId(transaction.getId())
+                                .accountId(transaction.getAccount().getId())
+                                .amount(transaction.getAmount())
+                                .operationType(transaction.getOperationType())
+                                .eventTimestamp(transaction.getCreatedAt())
+                                .build());
+
+        mockMvc.perform(post(API_BASE_URL)
+                        .header("Idempotency-Key", "idem-123")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.transactionId").value(10L))
+                .andExpect(jsonPath("$.accountId").value(1L))
+                .andExpect(jsonPath("$.operationType").value(OperationType.PAYMENT.getId()))
+                .andExpect(jsonPath("$.amount").value(100.00));
+    }
+
+    @Test
+    void missing_idempotency_key_returns_400() throws Exception {
+        String body = """
+            {
+              "accountId": 1,
+              "operationType": 2,
+              "amount": 100
+            }
+            """;
+
+        mockMvc.perform(post(API_BASE_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void amount_with_more_than_twelve_integer_digits_returns_400() throws Exception {
+        String body = """
+            { "accountId": 1, "operationType": 4, "amount": 92233720368547758.07 }
+            """;
+
+        mockMvc.perform(post(API_BASE_URL)
+                        .header("Idempotency-Key", "idem-123")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(transactionService);
+    }
+
+    @Test
+    void idempotency_key_with_reserved_separator_returns_400() throws Exception {
+        String body = """
+            { "accountId": 1, "operationType": 4, "amount": 100 }
+            """;
+
+        mockMvc.perform(post(API_BASE_URL)
+                        .header("Idempotency-Key", "idem-123:credit")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(transactionService);
+    }
+
+    @Test
+    void idempotency_key_is_forwarded_to_service() throws Exception {
+        String body = """
+            {
+              "accountId": 1,
+              "operationType": 4,
+              "amount": 100
+            }
+            """;
+
+        when(transactionService.createTransaction(any(), any()))
+                .thenReturn(mock(TransactionResponse.class));
+
+        mockMvc.perform(post(API_BASE_URL)
+                        .header("Idempotency-Key", "idem-123")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated());
+
+        verify(transactionService)
+                .createTransaction(any(), eq("idem-123"));
+    }
+
+    @Test
+    void shouldReturnBadRequest_whenRelatedEntityNotFound() throws Exception {
+        CreateTransactionRequest request = new CreateTransactionRequest(
+                99L,
+                OperationType.WITHDRAWAL,
+                Money.parse("100.00")
+        );
+
+        when(transactionService.createTransaction(any(CreateTransactionRequest.class), anyString()))
+                .thenThrow(new BadRequestException("Invalid accountId"));
+
+        mockMvc.perform(post(API_BASE_URL)
+                        .header("Idempotency-Key", "idem-123")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldReturn400_whenOperationTypeIdIsInvalid() throws Exception {
+        CreateTransactionRequest request = new CreateTransactionRequest(
+                1L,
+                null, // invalid operationType
+                Money.parse("100.00")
+        );
+
+        when(transactionService.createTransaction(any(CreateTransactionRequest.class), anyString()))
+                .thenThrow(new BadRequestException("Invalid operation type"));
+
+        mockMvc.perform(post(API_BASE_URL)
+                        .header("Idempotency-Key", "idem-123")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldCreateBatch_return200WithPerItemResults() throws Exception {
+        String body = """
+            {
+              "items": [
+                { "idempotencyKey": "idem-1", "transaction": { "accountId": 1, "operationType": 4, "amount": 100 } },
+                { "idempotencyKey": "idem-2", "transaction": { "accountId": 1, "operationType": 3, "amount": 500 } }
+              ]
+            }
+            """;
+
+        when(transactionService.createTransactions(anyList()))
+                .thenReturn(new BatchTransactionResponse(List.of(
+                        BatchTransactionItemResponse.builder()
+                                .idempotencyKey("idem-1")
+                                .status(BatchItemStatus.CREATED)
+                                .build(),
+                        BatchTransactionItemResponse.builder()
+                                .idempotencyKey("idem-2")
+                                .status(BatchItemStatus.REJECTED)
+                                .error("Insufficient funds")
+                                .build())));
+
+        mockMvc.perform(post(API_BASE_URL + "/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].status").value("CREATED"))
+                .andExpect(jsonPath("$.results[1].status").value("REJECTED"))
+                .andExpect(jsonPath("$.results[1].error").value("Insufficient funds"));
+    }
+
+    @Test
+    void batch_item_without_idempotency_key_returns_400() throws Exception {
+        String body = """
+            {
+              "items": [
+                { "transaction": { "accountId": 1, "operationType": 4, "amount": 100 } }
+              ]
+            }
+            """;
+
+        mockMvc.perform(post(API_BASE_URL + "/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(transactionService);
+    }
+
+    @Test
+    void batch_item_with_reserved_separator_in_key_returns_400() throws Exception {
+        String body = """
+            {
+              "items": [
+                { "idempotencyKey": "idem-1:debit", "transaction": { "accountId": 1, "operationType": 4, "amount": 100 } }
+              ]
+            }
+            """;
+
+        mockMvc.perform(post(API_BASE_URL + "/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(transactionService);
+    }
+
+    @Test
+    void shouldExportTransactions_asNdjson() throws Exception {
+        stubExport(transaction(1L), transaction(2L));
+
+        MvcResult result = mockMvc.perform(get(API_BASE_URL + "/export").param("accountId", "1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(body.split("\n"))
+                .hasSize(2)
+                .allSatisfy(line -> assertThat(line).startsWith("{\"transactionId\":"));
+        assertThat(body).endsWith("}\n");
+    }
+
+    @Test
+    void shouldExportTransactions_gzipped() throws Exception {
+        stubExport(transaction(1L));
+
+        MvcResult result = mockMvc.perform(get(API_BASE_URL + "/export")
+                        .param("accountId", "1")
+                        .header("Accept-Encoding", "gzip"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        byte[] body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertThat(gunzip(body)).contains("\"transactionId\":1").endsWith("\n");
+    }
+
+    @Test
+    void shouldRejectUnboundedExport_return400() throws Exception {
+        doThrow(new BadRequestException("Export requires an account or a from/to time window"))
+                .when(transactionService).checkExportQuery(any(TransactionExportQuery.class));
+
+        mockMvc.perform(get(API_BASE_URL + "/export"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubExport(TransactionResponse... transactions) {
+        when(transactionService.exportTransactions(any(TransactionExportQuery.class), any()))
+                .thenAnswer(invocation -> {
+                    Consumer<TransactionResponse> sink = invocation.getArgument(1);
+                    List.of(transactions).forEach(sink);
+                    return (long) transactions.length;
+                });
+    }
+
+    private TransactionResponse transaction(Long id) {
+        return TransactionResponse.builder()
+                .transactionId(id)
+                .accountId(1L)
+                .amount(Money.parse("10.00"))
+                .operationType(OperationType.PAYMENT)
+                .eventTimestamp(Instant.parse("2024-06-01T12:30:45Z"))
+                .build();
+    }
+
+    private String gunzip(byte[] bytes) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.moiez.pismo.api.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moiez.pismo.api.dto.request.CreateTransferRequest;
+import com.moiez.pismo.api.dto.response.TransactionResponse;
+import com.moiez.pismo.api.dto.response.TransferResponse;
+import com.moiez.pismo.config.SecurityConfig;
+import com.moiez.pismo.constant.ApiConstants;
+import com.moiez.pismo.exception.BadRequestException;
+import com.moiez.pismo.model.Money;
+import com.moiez.pismo.model.OperationType;
+import com.moiez.pismo.service.TransactionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+
+import static com.moiez.pismo.constant.ErrorConstants.IDEMPOTENCY_KEY_RESERVED;
+import static com.moiez.pismo.constant.ErrorConstants.TRANSFER_TO_SAME_ACCOUNT;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(TransferController.class)
+@Import(SecurityConfig.class)
+@WithMockUser(username = "admin", roles = "ADMIN")
+class TransferControllerApiTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private TransactionService transactionService;
+
+    @Test
+    void createTransfer_shouldReturn201WithBothLegs() throws Exception {
+        CreateTransferRequest request = new CreateTransferRequest(1L, 2L, Money.parse("50"));
+        Instant now = Instant.now();
+        TransferResponse response = new TransferResponse(
+                new TransactionResponse(10L, 1L, Money.parse("-50"), OperationType.WITHDRAWAL, now),
+                new TransactionResponse(11L, 2L, Money.parse("50"), OperationType.PAYMENT, now));
+
+        when(transactionService.createTransfer(any(CreateTransferRequest.class), eq("idem-123")))
+                .thenReturn(response);
+
+        mockMvc.perform(post(ApiConstants.TRANSFERS_BASE_URL)
+                        .header(ApiConstants.IDEMPOTENCY_KEY_HEADER, "idem-123")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.debit.transactionId").value(10L))
+                .andExpect(jsonPath("$.debit.amount").value("-50.00"))
+                .andExpect(jsonPath("$.credit.accountId").value(2L))
+                .andExpect(jsonPath("$.credit.operationType").value(4));
+    }
+
+    @Test
+    void createTransfer_withoutIdempotencyKey_shouldReturn400() throws Exception {
+        CreateTransferRequest request = new CreateTransferRequest(1L, 2L, Money.parse("50"));
+
+        mockMvc.perform(post(ApiConstants.TRANSFERS_BASE_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void createTransfer_withReservedSeparatorInKey_shouldReturn400() throws Exception {
+        CreateTransferRequest request = new CreateTransferRequest(1L, 2L, Money.parse("50"));
+
+        mockMvc.perform(post(ApiConstants.TRANSFERS_BASE_URL)
+                        .header(ApiConstants.IDEMPOTENCY_KEY_HEADER, "idem-123:debit")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(IDEMPOTENCY_KEY_RESERVED));
+    }
+
+    @Test
+    void createTransfer_withoutDestination_shouldReturn400() throws Exception {
+        String body = "{\"sourceAccountId\": 1, \"amount\": 50}";
+
+        mockMvc.perform(post(ApiConstants.TRANSFERS_BASE_URL)
+                        .header(ApiConstants.IDEMPOTENCY_KEY_HEADER, "idem-123")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Destination account Id is required"));
+    }
+
+    @Test
+    void createTransfer_rejectedByService_shouldReturn400() throws Exception {
+        CreateTransferRequest request = new CreateTransferRequest(1L, 1L, Money.parse("50"));
+
+        when(transactionService.createTransfer(any(CreateTransferRequest.class), eq("idem-123")))
+                .thenThrow(new BadRequestException(TRANSFER_TO_SAME_ACCOUNT));
+
+        mockMvc.perform(post(ApiConstants.TRANSFERS_BASE_URL)
+                        .header(ApiConstants.IDEMPOTENCY_KEY_HEADER, "idem-123")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(TRANSFER_TO_SAME_ACCOUNT));
+    }
+}
@@ -0,0 +1,159 @@
+package com.moiez.pismo.archive;
+
+import com.moiez.pismo.api.dto.request.CreateTransactionRequest;
+import com.moiez.pismo.api.dto.response.AccountResponse;
+import com.moiez.pismo.api.dto.response.TransactionPageResponse;
+import com.moiez.pismo.api.dto.response.TransactionResponse;
+import com.moiez.pismo.cache.IdempotencyStore;
+import com.moiez.pismo.model.Account;
+import com.moiez.pismo.model.ArchivedTransaction;
+import com.moiez.pismo.model.Money;
+import com.moiez.pismo.model.OperationType;
+import com.moiez.pismo.model.Transaction;
+import com.moiez.pismo.repository.AccountRepository;
+import com.moiez.pismo.repository.ArchivedTransactionRepository;
+import com.moiez.pismo.repository.TransactionExportQuery;
+import com.moiez.pismo.repository.TransactionRepository;
+import com.moiez.pismo.service.TransactionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+
+@SpringBootTest(properties = {
+        // Archived by hand below
+        "pismo.archive.interval=1h"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TransactionArchiverIntegrationTest {
+
+    private static final Instant COLD = Instant.now().minus(Duration.ofDays(120));
+
+    @Autowired
+    private TransactionArchiver archiver;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private ArchivedTransactionRepository archiveRepository;
+
+    @Autowired
+    private IdempotencyStore<AccountResponse> accountIdempotencyStore;
+
+    @Autowired
+    private IdempotencyStore<TransactionResponse> transactionIdempotencyStore;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    @AfterEach
+    void cleanDatabase() {
+        transactionRepository.deleteAll();
+        archiveRepository.deleteAll();
+        accountRepository.deleteAll();
+        accountIdempotencyStore.clear();
+        transactionIdempotencyStore.clear();
+    }
+
+    @Test
+    void months_before_the_replay_window_are_moved_to_the_archive() {
+        Account account = createAccount();
+        List<Long> ids = createTransactions(account, 3);
+        backdate(ids.get(0), COLD);
+        backdate(ids.get(1), COLD.plusSeconds(1));
+
+        assertThat(archiver.archive()).isEqualTo(2);
+
+        assertThat(transactionRepository.findAll()).extracting(Transaction::getId).containsExactly(ids.get(2));
+        assertThat(archiveRepository.findAll())
+                .extracting(ArchivedTransaction::getId,
+                        ArchivedTransaction::getAccountId,
+                        ArchivedTransaction::getIdempotencyKey)
+                .containsExactlyInAnyOrder(
+                        tuple(ids.get(0), account.getId(), "idem-0"),
+                        tuple(ids.get(1), account.getId(), "idem-1"));
+        assertThat(archiver.archive()).isZero();
+    }
+
+    @Test
+    void history_and_export_read_across_the_archive() {
+        Account account = createAccount();
+        List<Long> ids = createTransactions(account, 3);
+        backdate(ids.get(0), COLD);
+        backdate(ids.get(1), COLD.plusSeconds(1));
+        archiver.archive();
+
+        TransactionPageResponse first = transactionService.getAccountTransactions(
+                account.getId(), null, null, null, null, 2);
+        assertThat(first.transactions()).extracting(TransactionResponse::transactionId)
+                .containsExactly(ids.get(2), ids.get(1));
+        TransactionPageResponse second = transactionService.getAccountTransactions(
+                account.getId(), null, null, null, first.nextCursor(), 2);
+        assertThat(second.transactions()).extracting(TransactionResponse::transactionId)
+                .containsExactly(ids.get(0));
+        assertThat(second.nextCursor()).isNull();
+
+        List<Long> exported = new ArrayList<>();
+        transactionService.exportTransactions(TransactionExportQuery.builder().accountId(account.getId()).build(),
+                transaction -> exported.add(transaction.transactionId()));
+        assertThat(exported).containsExactlyElementsOf(ids);
+    }
+
+    @Test
+    void keys_outside_the_replay_window_are_not_replayed() {
+        Account account = createAccount();
+        Long archivedId = createTransactions(account, 1).get(0);
+        backdate(archivedId, COLD);
+        archiver.archive();
+        transactionIdempotencyStore.clear();
+
+        TransactionResponse response = transactionService.createTransaction(credit(account), "idem-0");
+
+        assertThat(response.transactionId()).isNotEqualTo(archivedId);
+    }
+
+    private List<Long> createTransactions(Account account, int count) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ids.add(transactionService.createTransaction(credit(account), "idem-" + i).transactionId());
+        }
+        return ids;
+    }
+
+    private CreateTransactionRequest credit(Account account) {
+        return new CreateTransactionRequest(account.getId(), OperationType.PAYMENT, Money.parse("1"));
+    }
+
+    private void backdate(Long transactionId, Instant createdAt) {
+        jdbcTemplate.update("update transactions set created_at = ? where id = ?",
+                Timestamp.from(createdAt), transactionId);
+    }
+
+    private Account createAccount() {
+        return accountRepository.save(Account.builder()
+                .idempotencyKey("idem-account")
+                .documentNumber("1")
+                .build());
+    }
+}
@@ -0,0 +1,54 @@
+package com.moiez.pismo.archive;
+
+import com.moiez.pismo.ledger.BalanceMode;
+import com.moiez.pismo.ledger.BalanceProperties;
+import com.moiez.pismo.repository.ArchivedTransactionRepository;
+import com.moiez.pismo.repository.TransactionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class TransactionArchiverUnitTest {
+
+    private static final ArchiveProperties PROPERTIES =
+            new ArchiveProperties(true, Duration.ofDays(30), Duration.ofHours(1), 1000);
+
+    private final TransactionRepository transactionRepository = mock(TransactionRepository.class);
+
+    @Test
+    void cutoff_is_the_start_of_the_month_the_replay_window_begins_in() {
+        Instant cutoff = archiver(BalanceMode.PESSIMISTIC).cutoff();
+
+        ZonedDateTime windowStart = Instant.now().minus(PROPERTIES.replayWindow()).atZone(ZoneOffset.UTC);
+        assertThat(cutoff).isEqualTo(windowStart.toLocalDate().withDayOfMonth(1)
+                .atStartOfDay(ZoneOffset.UTC)
+                .toInstant());
+    }
+
+    @Test
+    void ledger_mode_only_archives_snapshotted_transactions() {
+        archiver(BalanceMode.LEDGER).archive();
+
+        verify(transactionRepository).findSnapshottedIdsCreatedBefore(any(), any());
+        verify(transactionRepository, never()).findIdsCreatedBefore(any(), any());
+    }
+
+    private TransactionArchiver archiver(BalanceMode mode) {
+        return new TransactionArchiver(
+                transactionRepository,
+                mock(ArchivedTransactionRepository.class),
+                PROPERTIES,
+                new BalanceProperties(mode, Duration.ofMinutes(1), 1000, 5, Duration.ofMillis(5)),
+                mock(PlatformTransactionManager.class));
+    }
+}
@@ -0,0 +1,127 @@
+package com.moiez.pismo.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdempotencyStoreUnitTest {
+
+    private static final Duration REPLAY_WINDOW = Duration.ofDays(30);
+
+    private final MutableClock clock = new MutableClock();
+    private final IdempotencyStore<String> store = new IdempotencyStore<>(
+            new IdempotencyProperties(true, 100, Duration.ofMinutes(1), 10_000, 0.01), REPLAY_WINDOW, clock);
+
+    @Test
+    void unseeded_store_reports_every_key_as_possibly_seen() {
+        assertThat(store.mightContain("idem-1")).isTrue();
+    }
+
+    @Test
+    void seeded_store_answers_definitely_not_seen_for_new_keys() {
+        store.seed(Stream.of("idem-1", "idem-2"));
+
+        assertThat(store.mightContain("idem-1")).isTrue();
+        assertThat(store.mightContain("idem-2")).isTrue();
+        assertThat(store.mightContain("idem-3")).isFalse();
+    }
+
+    @Test
+    void seeded_keys_are_never_reported_as_unseen() {
+        store.seed(IntStream.range(0, 10_000).mapToObj(i -> "idem-" + i));
+
+        assertThat(IntStream.range(0, 10_000).mapToObj(i -> "idem-" + i))
+                .allMatch(store::mightContain);
+        long falsePositives = IntStream.range(10_000, 20_000)
+                .mapToObj(i -> "idem-" + i)
+                .filter(store::mightContain)
+                .count();
+        assertThat(falsePositives).isLessThan(300);
+    }
+
+    @Test
+    void put_caches_the_response_and_marks_the_key_as_seen() {
+        store.seed(Stream.empty());
+
+        store.put("idem-1", "response");
+
+        assertThat(store.getIfPresent("idem-1")).contains("response");
+        assertThat(store.mightContain("idem-1")).isTrue();
+    }
+
+    @Test
+    void disabled_store_never_skips_the_lookup_or_caches() {
+        IdempotencyStore<String> disabled = new IdempotencyStore<>(
+                new IdempotencyProperties(false, 100, Duration.ofMinutes(1), 100, 0.01), REPLAY_WINDOW);
+        disabled.seed(Stream.empty());
+
+        disabled.put("idem-1", "response");
+
+        assertThat(disabled.getIfPresent("idem-1")).isEmpty();
+        assertThat(disabled.mightContain("idem-2")).isTrue();
+    }
+
+    @Test
+    void keys_are_kept_for_one_replay_window_and_dropped_after_two() {
+        store.seed(Stream.empty());
+        store.put("idem-old", "response");
+
+        clock.advance(REPLAY_WINDOW);
+        store.put("idem-new", "response");
+        assertThat(store.mightContain("idem-old")).isTrue();
+
+        clock.advance(REPLAY_WINDOW);
+        store.put("idem-newer", "response");
+        assertThat(store.mightContain("idem-old")).isFalse();
+        assertThat(store.mightContain("idem-new")).isTrue();
+        assertThat(store.mightContain("idem-newer")).isTrue();
+    }
+
+    @Test
+    void a_full_generation_is_retired_so_false_positives_stay_bounded() {
+        store.seed(Stream.empty());
+
+        IntStream.range(0, 100_000).forEach(i -> store.put("idem-" + i, "response"));
+
+        assertThat(IntStream.range(90_000, 100_000).mapToObj(i -> "idem-" + i))
+                .allMatch(store::mightContain);
+        long falsePositives = IntStream.range(100_000, 110_000)
+                .mapToObj(i -> "unseen-" + i)
+                .filter(store::mightContain)
+                .count();
+        // Each of the two generations checked is at most 1% false positive
+        assertThat(falsePositives).isLessThan(300);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2024-06-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.moiez.pismo.config;
+
+import com.moiez.pismo.datasource.ConnectionLimitProperties;
+import com.moiez.pismo.datasource.ConnectionLimitingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DataSourceConfigUnitTest {
+
+    private final BeanPostProcessor postProcessor =
+            DataSourceConfig.connectionLimitingDataSourcePostProcessor(provider(
+                    new ConnectionLimitProperties(true, 10, Duration.ofSeconds(3))));
+
+    @Test
+    void each_hikari_pool_gets_one_permit_per_connection() {
+        ConnectionLimitingDataSource primary = limit(hikari(20), "primaryDataSource");
+        ConnectionLimitingDataSource replica = limit(hikari(5), "replicaDataSource");
+
+        assertThat(primary.availablePermits()).isEqualTo(20);
+        assertThat(replica.availablePermits()).isEqualTo(5);
+    }
+
+    @Test
+    void other_pools_use_the_configured_permits() {
+        assertThat(limit(mock(DataSource.class), "dataSource").availablePermits()).isEqualTo(10);
+    }
+
+    @Test
+    void permit_queue_gauge_is_tagged_with_the_bean_name() {
+        ConnectionLimitingDataSource primary = limit(hikari(20), "primaryDataSource");
+        ConnectionLimitingDataSource replica = limit(hikari(5), "replicaDataSource");
+        ObjectProvider<DataSource> dataSources = mock();
+        when(dataSources.stream()).thenReturn(Stream.of(primary, replica));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        new DataSourceConfig().connectionLimitMetrics(dataSources).bindTo(registry);
+
+        assertThat(registry.get("pismo.datasource.permit.queue").tag("name", "primaryDataSource").gauge()).isNotNull();
+        assertThat(registry.get("pismo.datasource.permit.queue").tag("name", "replicaDataSource").gauge()).isNotNull();
+    }
+
+    private ConnectionLimitingDataSource limit(DataSource dataSource, String beanName) {
+        return (ConnectionLimitingDataSource) postProcessor.postProcessAfterInitialization(dataSource, beanName);
+    }
+
+    private static HikariDataSource hikari(int maximumPoolSize) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setMaximumPoolSize(maximumPoolSize);
+        return dataSource;
+    }
+
+    private static ObjectProvider<ConnectionLimitProperties> provider(ConnectionLimitProperties properties) {
+        ObjectProvider<ConnectionLimitProperties> provider = mock();
+        when(provider.getObject()).thenReturn(properties);
+        return provider;
+    }
+}
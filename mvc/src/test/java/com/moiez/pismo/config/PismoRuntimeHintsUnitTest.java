@@ -0,0 +1,48 @@
+package com.moiez.pismo.config;
+
+import com.moiez.pismo.api.dto.request.CreateTransactionRequest;
+import com.moiez.pismo.api.dto.response.TransactionResponse;
+import com.moiez.pismo.logging.RequestSamplingTurboFilter;
+import com.moiez.pismo.model.Account;
+import com.moiez.pismo.model.PooledSequenceGenerator;
+import com.moiez.pismo.model.Transaction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.aot.hint.predicate.RuntimeHintsPredicates.reflection;
+
+class PismoRuntimeHintsUnitTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    @BeforeEach
+    void registerHints() {
+        new PismoRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void entities_and_their_builders_are_reflectively_constructible() {
+        assertRegistered(Account.class, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+        assertRegistered(Account.AccountBuilder.class, MemberCategory.INVOKE_DECLARED_METHODS);
+        assertRegistered(Transaction.class, MemberCategory.DECLARED_FIELDS);
+        assertRegistered(PooledSequenceGenerator.class, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+    }
+
+    @Test
+    void json_dtos_are_reflectively_bindable() {
+        assertRegistered(CreateTransactionRequest.class, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+        assertRegistered(TransactionResponse.TransactionResponseBuilder.class, MemberCategory.INVOKE_DECLARED_METHODS);
+    }
+
+    @Test
+    void logback_turbo_filter_is_reflectively_constructible() {
+        assertRegistered(RequestSamplingTurboFilter.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+    }
+
+    private void assertRegistered(Class<?> type, MemberCategory category) {
+        assertThat(reflection().onType(type).withMemberCategory(category)).accepts(hints);
+    }
+}
@@ -0,0 +1,53 @@
+package com.moiez.pismo.datasource;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class ConnectionLimitingDataSourceUnitTest {
+
+    private final DataSource target = mock(DataSource.class);
+    private final ConnectionLimitingDataSource dataSource =
+            new ConnectionLimitingDataSource("dataSource", target, 1, Duration.ofMillis(50));
+
+    @Test
+    void borrower_waits_for_a_permit_and_times_out() throws SQLException {
+        when(target.getConnection()).thenReturn(mock(Connection.class));
+
+        dataSource.getConnection();
+
+        assertThatThrownBy(dataSource::getConnection)
+                .isInstanceOf(SQLTransientConnectionException.class);
+        verify(target, times(1)).getConnection();
+    }
+
+    @Test
+    void closing_the_connection_returns_the_permit_once() throws SQLException {
+        Connection connection = mock(Connection.class);
+        when(target.getConnection()).thenReturn(connection);
+
+        Connection borrowed = dataSource.getConnection();
+        borrowed.close();
+        borrowed.close();
+
+        assertThat(dataSource.availablePermits()).isEqualTo(1);
+        verify(connection, times(2)).close();
+    }
+
+    @Test
+    void failed_borrow_returns_the_permit() throws SQLException {
+        when(target.getConnection()).thenThrow(new SQLException("pool exhausted"));
+
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLException.class);
+
+        assertThat(dataSource.availablePermits()).isEqualTo(1);
+    }
+}
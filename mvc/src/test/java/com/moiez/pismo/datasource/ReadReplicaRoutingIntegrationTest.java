@@ -0,0 +1,88 @@
+package com.moiez.pismo.datasource;
+
+import com.moiez.pismo.model.Account;
+import com.moiez.pismo.repository.AccountRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The replica is a second pool on the same in-memory database, i.e. a replica without lag.
+ */
+@SpringBootTest(properties = {
+        "pismo.datasource.replica.jdbc-url=jdbc:h2:mem:testdb",
+        "pismo.datasource.replica.username=sa",
+        "pismo.datasource.replica.pool-name=replica",
+        "pismo.datasource.replica.maximum-pool-size=2"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReadReplicaRoutingIntegrationTest {
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    @AfterEach
+    void cleanDatabase() {
+        accountRepository.deleteAll();
+    }
+
+    @Test
+    void read_only_transactions_use_the_replica_pool() {
+        Account account = accountRepository.save(Account.builder()
+                .idempotencyKey("idem-account")
+                .documentNumber("123")
+                .build());
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readOnly.executeWithoutResult(status -> {
+            assertThat(accountRepository.findById(account.getId())).isPresent();
+            assertThat(activeConnections(replicaDataSource)).isEqualTo(1);
+            assertThat(activeConnections(primaryDataSource)).isZero();
+        });
+    }
+
+    @Test
+    void read_write_transactions_use_the_primary_pool() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            accountRepository.saveAndFlush(Account.builder()
+                    .idempotencyKey("idem-account")
+                    .documentNumber("123")
+                    .build());
+            assertThat(activeConnections(primaryDataSource)).isEqualTo(1);
+            assertThat(activeConnections(replicaDataSource)).isZero();
+        });
+    }
+
+    private static int activeConnections(DataSource dataSource) {
+        try {
+            HikariDataSource pool = dataSource.unwrap(HikariDataSource.class);
+            return pool.getHikariPoolMXBean() == null ? 0 : pool.getHikariPoolMXBean().getActiveConnections();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.moiez.pismo.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.mockito.Mockito.*;
+
+class ReadWriteRoutingDataSourceUnitTest {
+
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource replica = mock(DataSource.class);
+    private final ReadWriteRoutingDataSource dataSource = new ReadWriteRoutingDataSource(primary, replica);
+
+    @AfterEach
+    void resetReadOnly() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void read_only_transactions_borrow_from_the_replica() throws SQLException {
+        when(replica.getConnection()).thenReturn(mock(Connection.class));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        dataSource.getConnection();
+
+        verify(replica).getConnection();
+        verifyNoInteractions(primary);
+    }
+
+    @Test
+    void other_connections_borrow_from_the_primary() throws SQLException {
+        when(primary.getConnection()).thenReturn(mock(Connection.class));
+
+        dataSource.getConnection();
+
+        verify(primary).getConnection();
+        verifyNoInteractions(replica);
+    }
+
+    @Test
+    void lazy_proxy_routes_on_first_statement_not_on_borrow() throws SQLException {
+        Connection connection = mock(Connection.class);
+        when(primary.getConnection()).thenReturn(connection);
+        when(replica.getConnection()).thenReturn(connection);
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(dataSource);
+        clearInvocations(primary);
+
+        // Borrowed when the transaction begins, before it is marked read-only
+        Connection borrowed = proxy.getConnection();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        borrowed.createStatement();
+
+        verify(replica).getConnection();
+        verify(primary, never()).getConnection();
+    }
+}
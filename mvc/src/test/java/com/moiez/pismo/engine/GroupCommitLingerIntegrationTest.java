@@ -0,0 +1,100 @@
+package com.moiez.pismo.engine;
+
+import com.moiez.pismo.api.dto.request.CreateTransactionRequest;
+import com.moiez.pismo.api.dto.response.AccountResponse;
+import com.moiez.pismo.api.dto.response.TransactionResponse;
+import com.moiez.pismo.cache.IdempotencyStore;
+import com.moiez.pismo.model.Account;
+import com.moiez.pismo.model.Money;
+import com.moiez.pismo.model.OperationType;
+import com.moiez.pismo.repository.AccountRepository;
+import com.moiez.pismo.repository.TransactionRepository;
+import com.moiez.pismo.service.TransactionService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * With a long linger the single shard waits for a full batch, so requests that arrive
+ * one after another are still committed together.
+ */
+@SpringBootTest(properties = {
+        "pismo.engine.enabled=true",
+        "pismo.engine.shards=1",
+        "pismo.engine.max-batch-size=" + GroupCommitLingerIntegrationTest.REQUESTS,
+        "pismo.engine.max-linger=5s"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class GroupCommitLingerIntegrationTest {
+
+    static final int REQUESTS = 5;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private IdempotencyStore<AccountResponse> accountIdempotencyStore;
+
+    @Autowired
+    private IdempotencyStore<TransactionResponse> transactionIdempotencyStore;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    @AfterEach
+    void cleanDatabase() {
+        transactionRepository.deleteAll();
+        accountRepository.deleteAll();
+        accountIdempotencyStore.clear();
+        transactionIdempotencyStore.clear();
+    }
+
+    @Test
+    void staggered_requests_are_committed_as_one_group() throws InterruptedException {
+        Account account = accountRepository.save(Account.builder()
+                .idempotencyKey("idem-account")
+                .documentNumber("123")
+                .build());
+        DistributionSummary batchSizes = meterRegistry.get("pismo.engine.batch.size").summary();
+        long groupsBefore = batchSizes.count();
+        ExecutorService executor = Executors.newFixedThreadPool(REQUESTS);
+
+        List<CompletableFuture<TransactionResponse>> requests = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            String key = "idem-" + i;
+            requests.add(CompletableFuture.supplyAsync(() -> transactionService.createTransaction(
+                    new CreateTransactionRequest(account.getId(), OperationType.PAYMENT, Money.parse("1")), key),
+                    executor));
+            Thread.sleep(20);
+        }
+        requests.forEach(CompletableFuture::join);
+        executor.shutdown();
+
+        assertEquals(1, batchSizes.count() - groupsBefore);
+        assertEquals(REQUESTS, transactionRepository.count());
+        Account updated = accountRepository.findById(account.getId()).orElseThrow();
+        assertThat(updated.getBalance()).isEqualByComparingTo(Money.parse(String.valueOf(REQUESTS)));
+    }
+}
@@ -0,0 +1,89 @@
+package com.moiez.pismo.engine;
+
+import com.moiez.pismo.logging.RequestSamplingTurboFilter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class GroupCommitWorkerUnitTest {
+
+    private final GroupCommitWorker worker = new GroupCommitWorker(
+            "test-shard",
+            16,
+            16,
+            Duration.ZERO,
+            new TransactionTemplate(mock(PlatformTransactionManager.class)),
+            DistributionSummary.builder("test.batch.size").register(new SimpleMeterRegistry()));
+
+    @AfterEach
+    void stopWorker() throws InterruptedException {
+        worker.stop();
+    }
+
+    @Test
+    void group_is_applied_in_ascending_account_order_keeping_arrival_order_per_account() throws Exception {
+        List<String> applied = new CopyOnWriteArrayList<>();
+        List<PendingWork<String>> submitted = List.of(
+                work(3, "3a", applied),
+                work(1, "1a", applied),
+                work(2, "2a", applied),
+                work(1, "1b", applied),
+                work(3, "3b", applied));
+        // Queued before the thread starts, so they are all drained as one group
+        for (PendingWork<String> pending : submitted) {
+            worker.submit(pending);
+        }
+
+        worker.start();
+        CompletableFuture.allOf(submitted.stream().map(PendingWork::future).toArray(CompletableFuture[]::new)).join();
+
+        assertThat(applied).containsExactly("1a", "1b", "2a", "3a", "3b");
+    }
+
+    @Test
+    void work_runs_with_the_submitting_thread_mdc() throws Exception {
+        PendingWork<String> pending;
+        MDC.put(RequestSamplingTurboFilter.SAMPLED_KEY, "false");
+        try {
+            pending = new PendingWork<>(1, () -> MDC.get(RequestSamplingTurboFilter.SAMPLED_KEY));
+        } finally {
+            MDC.remove(RequestSamplingTurboFilter.SAMPLED_KEY);
+        }
+
+        worker.start();
+        worker.submit(pending);
+
+        assertThat(pending.future().get(5, TimeUnit.SECONDS)).isEqualTo("false");
+    }
+
+    @Test
+    void work_submitted_after_stop_fails_instead_of_waiting_forever() throws Exception {
+        worker.start();
+        worker.stop();
+
+        PendingWork<String> late = work(1, "late", new CopyOnWriteArrayList<>());
+        worker.submit(late);
+
+        assertThat(late.future()).isCompletedExceptionally();
+    }
+
+    private static PendingWork<String> work(long accountId, String label, List<String> applied) {
+        return new PendingWork<>(accountId, () -> {
+            applied.add(label);
+            return label;
+        });
+    }
+}
@@ -0,0 +1,124 @@
+package com.moiez.pismo.engine;
+
+import com.moiez.pismo.api.dto.request.CreateTransactionRequest;
+import com.moiez.pismo.api.dto.response.AccountResponse;
+import com.moiez.pismo.api.dto.response.TransactionResponse;
+import com.moiez.pismo.cache.IdempotencyStore;
+import com.moiez.pismo.exception.BadRequestException;
+import com.moiez.pismo.model.Account;
+import com.moiez.pismo.model.Money;
+import com.moiez.pismo.model.OperationType;
+import com.moiez.pismo.repository.AccountRepository;
+import com.moiez.pismo.repository.TransactionRepository;
+import com.moiez.pismo.service.TransactionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.moiez.pismo.constant.ErrorConstants.INSUFFICIENT_FUNDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = {
+        "pismo.engine.enabled=true",
+        "pismo.engine.shards=2"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ShardedTransactionEngineIntegrationTest {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private IdempotencyStore<AccountResponse> accountIdempotencyStore;
+
+    @Autowired
+    private IdempotencyStore<TransactionResponse> transactionIdempotencyStore;
+
+    @BeforeEach
+    @AfterEach
+    void cleanDatabase() {
+        transactionRepository.deleteAll();
+        accountRepository.deleteAll();
+        accountIdempotencyStore.clear();
+        transactionIdempotencyStore.clear();
+    }
+
+    @Test
+    void concurrent_debits_never_overdraw_the_account() throws InterruptedException {
+        Account account = createAccount(Money.parse("100"));
+
+        int requests = 30;
+        ExecutorService executor = Executors.newFixedThreadPool(10);
+        CountDownLatch latch = new CountDownLatch(requests);
+        AtomicInteger successCount = new AtomicInteger();
+        AtomicInteger rejectedCount = new AtomicInteger();
+
+        for (int i = 0; i < requests; i++) {
+            String key = "idem-" + i;
+            executor.submit(() -> {
+                try {
+                    transactionService.createTransaction(debit(account.getId(), Money.parse("10")), key);
+                    successCount.incrementAndGet();
+                } catch (BadRequestException e) {
+                    rejectedCount.incrementAndGet();
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+        executor.shutdown();
+
+        Account updated = accountRepository.findById(account.getId()).orElseThrow();
+        assertThat(updated.getBalance()).isEqualByComparingTo(Money.ZERO);
+        assertEquals(10, successCount.get());
+        assertEquals(20, rejectedCount.get());
+        assertEquals(10, transactionRepository.count());
+    }
+
+    @Test
+    void rejection_and_replay_are_reported_per_request() {
+        Account account = createAccount(Money.parse("100"));
+
+        transactionService.createTransaction(debit(account.getId(), Money.parse("60")), "idem-1");
+        transactionService.createTransaction(debit(account.getId(), Money.parse("60")), "idem-1");
+
+        assertThatThrownBy(() ->
+                transactionService.createTransaction(debit(account.getId(), Money.parse("60")), "idem-2"))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage(INSUFFICIENT_FUNDS);
+
+        Account updated = accountRepository.findById(account.getId()).orElseThrow();
+        assertThat(updated.getBalance()).isEqualByComparingTo(Money.parse("40"));
+        assertEquals(1, transactionRepository.count());
+    }
+
+    private Account createAccount(Money balance) {
+        return accountRepository.save(Account.builder()
+                .idempotencyKey("idem-account")
+                .documentNumber("123")
+                .balance(balance)
+                .build());
+    }
+
+    private CreateTransactionRequest debit(Long accountId, Money amount) {
+        return new CreateTransactionRequest(accountId, OperationType.CASH_PURCHASE, amount);
+    }
+}
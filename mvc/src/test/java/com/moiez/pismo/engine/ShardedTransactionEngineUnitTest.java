@@ -0,0 +1,80 @@
+package com.moiez.pismo.engine;
+
+import com.moiez.pismo.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.moiez.pismo.constant.ErrorConstants.TRANSACTION_NOT_CONFIRMED;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class ShardedTransactionEngineUnitTest {
+
+    @Test
+    void execute_after_stop_fails_immediately() throws InterruptedException {
+        ShardedTransactionEngine engine = new ShardedTransactionEngine(
+                new EngineProperties(true, 2, 64, 100, Duration.ZERO, Duration.ofSeconds(30)),
+                mock(PlatformTransactionManager.class),
+                new SimpleMeterRegistry());
+        engine.start();
+        engine.stop();
+
+        assertThatThrownBy(() -> engine.execute(1L, () -> "late"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage(ShardedTransactionEngine.SHUTTING_DOWN);
+    }
+
+    @Test
+    void commit_timeout_is_service_unavailable_and_withdraws_work_the_shard_has_not_started()
+            throws Exception {
+        ShardedTransactionEngine engine = new ShardedTransactionEngine(
+                new EngineProperties(true, 1, 1, 100, Duration.ZERO, Duration.ofMillis(200)),
+                mock(PlatformTransactionManager.class),
+                new SimpleMeterRegistry());
+        engine.start();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean queuedWorkRan = new AtomicBoolean();
+        try {
+            // Keeps the only shard busy past the commit timeout
+            CompletableFuture<String> blocking = CompletableFuture.supplyAsync(() -> engine.execute(1L, () -> {
+                started.countDown();
+                await(release);
+                return "blocking";
+            }));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            assertThatThrownBy(() -> engine.execute(2L, () -> {
+                queuedWorkRan.set(true);
+                return "queued";
+            }))
+                    .isInstanceOf(ServiceUnavailableException.class)
+                    .hasMessage(TRANSACTION_NOT_CONFIRMED);
+
+            release.countDown();
+            assertThatThrownBy(blocking::join).hasCauseInstanceOf(ServiceUnavailableException.class);
+            // The shard has moved past the withdrawn work once it runs anything queued after it
+            assertThat(engine.execute(3L, () -> "after")).isEqualTo("after");
+            assertThat(queuedWorkRan).isFalse();
+        } finally {
+            release.countDown();
+            engine.stop();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
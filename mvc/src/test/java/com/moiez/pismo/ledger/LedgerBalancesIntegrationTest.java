@@ -0,0 +1,254 @@
+package com.moiez.pismo.ledger;
+
+import com.moiez.pismo.api.dto.request.BatchTransactionItem;
+import com.moiez.pismo.api.dto.request.CreateAccountRequest;
+import com.moiez.pismo.api.dto.request.CreateTransactionRequest;
+import com.moiez.pismo.api.dto.response.AccountResponse;
+import com.moiez.pismo.api.dto.response.BatchItemStatus;
+import com.moiez.pismo.api.dto.response.BatchTransactionItemResponse;
+import com.moiez.pismo.api.dto.response.TransactionResponse;
+import com.moiez.pismo.cache.IdempotencyStore;
+import com.moiez.pismo.exception.BadRequestException;
+import com.moiez.pismo.model.BalanceSnapshot;
+import com.moiez.pismo.model.Money;
+import com.moiez.pismo.model.OperationType;
+import com.moiez.pismo.model.Transaction;
+import com.moiez.pismo.repository.AccountRepository;
+import com.moiez.pismo.repository.BalanceSnapshotRepository;
+import com.moiez.pismo.repository.TransactionRepository;
+import com.moiez.pismo.service.AccountService;
+import com.moiez.pismo.service.TransactionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.moiez.pismo.constant.ErrorConstants.ACCOUNT_NOT_FOUND;
+import static com.moiez.pismo.constant.ErrorConstants.INSUFFICIENT_FUNDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "pismo.balance.mode=LEDGER",
+        "pismo.balance.snapshot-interval=1h"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class LedgerBalancesIntegrationTest {
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BalanceSnapshotter snapshotter;
+
+    @Autowired
+    private LedgerBalances ledgerBalances;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private BalanceSnapshotRepository snapshotRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private IdempotencyStore<AccountResponse> accountIdempotencyStore;
+
+    @Autowired
+    private IdempotencyStore<TransactionResponse> transactionIdempotencyStore;
+
+    @BeforeEach
+    @AfterEach
+    void cleanDatabase() {
+        snapshotRepository.deleteAll();
+        transactionRepository.deleteAll();
+        accountRepository.deleteAll();
+        ledgerBalances.clear();
+        accountIdempotencyStore.clear();
+        transactionIdempotencyStore.clear();
+    }
+
+    @Test
+    void transactions_are_appended_without_touching_the_account_row() {
+        Long accountId = createAccount();
+
+        transactionService.createTransaction(request(accountId, OperationType.PAYMENT, "100.00"), "idem-1");
+        transactionService.createTransaction(request(accountId, OperationType.WITHDRAWAL, "30.00"), "idem-2");
+
+        assertThat(accountRepository.findById(accountId).orElseThrow().getBalance())
+                .isEqualByComparingTo(Money.ZERO);
+        assertThat(accountService.getAccount(accountId).balance())
+                .isEqualByComparingTo(Money.parse("70.00"));
+    }
+
+    @Test
+    void debit_beyond_available_funds_is_rejected() {
+        Long accountId = createAccount();
+        transactionService.createTransaction(request(accountId, OperationType.PAYMENT, "50.00"), "idem-1");
+
+        assertThatThrownBy(() -> transactionService.createTransaction(
+                request(accountId, OperationType.CASH_PURCHASE, "50.01"), "idem-2"))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage(INSUFFICIENT_FUNDS);
+        assertThat(transactionRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void debit_is_checked_against_the_database_not_the_balance_this_instance_last_saw() {
+        Long accountId = createAccount();
+        transactionService.createTransaction(request(accountId, OperationType.PAYMENT, "50.00"), "idem-1");
+        transactionService.createTransaction(request(accountId, OperationType.WITHDRAWAL, "10.00"), "idem-2");
+
+        // Another instance spends the rest
+        transactionRepository.save(Transaction.builder()
+                .idempotencyKey("idem-other-instance")
+                .account(accountRepository.getReferenceById(accountId))
+                .operationType(OperationType.WITHDRAWAL)
+                .amount(Money.parse("-40.00"))
+                .build());
+
+        assertThatThrownBy(() -> transactionService.createTransaction(
+                request(accountId, OperationType.WITHDRAWAL, "10.00"), "idem-3"))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage(INSUFFICIENT_FUNDS);
+        assertThat(accountService.getAccount(accountId).balance()).isEqualByComparingTo(Money.ZERO);
+    }
+
+    @Test
+    void debits_in_one_batch_are_checked_against_each_other() {
+        Long accountId = createAccount();
+        transactionService.createTransaction(request(accountId, OperationType.PAYMENT, "50.00"), "idem-1");
+
+        List<BatchTransactionItemResponse> results = transactionService.createTransactions(List.of(
+                new BatchTransactionItem("idem-2", request(accountId, OperationType.WITHDRAWAL, "30.00")),
+                new BatchTransactionItem("idem-3", request(accountId, OperationType.WITHDRAWAL, "30.00")))).results();
+
+        assertThat(results).extracting(BatchTransactionItemResponse::status)
+                .containsExactly(BatchItemStatus.CREATED, BatchItemStatus.REJECTED);
+        assertThat(accountService.getAccount(accountId).balance()).isEqualByComparingTo(Money.parse("20.00"));
+    }
+
+    @Test
+    void transaction_for_unknown_account_is_rejected() {
+        assertThatThrownBy(() -> transactionService.createTransaction(
+                request(999_999L, OperationType.PAYMENT, "10.00"), "idem-1"))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage(ACCOUNT_NOT_FOUND);
+    }
+
+    @Test
+    void balance_is_derived_from_snapshot_plus_later_transactions() {
+        Long accountId = createAccount();
+        transactionService.createTransaction(request(accountId, OperationType.PAYMENT, "100.00"), "idem-1");
+        transactionService.createTransaction(request(accountId, OperationType.WITHDRAWAL, "25.00"), "idem-2");
+
+        assertThat(snapshotter.snapshot()).isEqualTo(1);
+        BalanceSnapshot snapshot = snapshotRepository.findById(accountId).orElseThrow();
+        assertThat(snapshot.getBalance()).isEqualByComparingTo(Money.parse("75.00"));
+
+        transactionService.createTransaction(request(accountId, OperationType.PAYMENT, "5.00"), "idem-3");
+        assertThat(snapshotter.snapshot()).isEqualTo(1);
+        assertThat(snapshotter.snapshot()).isZero();
+
+        transactionService.createTransaction(request(accountId, OperationType.CASH_PURCHASE, "10.00"), "idem-4");
+        assertThat(snapshotRepository.findById(accountId).orElseThrow().getBalance())
+                .isEqualByComparingTo(Money.parse("80.00"));
+        assertThat(accountService.getAccount(accountId).balance())
+                .isEqualByComparingTo(Money.parse("70.00"));
+        assertThat(ledgerBalances.postedBalance(accountId))
+                .isEqualByComparingTo(transactionRepository.findAll().stream()
+                        .map(t -> t.getAmount())
+                        .reduce(Money.ZERO, Money::plus));
+    }
+
+    @Test
+    void transaction_committing_after_a_snapshot_run_is_folded_into_the_next_one() throws Exception {
+        Long accountId = createAccount();
+        transactionService.createTransaction(request(accountId, OperationType.PAYMENT, "100.00"), "idem-1");
+        CountDownLatch inserted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // Created, and stamped, before the snapshot run below, but committed after it
+        CompletableFuture<Void> late = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            transactionService.createTransaction(request(accountId, OperationType.PAYMENT, "5.00"), "idem-late");
+            transactionRepository.flush();
+            inserted.countDown();
+            awaitQuietly(release);
+        }));
+        inserted.await();
+        assertThat(snapshotter.snapshot()).isEqualTo(1);
+        release.countDown();
+        late.join();
+
+        assertThat(accountService.getAccount(accountId).balance()).isEqualByComparingTo(Money.parse("105.00"));
+        assertThat(snapshotter.snapshot()).isEqualTo(1);
+        assertThat(snapshotRepository.findById(accountId).orElseThrow().getBalance())
+                .isEqualByComparingTo(Money.parse("105.00"));
+        assertThat(accountService.getAccount(accountId).balance()).isEqualByComparingTo(Money.parse("105.00"));
+    }
+
+    @Test
+    void concurrent_debits_never_overdraw_the_account() throws InterruptedException {
+        Long accountId = createAccount();
+        transactionService.createTransaction(request(accountId, OperationType.PAYMENT, "100.00"), "idem-credit");
+
+        int requests = 30;
+        ExecutorService executor = Executors.newFixedThreadPool(10);
+        CountDownLatch latch = new CountDownLatch(requests);
+        AtomicInteger successCount = new AtomicInteger();
+
+        for (int i = 0; i < requests; i++) {
+            String key = "idem-" + i;
+            executor.submit(() -> {
+                try {
+                    transactionService.createTransaction(
+                            request(accountId, OperationType.WITHDRAWAL, "10.00"), key);
+                    successCount.incrementAndGet();
+                } catch (BadRequestException ignored) {
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+        executor.shutdown();
+
+        assertThat(successCount.get()).isEqualTo(10);
+        assertThat(accountService.getAccount(accountId).balance()).isEqualByComparingTo(Money.ZERO);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Long createAccount() {
+        return accountService.createAccount(new CreateAccountRequest("12345678900"), "idem-account").id();
+    }
+
+    private CreateTransactionRequest request(Long accountId, OperationType type, String amount) {
+        return new CreateTransactionRequest(accountId, type, Money.parse(amount));
+    }
+}
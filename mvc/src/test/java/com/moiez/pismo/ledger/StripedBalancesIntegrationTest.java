@@ -0,0 +1,189 @@
+package com.moiez.pismo.ledger;
+
+import com.moiez.pismo.api.dto.request.BatchTransactionItem;
+import com.moiez.pismo.api.dto.request.CreateAccountRequest;
+import com.moiez.pismo.api.dto.request.CreateTransactionRequest;
+import com.moiez.pismo.api.dto.response.AccountResponse;
+import com.moiez.pismo.api.dto.response.BatchItemStatus;
+import com.moiez.pismo.api.dto.response.BatchTransactionItemResponse;
+import com.moiez.pismo.api.dto.response.BatchTransactionResponse;
+import com.moiez.pismo.api.dto.response.TransactionResponse;
+import com.moiez.pismo.cache.IdempotencyStore;
+import com.moiez.pismo.exception.BadRequestException;
+import com.moiez.pismo.model.AccountStripe;
+import com.moiez.pismo.model.Money;
+import com.moiez.pismo.model.OperationType;
+import com.moiez.pismo.repository.AccountRepository;
+import com.moiez.pismo.repository.AccountStripeRepository;
+import com.moiez.pismo.repository.TransactionRepository;
+import com.moiez.pismo.service.AccountService;
+import com.moiez.pismo.service.TransactionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.moiez.pismo.constant.ErrorConstants.INSUFFICIENT_FUNDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(properties = {
+        "pismo.striping.enabled=true",
+        "pismo.striping.stripes=4"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StripedBalancesIntegrationTest {
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    // Account ids are generated, so the striped ones are picked per test
+    @SpyBean
+    private StripingProperties stripingProperties;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountStripeRepository stripeRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private IdempotencyStore<AccountResponse> accountIdempotencyStore;
+
+    @Autowired
+    private IdempotencyStore<TransactionResponse> transactionIdempotencyStore;
+
+    private final Set<Long> stripedAccounts = new HashSet<>();
+
+    @BeforeEach
+    @AfterEach
+    void cleanDatabase() {
+        transactionRepository.deleteAll();
+        stripeRepository.deleteAll();
+        accountRepository.deleteAll();
+        accountIdempotencyStore.clear();
+        transactionIdempotencyStore.clear();
+        stripedAccounts.clear();
+        when(stripingProperties.accounts()).thenReturn(stripedAccounts);
+    }
+
+    @Test
+    void first_credit_goes_to_the_account_row_and_creates_the_stripes() {
+        Long accountId = createStripedAccount();
+
+        transactionService.createTransaction(request(accountId, OperationType.PAYMENT, "10.00"), "idem-1");
+
+        assertThat(accountRepository.findById(accountId).orElseThrow().getBalance())
+                .isEqualByComparingTo(Money.parse("10.00"));
+        assertThat(stripeRepository.findAll())
+                .hasSize(4)
+                .allSatisfy(stripe -> assertThat(stripe.getBalance()).isEqualByComparingTo(Money.ZERO));
+    }
+
+    @Test
+    void concurrent_credits_land_on_the_stripes_and_reads_sum_them() throws InterruptedException {
+        Long accountId = createStripedAccount();
+        transactionService.createTransaction(request(accountId, OperationType.PAYMENT, "1.00"), "idem-first");
+
+        int requests = 40;
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch latch = new CountDownLatch(requests);
+        for (int i = 0; i < requests; i++) {
+            String key = "idem-" + i;
+            executor.submit(() -> {
+                try {
+                    transactionService.createTransaction(request(accountId, OperationType.PAYMENT, "1.00"), key);
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+        executor.shutdown();
+
+        assertThat(accountRepository.findById(accountId).orElseThrow().getBalance())
+                .isEqualByComparingTo(Money.parse("1.00"));
+        assertThat(stripeRepository.findAll().stream().map(AccountStripe::getBalance).reduce(Money.ZERO, Money::plus))
+                .isEqualByComparingTo(Money.parse("40.00"));
+        assertThat(accountService.getAccount(accountId).balance()).isEqualByComparingTo(Money.parse("41.00"));
+    }
+
+    @Test
+    void debit_borrows_across_stripes_and_folds_them_into_the_account_row() {
+        Long accountId = createStripedAccount();
+        for (int i = 0; i < 10; i++) {
+            transactionService.createTransaction(request(accountId, OperationType.PAYMENT, "5.00"), "idem-" + i);
+        }
+
+        transactionService.createTransaction(request(accountId, OperationType.WITHDRAWAL, "42.00"), "idem-debit");
+
+        assertThat(accountRepository.findById(accountId).orElseThrow().getBalance())
+                .isEqualByComparingTo(Money.parse("8.00"));
+        assertThat(stripeRepository.findAll())
+                .allSatisfy(stripe -> assertThat(stripe.getBalance()).isEqualByComparingTo(Money.ZERO));
+        assertThat(accountService.getAccount(accountId).balance()).isEqualByComparingTo(Money.parse("8.00"));
+    }
+
+    @Test
+    void batch_keeps_credits_that_follow_a_debit_on_the_stripes() {
+        Long accountId = createStripedAccount();
+        for (int i = 0; i < 10; i++) {
+            transactionService.createTransaction(request(accountId, OperationType.PAYMENT, "5.00"), "idem-" + i);
+        }
+
+        BatchTransactionResponse response = transactionService.createTransactions(List.of(
+                new BatchTransactionItem("idem-debit-1", request(accountId, OperationType.WITHDRAWAL, "10.00")),
+                new BatchTransactionItem("idem-credit", request(accountId, OperationType.PAYMENT, "7.00")),
+                new BatchTransactionItem("idem-debit-2", request(accountId, OperationType.WITHDRAWAL, "30.00"))));
+
+        assertThat(response.results())
+                .extracting(BatchTransactionItemResponse::status)
+                .containsOnly(BatchItemStatus.CREATED);
+        assertThat(accountService.getAccount(accountId).balance()).isEqualByComparingTo(Money.parse("17.00"));
+        assertThat(accountRepository.findById(accountId).orElseThrow().getBalance())
+                .isEqualByComparingTo(Money.parse("17.00"));
+    }
+
+    @Test
+    void debit_beyond_the_summed_balance_is_rejected() {
+        Long accountId = createStripedAccount();
+        for (int i = 0; i < 4; i++) {
+            transactionService.createTransaction(request(accountId, OperationType.PAYMENT, "5.00"), "idem-" + i);
+        }
+
+        assertThatThrownBy(() -> transactionService.createTransaction(
+                request(accountId, OperationType.CASH_PURCHASE, "20.01"), "idem-debit"))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage(INSUFFICIENT_FUNDS);
+        assertThat(accountService.getAccount(accountId).balance()).isEqualByComparingTo(Money.parse("20.00"));
+        assertThat(transactionRepository.count()).isEqualTo(4);
+    }
+
+    private Long createStripedAccount() {
+        Long accountId = accountService.createAccount(new CreateAccountRequest("12345678900"), "idem-account").id();
+        stripedAccounts.add(accountId);
+        return accountId;
+    }
+
+    private CreateTransactionRequest request(Long accountId, OperationType type, String amount) {
+        return new CreateTransactionRequest(accountId, type, Money.parse(amount));
+    }
+}
@@ -0,0 +1,74 @@
+package com.moiez.pismo.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class RequestSamplingTurboFilterUnitTest {
+
+    private final LoggerContext context = new LoggerContext();
+    private final Logger applicationLogger = context.getLogger("com.moiez.pismo.service.TransactionService");
+    private final Logger frameworkLogger = context.getLogger("org.hibernate.SQL");
+    private final RequestSamplingTurboFilter filter = new RequestSamplingTurboFilter();
+
+    @AfterEach
+    void clearMdc() {
+        MDC.clear();
+    }
+
+    @Test
+    void unsampled_requests_drop_application_info_logging() {
+        MDC.put(RequestSamplingTurboFilter.SAMPLED_KEY, "false");
+
+        assertEquals(FilterReply.DENY, decide(applicationLogger, Level.INFO));
+        assertEquals(FilterReply.DENY, decide(applicationLogger, Level.DEBUG));
+    }
+
+    @Test
+    void unsampled_requests_keep_warnings_and_framework_logging() {
+        MDC.put(RequestSamplingTurboFilter.SAMPLED_KEY, "false");
+
+        assertEquals(FilterReply.NEUTRAL, decide(applicationLogger, Level.WARN));
+        assertEquals(FilterReply.NEUTRAL, decide(applicationLogger, Level.ERROR));
+        assertEquals(FilterReply.NEUTRAL, decide(frameworkLogger, Level.INFO));
+    }
+
+    @Test
+    void sampled_requests_and_background_work_keep_everything() {
+        assertEquals(FilterReply.NEUTRAL, decide(applicationLogger, Level.INFO));
+
+        MDC.put(RequestSamplingTurboFilter.SAMPLED_KEY, "true");
+        assertEquals(FilterReply.NEUTRAL, decide(applicationLogger, Level.INFO));
+    }
+
+    @Test
+    void sampling_filter_marks_the_request_and_clears_the_mdc_afterwards() throws Exception {
+        AtomicReference<String> seen = new AtomicReference<>();
+        FilterChain chain = (request, response) -> seen.set(MDC.get(RequestSamplingTurboFilter.SAMPLED_KEY));
+
+        new LogSamplingFilter(new LoggingProperties(0.0))
+                .doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), chain);
+        assertEquals("false", seen.get());
+        assertNull(MDC.get(RequestSamplingTurboFilter.SAMPLED_KEY));
+
+        new LogSamplingFilter(new LoggingProperties(1.0))
+                .doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), chain);
+        assertEquals("true", seen.get());
+    }
+
+    private FilterReply decide(Logger logger, Level level) {
+        return filter.decide(null, logger, level, "message", null, null);
+    }
+}
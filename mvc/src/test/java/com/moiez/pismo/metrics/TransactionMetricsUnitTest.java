@@ -0,0 +1,88 @@
+package com.moiez.pismo.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TransactionMetricsUnitTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final TransactionMetrics metrics = new TransactionMetrics(registry);
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        List.copyOf(TransactionSynchronizationManager.getResourceMap().keySet())
+                .forEach(TransactionSynchronizationManager::unbindResourceIfPossible);
+    }
+
+    @Test
+    void stage_timers_record_the_wrapped_call() {
+        String result = metrics.recordInsert(() -> "saved");
+
+        assertThat(result).isEqualTo("saved");
+        assertThat(registry.get("pismo.transaction.stage").tag("stage", "insert").timer().count())
+                .isEqualTo(1);
+        assertThat(registry.get("pismo.transaction.stage").tag("stage", "idempotency_lookup").timer().count())
+                .isZero();
+    }
+
+    @Test
+    void commit_is_timed_only_once_the_transaction_commits() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        metrics.recordCommit();
+        assertThat(registry.get("pismo.transaction.stage").tag("stage", "commit").timer().count()).isZero();
+
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.beforeCommit(false);
+            synchronization.afterCommit();
+        }
+        assertThat(registry.get("pismo.transaction.stage").tag("stage", "commit").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void commit_is_timed_once_per_transaction_however_many_items_it_holds() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        metrics.recordCommit();
+        metrics.recordCommit();
+        metrics.recordCommit();
+        assertThat(TransactionSynchronizationManager.getSynchronizations()).hasSize(1);
+
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.beforeCommit(false);
+            synchronization.afterCommit();
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+        assertThat(registry.get("pismo.transaction.stage").tag("stage", "commit").timer().count()).isEqualTo(1);
+
+        // The next transaction on this thread is timed again
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.initSynchronization();
+        metrics.recordCommit();
+        assertThat(TransactionSynchronizationManager.getSynchronizations()).hasSize(1);
+    }
+
+    @Test
+    void replays_are_counted_per_source() {
+        assertThat(registry.get("pismo.transaction.replays").counters()).hasSize(2);
+
+        metrics.replay(TransactionMetrics.REPLAY_FROM_CACHE);
+        metrics.replay(TransactionMetrics.REPLAY_FROM_CACHE);
+        metrics.replay(TransactionMetrics.REPLAY_FROM_DATABASE);
+
+        assertThat(registry.get("pismo.transaction.replays").tag("source", "cache").counter().count())
+                .isEqualTo(2);
+        assertThat(registry.get("pismo.transaction.replays").tag("source", "database").counter().count())
+                .isEqualTo(1);
+    }
+}
@@ -0,0 +1,186 @@
+package com.moiez.pismo.outbox;
+
+import com.moiez.pismo.api.dto.request.CreateTransactionRequest;
+import com.moiez.pismo.api.dto.response.AccountResponse;
+import com.moiez.pismo.api.dto.response.TransactionResponse;
+import com.moiez.pismo.cache.IdempotencyStore;
+import com.moiez.pismo.constant.ApiConstants;
+import com.moiez.pismo.exception.BadRequestException;
+import com.moiez.pismo.model.Account;
+import com.moiez.pismo.model.Money;
+import com.moiez.pismo.model.OperationType;
+import com.moiez.pismo.model.OutboxEvent;
+import com.moiez.pismo.repository.AccountRepository;
+import com.moiez.pismo.repository.OutboxEventRepository;
+import com.moiez.pismo.repository.TransactionRepository;
+import com.moiez.pismo.service.TransactionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Other test contexts share the database and run their own relays, so events may be
+ * numbered by any of them; assertions only rely on the order of the positions.
+ */
+@SpringBootTest(properties = {
+        // Relayed by hand below
+        "pismo.outbox.relay-interval=1h"
+})
+@AutoConfigureMockMvc
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TransactionOutboxIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private OutboxRelay relay;
+
+    @Autowired
+    private TransactionEventStream stream;
+
+    @Autowired
+    private OutboxEventRepository outboxRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private IdempotencyStore<AccountResponse> accountIdempotencyStore;
+
+    @Autowired
+    private IdempotencyStore<TransactionResponse> transactionIdempotencyStore;
+
+    @BeforeEach
+    @AfterEach
+    void cleanDatabase() {
+        transactionRepository.deleteAll();
+        accountRepository.deleteAll();
+        accountIdempotencyStore.clear();
+        transactionIdempotencyStore.clear();
+    }
+
+    @Test
+    void relay_numbers_committed_transactions_in_order() {
+        Account account = createAccount(Money.parse("100"));
+        long head = stream.head();
+        List<Long> transactionIds = createTransactions(account, 3);
+
+        relay.relay();
+
+        List<OutboxEvent> events = eventsAfter(head, transactionIds);
+        assertThat(events).extracting(OutboxEvent::getTransactionId).containsExactlyElementsOf(transactionIds);
+        assertThat(events).extracting(OutboxEvent::getPublishedAt).doesNotContainNull();
+        assertThat(stream.head()).isGreaterThanOrEqualTo(events.get(2).getPosition());
+    }
+
+    @Test
+    void rejected_transaction_writes_no_event() {
+        Account account = createAccount(Money.ZERO);
+        long before = outboxRepository.count();
+
+        assertThatThrownBy(() -> transactionService.createTransaction(
+                new CreateTransactionRequest(account.getId(), OperationType.WITHDRAWAL, Money.parse("10")), "idem-1"))
+                .isInstanceOf(BadRequestException.class);
+
+        assertThat(outboxRepository.count()).isEqualTo(before);
+    }
+
+    @Test
+    void stream_resumes_after_last_event_id() throws Exception {
+        Account account = createAccount(Money.parse("100"));
+        long head = stream.head();
+        List<Long> transactionIds = createTransactions(account, 3);
+        relay.relay();
+        List<OutboxEvent> events = eventsAfter(head, transactionIds);
+
+        MvcResult result = mockMvc.perform(get(ApiConstants.EVENTS_BASE_URL + "/transactions")
+                        .with(httpBasic("admin", "password"))
+                        .header(ApiConstants.LAST_EVENT_ID_HEADER, events.get(0).getPosition()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = awaitEvent(result.getResponse(), events.get(2).getPosition());
+        assertThat(body).doesNotContain("id:" + events.get(0).getPosition() + "\n");
+        assertThat(body).contains("id:" + events.get(1).getPosition() + "\nevent:transaction\n");
+        assertThat(body.indexOf("\"transactionId\":" + transactionIds.get(1)))
+                .isLessThan(body.indexOf("\"transactionId\":" + transactionIds.get(2)));
+    }
+
+    @Test
+    void stream_without_cursor_sends_new_events() throws Exception {
+        Account account = createAccount(Money.parse("100"));
+        relay.relay();
+
+        MvcResult result = mockMvc.perform(get(ApiConstants.EVENTS_BASE_URL + "/transactions")
+                        .with(httpBasic("admin", "password")))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        long head = stream.head();
+        List<Long> transactionIds = createTransactions(account, 1);
+        relay.relay();
+
+        OutboxEvent event = eventsAfter(head, transactionIds).get(0);
+        assertThat(awaitEvent(result.getResponse(), event.getPosition()))
+                .contains("\"transactionId\":" + transactionIds.get(0));
+    }
+
+    private List<Long> createTransactions(Account account, int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> transactionService.createTransaction(
+                        new CreateTransactionRequest(account.getId(), OperationType.PAYMENT, Money.parse("1")),
+                        "idem-" + i).transactionId())
+                .toList();
+    }
+
+    private List<OutboxEvent> eventsAfter(long position, List<Long> transactionIds) {
+        return outboxRepository.findByPositionGreaterThanOrderByPosition(position, Pageable.unpaged()).stream()
+                .filter(event -> transactionIds.contains(event.getTransactionId()))
+                .toList();
+    }
+
+    private static String awaitEvent(MockHttpServletResponse response, long position) throws Exception {
+        for (int i = 0; i < 500; i++) {
+            String body = response.getContentAsString();
+            int event = body.indexOf("id:" + position + "\n");
+            // An event is written in several chunks; wait for the blank line that ends it
+            if (event >= 0 && body.indexOf("\n\n", event) >= 0) {
+                return body;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Event " + position + " was not streamed: " + response.getContentAsString());
+    }
+
+    private Account createAccount(Money balance) {
+        return accountRepository.save(Account.builder()
+                .idempotencyKey("idem-account")
+                .documentNumber("1")
+                .balance(balance)
+                .build());
+    }
+}
@@ -0,0 +1,73 @@
+package com.moiez.pismo.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.moiez.pismo.constant.ErrorConstants.TOO_MANY_FAILED_AUTHENTICATIONS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AuthenticationThrottleFilterUnitTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger checkedCredentials = new AtomicInteger();
+
+    private final FilterChain failingAuthentication = (request, response) -> {
+        checkedCredentials.incrementAndGet();
+        ((MockHttpServletResponse) response).setStatus(401);
+    };
+
+    private final FilterChain passingAuthentication = (request, response) -> checkedCredentials.incrementAndGet();
+
+    @Test
+    void address_with_too_many_failures_is_turned_away_before_its_credentials_are_checked() throws Exception {
+        AuthenticationThrottleFilter filter = filter(2);
+
+        assertEquals(401, call(filter, "10.0.0.1", failingAuthentication).getStatus());
+        assertEquals(401, call(filter, "10.0.0.1", failingAuthentication).getStatus());
+        MockHttpServletResponse throttled = call(filter, "10.0.0.1", failingAuthentication);
+
+        assertEquals(429, throttled.getStatus());
+        assertEquals("1", throttled.getHeader(HttpHeaders.RETRY_AFTER));
+        assertThat(throttled.getContentAsString()).contains(TOO_MANY_FAILED_AUTHENTICATIONS);
+        assertEquals(2, checkedCredentials.get());
+        assertEquals(1, meterRegistry.get("pismo.ratelimit.rejections")
+                .tag("reason", AuthenticationThrottleFilter.REASON_AUTH_FAILURES).counter().count());
+    }
+
+    @Test
+    void successful_requests_and_other_addresses_are_not_throttled() throws Exception {
+        AuthenticationThrottleFilter filter = filter(1);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(200, call(filter, "10.0.0.1", passingAuthentication).getStatus());
+        }
+        assertEquals(401, call(filter, "10.0.0.1", failingAuthentication).getStatus());
+        assertEquals(429, call(filter, "10.0.0.1", passingAuthentication).getStatus());
+        assertEquals(200, call(filter, "10.0.0.2", passingAuthentication).getStatus());
+    }
+
+    private AuthenticationThrottleFilter filter(int burst) {
+        return new AuthenticationThrottleFilter(
+                new AuthenticationThrottleProperties(true, 1, burst, 100, Duration.ofMinutes(1)),
+                new ObjectMapper(), meterRegistry);
+    }
+
+    private static MockHttpServletResponse call(AuthenticationThrottleFilter filter,
+                                                String address,
+                                                FilterChain chain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/accounts/1");
+        request.setRemoteAddr(address);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
@@ -0,0 +1,130 @@
+package com.moiez.pismo.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static com.moiez.pismo.constant.ErrorConstants.RATE_LIMIT_EXCEEDED;
+import static com.moiez.pismo.constant.ErrorConstants.SERVER_BUSY;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RateLimitFilterUnitTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void client_over_its_rate_gets_429_with_retry_after() throws Exception {
+        RateLimitFilter filter = filter(2, 1);
+        authenticate("alice");
+
+        assertEquals(200, call(filter, "/v1/transactions").getStatus());
+        assertEquals(200, call(filter, "/v1/transactions").getStatus());
+        MockHttpServletResponse rejected = call(filter, "/v1/transactions");
+
+        assertEquals(429, rejected.getStatus());
+        assertEquals("1", rejected.getHeader(HttpHeaders.RETRY_AFTER));
+        assertThat(rejected.getContentAsString()).contains(RATE_LIMIT_EXCEEDED);
+        assertEquals(1, rejections(RateLimitFilter.REASON_RATE_LIMIT));
+    }
+
+    @Test
+    void clients_have_separate_buckets() throws Exception {
+        RateLimitFilter filter = filter(1, 1);
+
+        authenticate("alice");
+        assertEquals(200, call(filter, "/v1/transactions").getStatus());
+        assertEquals(429, call(filter, "/v1/transactions").getStatus());
+
+        authenticate("bob");
+        assertEquals(200, call(filter, "/v1/transactions").getStatus());
+    }
+
+    @Test
+    void requests_outside_v1_are_not_limited() throws Exception {
+        RateLimitFilter filter = filter(1, 1);
+
+        assertEquals(200, call(filter, "/actuator/health").getStatus());
+        assertEquals(200, call(filter, "/actuator/health").getStatus());
+    }
+
+    @Test
+    void requests_beyond_the_concurrency_limit_are_shed() throws Exception {
+        RateLimitFilter filter = new RateLimitFilter(
+                new RateLimitProperties(true, 100, 100, 1, Duration.ofMillis(10), 100, Duration.ofMinutes(1)),
+                new ObjectMapper(), meterRegistry);
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain blocking = (request, response) -> {
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        CompletableFuture<Void> inFlight = CompletableFuture.runAsync(() -> {
+            try {
+                filter.doFilter(request("/v1/transactions"), new MockHttpServletResponse(), blocking);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        entered.await();
+        assertEquals(1, filter.inFlight());
+
+        MockHttpServletResponse shed = call(filter, "/v1/transactions");
+        release.countDown();
+        inFlight.join();
+
+        assertEquals(429, shed.getStatus());
+        assertEquals("1", shed.getHeader(HttpHeaders.RETRY_AFTER));
+        assertThat(shed.getContentAsString()).contains(SERVER_BUSY);
+        assertEquals(1, rejections(RateLimitFilter.REASON_OVERLOAD));
+        assertEquals(0, filter.inFlight());
+    }
+
+    private RateLimitFilter filter(int burst, double requestsPerSecond) {
+        return new RateLimitFilter(
+                new RateLimitProperties(true, requestsPerSecond, burst, 10, Duration.ZERO, 100, Duration.ofMinutes(1)),
+                new ObjectMapper(), meterRegistry);
+    }
+
+    private static void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                username, null, AuthorityUtils.createAuthorityList("ROLE_ADMIN")));
+    }
+
+    private static MockHttpServletResponse call(RateLimitFilter filter, String path) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(path), response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String path) {
+        return new MockHttpServletRequest("POST", path);
+    }
+
+    private double rejections(String reason) {
+        return meterRegistry.get("pismo.ratelimit.rejections").tag("reason", reason).counter().count();
+    }
+}
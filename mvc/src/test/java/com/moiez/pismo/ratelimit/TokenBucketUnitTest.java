@@ -0,0 +1,44 @@
+package com.moiez.pismo.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TokenBucketUnitTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void burst_is_served_then_refilled_at_the_rate() {
+        TokenBucket bucket = new TokenBucket(2, 4, 0);
+
+        assertEquals(0, bucket.tryConsume(0));
+        assertEquals(0, bucket.tryConsume(0));
+        assertEquals(SECOND / 4, bucket.tryConsume(0));
+
+        assertEquals(0, bucket.tryConsume(SECOND / 4));
+        assertEquals(SECOND / 4, bucket.tryConsume(SECOND / 4));
+    }
+
+    @Test
+    void idle_time_never_refills_beyond_capacity() {
+        TokenBucket bucket = new TokenBucket(2, 4, 0);
+
+        long later = 60 * SECOND;
+        assertEquals(0, bucket.tryConsume(later));
+        assertEquals(0, bucket.tryConsume(later));
+        assertEquals(SECOND / 4, bucket.tryConsume(later));
+    }
+
+    @Test
+    void waiting_time_can_be_checked_without_taking_a_token() {
+        TokenBucket bucket = new TokenBucket(1, 4, 0);
+
+        assertEquals(0, bucket.waitNanos(0));
+        assertEquals(0, bucket.waitNanos(0));
+        assertEquals(0, bucket.tryConsume(0));
+        assertEquals(SECOND / 4, bucket.waitNanos(0));
+    }
+}
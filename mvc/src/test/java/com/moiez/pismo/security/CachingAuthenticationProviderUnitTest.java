@@ -0,0 +1,71 @@
+package com.moiez.pismo.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+class CachingAuthenticationProviderUnitTest {
+
+    private final BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(4);
+    private final DaoAuthenticationProvider delegate = spy(daoProvider());
+    private final CachingAuthenticationProvider provider = new CachingAuthenticationProvider(
+            delegate, new AuthenticationCacheProperties(true, 100, Duration.ofMinutes(1)), new SimpleMeterRegistry());
+
+    @Test
+    void repeated_credentials_are_verified_once() {
+        Authentication first = provider.authenticate(credentials("admin", "password"));
+        Authentication second = provider.authenticate(credentials("admin", "password"));
+
+        assertTrue(first.isAuthenticated());
+        assertSame(first, second);
+        verify(delegate, times(1)).authenticate(any());
+    }
+
+    @Test
+    void wrong_password_is_never_served_from_the_cache() {
+        provider.authenticate(credentials("admin", "password"));
+
+        assertThatThrownBy(() -> provider.authenticate(credentials("admin", "wrong")))
+                .isInstanceOf(BadCredentialsException.class);
+        assertThatThrownBy(() -> provider.authenticate(credentials("admin", "wrong")))
+                .isInstanceOf(BadCredentialsException.class);
+        verify(delegate, times(3)).authenticate(any());
+    }
+
+    @Test
+    void disabled_cache_verifies_every_request() {
+        CachingAuthenticationProvider uncached = new CachingAuthenticationProvider(
+                delegate, new AuthenticationCacheProperties(false, 100, Duration.ofMinutes(1)), new SimpleMeterRegistry());
+
+        uncached.authenticate(credentials("admin", "password"));
+        uncached.authenticate(credentials("admin", "password"));
+
+        verify(delegate, times(2)).authenticate(any());
+    }
+
+    private DaoAuthenticationProvider daoProvider() {
+        DaoAuthenticationProvider dao = new DaoAuthenticationProvider(encoder);
+        dao.setUserDetailsService(new InMemoryUserDetailsManager(User.withUsername("admin")
+                .password(encoder.encode("password"))
+                .roles("ADMIN")
+                .build()));
+        return dao;
+    }
+
+    private static UsernamePasswordAuthenticationToken credentials(String username, String password) {
+        return UsernamePasswordAuthenticationToken.unauthenticated(username, password);
+    }
+}
@@ -2,17 +2,21 @@ package com.moiez.pismo.service;
 
 import com.moiez.pismo.api.dto.request.CreateAccountRequest;
 import com.moiez.pismo.api.dto.response.AccountResponse;
+import com.moiez.pismo.cache.IdempotencyStore;
 import com.moiez.pismo.exception.ConflictingRequestException;
 import com.moiez.pismo.exception.NotFoundException;
 import com.moiez.pismo.model.Account;
+import com.moiez.pismo.model.Money;
 import com.moiez.pismo.repository.AccountRepository;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
@@ -36,6 +40,12 @@ class AccountServiceIntegrationTest {
     @Autowired
     private AccountRepository accountRepository;
 
+    @Autowired
+    private IdempotencyStore<AccountResponse> accountIdempotencyStore;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     private static final String DOCUMENT_NUMBER = "12345678900";
     private static final String IDEMP_KEY = "idemp-123";
     
@@ -44,6 +54,7 @@ class AccountServiceIntegrationTest {
     @AfterEach
     void cleanDatabase() {
         accountRepository.deleteAll();
+        accountIdempotencyStore.clear();
     }
 
     @Test
@@ -95,6 +106,23 @@ class AccountServiceIntegrationTest {
                 .hasSize(1);
     }
 
+    @Test
+    void createAccount_replays_account_committed_under_the_same_key_by_another_instance() {
+        // given: committed elsewhere, so neither the cache nor the Bloom filter has seen the key
+        Account existing = new Account();
+        existing.setDocumentNumber(DOCUMENT_NUMBER);
+        existing.setIdempotencyKey(IDEMP_KEY);
+        existing = accountRepository.saveAndFlush(existing);
+
+        // when
+        AccountResponse response = accountService.createAccount(
+                new CreateAccountRequest(DOCUMENT_NUMBER), IDEMP_KEY);
+
+        // then
+        assertThat(response.id()).isEqualTo(existing.getId());
+        assertThat(accountRepository.findAll()).hasSize(1);
+    }
+
     @Test
     void createAccount_shouldAllowOnlyOneInsert_underConcurrentRequests()
             throws InterruptedException {
@@ -161,4 +189,26 @@ class AccountServiceIntegrationTest {
                 .isInstanceOf(NotFoundException.class)
                 .hasMessage(ACCOUNT_NOT_FOUND);
     }
+
+    @Test
+    void getAccount_shouldReflectCommittedBalance_andIgnoreRolledBackOnes() {
+        // given
+        AccountResponse created =
+                accountService.createAccount(
+                        new CreateAccountRequest(DOCUMENT_NUMBER), IDEMP_KEY);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        accountService.getAccount(created.id());
+
+        // when
+        transactionTemplate.executeWithoutResult(status ->
+                accountService.applyTransaction(created.id(), Money.parse("150")));
+        transactionTemplate.executeWithoutResult(status -> {
+            accountService.applyTransaction(created.id(), Money.parse("-100"));
+            status.setRollbackOnly();
+        });
+
+        // then
+        assertThat(accountService.getAccount(created.id()).balance())
+                .isEqualByComparingTo(Money.parse("150"));
+    }
 }
\ No newline at end of file
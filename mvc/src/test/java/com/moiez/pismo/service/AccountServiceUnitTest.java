@@ -0,0 +1,249 @@
+package com.moiez.pismo.service;
+
+import com.moiez.pismo.api.dto.request.CreateAccountRequest;
+import com.moiez.pismo.api.dto.response.AccountResponse;
+import com.moiez.pismo.cache.AccountCache;
+import com.moiez.pismo.cache.AccountCacheProperties;
+import com.moiez.pismo.cache.IdempotencyProperties;
+import com.moiez.pismo.cache.IdempotencyStore;
+import com.moiez.pismo.exception.BadRequestException;
+import com.moiez.pismo.exception.NotFoundException;
+import com.moiez.pismo.ledger.BalanceMode;
+import com.moiez.pismo.ledger.BalanceProperties;
+import com.moiez.pismo.ledger.LedgerBalances;
+import com.moiez.pismo.ledger.StripedBalances;
+import com.moiez.pismo.metrics.TransactionMetrics;
+import com.moiez.pismo.model.Account;
+import com.moiez.pismo.model.Money;
+import com.moiez.pismo.repository.AccountBalance;
+import com.moiez.pismo.repository.AccountRepository;
+import com.moiez.pismo.repository.CurrentBalance;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static com.moiez.pismo.constant.ErrorConstants.ACCOUNT_NOT_FOUND;
+import static com.moiez.pismo.constant.ErrorConstants.CONCURRENT_BALANCE_UPDATE;
+import static com.moiez.pismo.constant.ErrorConstants.INSUFFICIENT_FUNDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AccountServiceUnitTest {
+
+    @Mock
+    private AccountRepository repository;
+
+    @Spy
+    private IdempotencyStore<AccountResponse> idempotencyStore = new IdempotencyStore<>(
+            new IdempotencyProperties(true, 100, Duration.ofMinutes(1), 100, 0.01), Duration.ofDays(30));
+
+    @Spy
+    private TransactionMetrics metrics = new TransactionMetrics(new SimpleMeterRegistry());
+
+    @Spy
+    private AccountCache accountCache = new AccountCache(
+            new AccountCacheProperties(true, 100, Duration.ofMinutes(1)), new SimpleMeterRegistry());
+
+    @Spy
+    private BalanceProperties balanceProperties = new BalanceProperties(
+            BalanceMode.PESSIMISTIC, Duration.ofMinutes(1), 1000, 3, Duration.ofMillis(1));
+
+    @Mock
+    private LedgerBalances ledgerBalances;
+
+    @Mock
+    private StripedBalances stripedBalances;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private AccountService service;
+
+    private static final String DOCUMENT_NUMBER = "12345678900";
+    private static final Long ACCOUNT_ID = 1L;
+    private static final String IDEMP_KEY = "idem-123";
+
+    @Test
+    void createAccount_shouldCreateAccount_whenAccountDoesNotExist() {
+        // given
+        CreateAccountRequest request = new CreateAccountRequest(DOCUMENT_NUMBER);
+
+        Account savedAccount = Account.builder()
+                .id(ACCOUNT_ID)
+                .documentNumber(DOCUMENT_NUMBER)
+                .build();
+
+        when(repository.saveAndFlush(any(Account.class))).thenReturn(savedAccount);
+
+        // when
+        AccountResponse response = service.createAccount(request, IDEMP_KEY);
+
+        // then
+        assertThat(response).isNotNull();
+        assertThat(response.id()).isEqualTo(ACCOUNT_ID);
+        assertThat(response.documentNumber()).isEqualTo(DOCUMENT_NUMBER);
+    }
+
+    @Test
+    void getAccount_shouldReturnAccount_whenAccountExists() {
+        // given
+        Account account = Account.builder()
+                .id(ACCOUNT_ID)
+                .documentNumber(DOCUMENT_NUMBER)
+                .build();
+
+        when(repository.findById(ACCOUNT_ID)).thenReturn(Optional.of(account));
+
+        // when
+        AccountResponse response = service.getAccount(ACCOUNT_ID);
+
+        // then
+        assertThat(response).isNotNull();
+        assertThat(response.id()).isEqualTo(ACCOUNT_ID);
+        assertThat(response.documentNumber()).isEqualTo(DOCUMENT_NUMBER);
+
+        verify(repository).findById(ACCOUNT_ID);
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    void getAccount_shouldThrowNotFoundException_whenAccountDoesNotExist() {
+        // given
+        when(repository.findById(ACCOUNT_ID)).thenReturn(Optional.empty());
+
+        // when / then
+        assertThatThrownBy(() -> service.getAccount(ACCOUNT_ID))
+                .isInstanceOf(NotFoundException.class)
+                .hasMessage(ACCOUNT_NOT_FOUND);
+
+        verify(repository).findById(ACCOUNT_ID);
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    void applyTransaction_invalid_account_throws() {
+        when(repository.findByIdForUpdate(1L))
+                .thenReturn(Optional.empty());
+
+        assertThrows(BadRequestException.class, () ->
+                service.applyTransaction(1L, Money.parse("10"))
+        );
+    }
+
+    @Test
+    void applyTransaction_atomic_updates_without_loading_the_account() {
+        doReturn(true).when(balanceProperties).isAtomic();
+        when(repository.addToBalance(eq(ACCOUNT_ID), eq(-1_000L), any(Instant.class))).thenReturn(1);
+        Instant written = Instant.parse("2024-06-01T00:00:00Z");
+        when(repository.findCurrentBalanceById(ACCOUNT_ID)).thenReturn(new CurrentBalance(Money.parse("90"), written));
+
+        service.applyTransaction(ACCOUNT_ID, Money.parse("-10"));
+
+        verify(repository).addToBalance(eq(ACCOUNT_ID), eq(-1_000L), any(Instant.class));
+        verify(repository).findCurrentBalanceById(ACCOUNT_ID);
+        verifyNoMoreInteractions(repository);
+        verify(accountCache).refreshAfterCommit(ACCOUNT_ID, Money.parse("90"), written);
+    }
+
+    @Test
+    void applyTransaction_atomic_unknown_account_throws() {
+        doReturn(true).when(balanceProperties).isAtomic();
+        when(repository.addToBalance(eq(ACCOUNT_ID), anyLong(), any(Instant.class))).thenReturn(0);
+        when(repository.existsById(ACCOUNT_ID)).thenReturn(false);
+
+        assertThatThrownBy(() -> service.applyTransaction(ACCOUNT_ID, Money.parse("10")))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage(ACCOUNT_NOT_FOUND);
+    }
+
+    @Test
+    void applyTransaction_atomic_insufficient_funds_throws() {
+        doReturn(true).when(balanceProperties).isAtomic();
+        when(repository.addToBalance(eq(ACCOUNT_ID), anyLong(), any(Instant.class))).thenReturn(0);
+        when(repository.existsById(ACCOUNT_ID)).thenReturn(true);
+
+        assertThatThrownBy(() -> service.applyTransaction(ACCOUNT_ID, Money.parse("-10")))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage(INSUFFICIENT_FUNDS);
+    }
+
+    @Test
+    void applyTransaction_optimistic_rereads_and_retries_when_version_changed() {
+        doReturn(true).when(balanceProperties).isOptimistic();
+        when(repository.findBalanceById(ACCOUNT_ID))
+                .thenReturn(Optional.of(new AccountBalance(Money.parse("100"), 1L)))
+                .thenReturn(Optional.of(new AccountBalance(Money.parse("80"), 2L)));
+        when(repository.updateBalanceIfVersion(eq(ACCOUNT_ID), eq(1L), any(Money.class), any(Instant.class)))
+                .thenReturn(0);
+        when(repository.updateBalanceIfVersion(eq(ACCOUNT_ID), eq(2L), any(Money.class), any(Instant.class)))
+                .thenReturn(1);
+
+        service.applyTransaction(ACCOUNT_ID, Money.parse("-30"));
+
+        verify(repository).updateBalanceIfVersion(eq(ACCOUNT_ID), eq(2L), eq(Money.parse("50")), any(Instant.class));
+        verify(repository, never()).findByIdForUpdate(any());
+        verify(metrics).optimisticRetry();
+        verify(accountCache).refreshAfterCommit(eq(ACCOUNT_ID), eq(Money.parse("50")), any(Instant.class));
+    }
+
+    @Test
+    void applyTransaction_optimistic_gives_up_after_max_attempts() {
+        doReturn(true).when(balanceProperties).isOptimistic();
+        when(repository.findBalanceById(ACCOUNT_ID))
+                .thenReturn(Optional.of(new AccountBalance(Money.parse("100"), 1L)));
+        when(repository.updateBalanceIfVersion(eq(ACCOUNT_ID), eq(1L), any(Money.class), any(Instant.class)))
+                .thenReturn(0);
+
+        assertThatThrownBy(() -> service.applyTransaction(ACCOUNT_ID, Money.parse("10")))
+                .isInstanceOf(OptimisticLockingFailureException.class)
+                .hasMessage(CONCURRENT_BALANCE_UPDATE);
+
+        verify(repository, times(3)).updateBalanceIfVersion(eq(ACCOUNT_ID), eq(1L), any(Money.class), any(Instant.class));
+    }
+
+    @Test
+    void applyTransaction_optimistic_insufficient_funds_writes_nothing() {
+        doReturn(true).when(balanceProperties).isOptimistic();
+        when(repository.findBalanceById(ACCOUNT_ID))
+                .thenReturn(Optional.of(new AccountBalance(Money.parse("10"), 1L)));
+
+        assertThatThrownBy(() -> service.applyTransaction(ACCOUNT_ID, Money.parse("-20")))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage(INSUFFICIENT_FUNDS);
+
+        verify(repository, never()).updateBalanceIfVersion(any(), any(), any(), any());
+    }
+
+    @Test
+    void getAccount_shouldServeRepeatedReadsFromCache() {
+        // given
+        Account account = Account.builder()
+                .id(ACCOUNT_ID)
+                .documentNumber(DOCUMENT_NUMBER)
+                .build();
+
+        when(repository.findById(ACCOUNT_ID)).thenReturn(Optional.of(account));
+
+        // when
+        AccountResponse first = service.getAccount(ACCOUNT_ID);
+        AccountResponse second = service.getAccount(ACCOUNT_ID);
+
+        // then
+        assertThat(second).isEqualTo(first);
+        verify(repository, times(1)).findById(ACCOUNT_ID);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,178 @@
+package com.moiez.pismo.service;
+
+import com.moiez.pismo.api.dto.request.CreateTransactionRequest;
+import com.moiez.pismo.api.dto.response.AccountResponse;
+import com.moiez.pismo.api.dto.response.TransactionResponse;
+import com.moiez.pismo.cache.AccountCache;
+import com.moiez.pismo.cache.IdempotencyStore;
+import com.moiez.pismo.exception.BadRequestException;
+import com.moiez.pismo.model.Account;
+import com.moiez.pismo.model.Money;
+import com.moiez.pismo.model.OperationType;
+import com.moiez.pismo.repository.AccountRepository;
+import com.moiez.pismo.repository.CurrentBalance;
+import com.moiez.pismo.repository.TransactionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.moiez.pismo.constant.ErrorConstants.ACCOUNT_NOT_FOUND;
+import static com.moiez.pismo.constant.ErrorConstants.INSUFFICIENT_FUNDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = {
+        "pismo.balance.mode=ATOMIC"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AtomicBalanceIntegrationTest {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountCache accountCache;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private IdempotencyStore<AccountResponse> accountIdempotencyStore;
+
+    @Autowired
+    private IdempotencyStore<TransactionResponse> transactionIdempotencyStore;
+
+    @BeforeEach
+    @AfterEach
+    void cleanDatabase() {
+        transactionRepository.deleteAll();
+        accountRepository.deleteAll();
+        accountIdempotencyStore.clear();
+        transactionIdempotencyStore.clear();
+        accountCache.clear();
+    }
+
+    @Test
+    void update_that_started_earlier_never_moves_updated_at_backwards() {
+        Account account = createAccount(Money.parse("100"));
+        Instant later = Instant.now().plusSeconds(60).truncatedTo(ChronoUnit.MICROS);
+        Instant earlier = later.minusSeconds(1);
+
+        transactionTemplate.executeWithoutResult(status -> accountRepository.addToBalance(account.getId(), 100, later));
+        transactionTemplate.executeWithoutResult(status -> accountRepository.addToBalance(account.getId(), 100, earlier));
+
+        CurrentBalance current = accountRepository.findCurrentBalanceById(account.getId());
+        assertThat(current.balance()).isEqualByComparingTo(Money.parse("102"));
+        assertThat(current.updatedAt()).isEqualTo(later);
+    }
+
+    @Test
+    void balance_is_updated_in_one_statement() {
+        Account account = createAccount(Money.parse("100"));
+
+        transactionService.createTransaction(debit(account.getId(), Money.parse("30")), "idem-1");
+
+        Account updated = accountRepository.findById(account.getId()).orElseThrow();
+        assertThat(updated.getBalance()).isEqualByComparingTo(Money.parse("70"));
+        assertThat(updated.getVersion()).isEqualTo(account.getVersion() + 1);
+        assertThat(accountService.getAccount(account.getId()).balance())
+                .isEqualByComparingTo(Money.parse("70"));
+    }
+
+    @Test
+    void cached_account_is_refreshed_with_the_written_balance() {
+        Account account = createAccount(Money.parse("100"));
+        accountService.getAccount(account.getId());
+
+        transactionService.createTransaction(debit(account.getId(), Money.parse("30")), "idem-1");
+
+        assertThat(accountCache.get(account.getId()))
+                .hasValueSatisfying(cached -> assertThat(cached.balance()).isEqualByComparingTo(Money.parse("70")));
+    }
+
+    @Test
+    void debit_beyond_balance_rejected() {
+        Account account = createAccount(Money.parse("10"));
+
+        assertThatThrownBy(() ->
+                transactionService.createTransaction(debit(account.getId(), Money.parse("20")), "idem-1"))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage(INSUFFICIENT_FUNDS);
+
+        assertThat(accountRepository.findById(account.getId()).orElseThrow().getBalance())
+                .isEqualByComparingTo(Money.parse("10"));
+        assertEquals(0, transactionRepository.count());
+    }
+
+    @Test
+    void transaction_for_unknown_account_rejected() {
+        assertThatThrownBy(() ->
+                transactionService.createTransaction(debit(999_999L, Money.parse("20")), "idem-1"))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage(ACCOUNT_NOT_FOUND);
+    }
+
+    @Test
+    void concurrent_debits_never_overdraw_the_account() throws InterruptedException {
+        Account account = createAccount(Money.parse("100"));
+
+        int requests = 30;
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch latch = new CountDownLatch(requests);
+        AtomicInteger successCount = new AtomicInteger();
+
+        for (int i = 0; i < requests; i++) {
+            String key = "idem-" + i;
+            executor.submit(() -> {
+                try {
+                    transactionService.createTransaction(debit(account.getId(), Money.parse("10")), key);
+                    successCount.incrementAndGet();
+                } catch (RuntimeException ignored) {
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+        executor.shutdown();
+
+        Account updated = accountRepository.findById(account.getId()).orElseThrow();
+        assertThat(updated.getBalance()).isEqualByComparingTo(Money.ZERO);
+        assertEquals(10, successCount.get());
+        assertEquals(10, transactionRepository.count());
+    }
+
+    private Account createAccount(Money balance) {
+        return accountRepository.save(Account.builder()
+                .idempotencyKey("idem-account")
+                .documentNumber("123")
+                .balance(balance)
+                .build());
+    }
+
+    private CreateTransactionRequest debit(Long accountId, Money amount) {
+        return new CreateTransactionRequest(accountId, OperationType.CASH_PURCHASE, amount);
+    }
+}
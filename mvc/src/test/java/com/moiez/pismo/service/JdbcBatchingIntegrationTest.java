@@ -0,0 +1,160 @@
+package com.moiez.pismo.service;
+
+import com.moiez.pismo.api.dto.request.BatchTransactionItem;
+import com.moiez.pismo.api.dto.request.CreateTransactionRequest;
+import com.moiez.pismo.api.dto.response.AccountResponse;
+import com.moiez.pismo.api.dto.response.TransactionResponse;
+import com.moiez.pismo.cache.IdempotencyStore;
+import com.moiez.pismo.engine.ShardedTransactionEngine;
+import com.moiez.pismo.model.Account;
+import com.moiez.pismo.model.Money;
+import com.moiez.pismo.model.OperationType;
+import com.moiez.pismo.repository.AccountRepository;
+import com.moiez.pismo.repository.TransactionRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Counts the JDBC statements Hibernate prepares while writing transactions. A batched
+ * insert is prepared once however many rows it carries.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "pismo.engine.enabled=true",
+        "pismo.engine.shards=1",
+        // Keep the outbox relay's statements out of the counts
+        "pismo.outbox.relay-interval=1h"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JdbcBatchingIntegrationTest {
+
+    private static final int TRANSACTIONS = 20;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private ShardedTransactionEngine engine;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private IdempotencyStore<AccountResponse> accountIdempotencyStore;
+
+    @Autowired
+    private IdempotencyStore<TransactionResponse> transactionIdempotencyStore;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    @AfterEach
+    void cleanDatabase() {
+        transactionRepository.deleteAll();
+        accountRepository.deleteAll();
+        accountIdempotencyStore.clear();
+        transactionIdempotencyStore.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void batch_inserts_all_transactions_in_one_statement() {
+        Account first = createAccount("1", "idem-account-1");
+        Account second = createAccount("2", "idem-account-2");
+        List<BatchTransactionItem> items = IntStream.range(0, TRANSACTIONS)
+                .mapToObj(i -> new BatchTransactionItem("idem-" + i,
+                        credit(i % 2 == 0 ? first.getId() : second.getId(), Money.parse("1"))))
+                .toList();
+
+        statistics.clear();
+        transactionService.createTransactions(items);
+
+        // Each transaction and its outbox event
+        assertEquals(2 * TRANSACTIONS, statistics.getEntityInsertCount());
+        // Two account locks, the sequence, one insert batch and one update batch, then the
+        // outbox sequence (called twice on its first allocation) and insert batch
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(9);
+        assertEquals(TRANSACTIONS, transactionRepository.count());
+    }
+
+    @Test
+    void group_commit_inserts_queued_transactions_in_one_statement() throws Exception {
+        Account account = createAccount("1", "idem-account");
+        ExecutorService executor = Executors.newFixedThreadPool(TRANSACTIONS + 1);
+        CountDownLatch shardBusy = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // Occupy the only shard so the requests below queue up and are committed as one group
+        CompletableFuture<Object> blocker = CompletableFuture.supplyAsync(() -> engine.execute(account.getId(), () -> {
+            shardBusy.countDown();
+            awaitQuietly(release);
+            return null;
+        }), executor);
+        shardBusy.await();
+
+        List<CompletableFuture<TransactionResponse>> requests = IntStream.range(0, TRANSACTIONS)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> transactionService.createTransaction(
+                        credit(account.getId(), Money.parse("1")), "idem-" + i), executor))
+                .toList();
+        while (engine.queueDepth() < TRANSACTIONS) {
+            Thread.sleep(10);
+        }
+
+        statistics.clear();
+        release.countDown();
+        blocker.join();
+        requests.forEach(CompletableFuture::join);
+        executor.shutdown();
+
+        // Each transaction and its outbox event
+        assertEquals(2 * TRANSACTIONS, statistics.getEntityInsertCount());
+        // One lock query per request, then the sequence, one insert batch and one update, and
+        // the outbox sequence and insert batch
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(TRANSACTIONS + 5);
+        Account updated = accountRepository.findById(account.getId()).orElseThrow();
+        assertThat(updated.getBalance()).isEqualByComparingTo(Money.parse("20"));
+    }
+
+    private Account createAccount(String documentNumber, String idempotencyKey) {
+        return accountRepository.save(Account.builder()
+                .idempotencyKey(idempotencyKey)
+                .documentNumber(documentNumber)
+                .build());
+    }
+
+    private CreateTransactionRequest credit(Long accountId, Money amount) {
+        return new CreateTransactionRequest(accountId, OperationType.PAYMENT, amount);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
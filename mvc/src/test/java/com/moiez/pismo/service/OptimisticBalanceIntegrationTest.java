@@ -0,0 +1,134 @@
+package com.moiez.pismo.service;
+
+import com.moiez.pismo.api.dto.request.CreateTransactionRequest;
+import com.moiez.pismo.api.dto.response.AccountResponse;
+import com.moiez.pismo.api.dto.response.TransactionResponse;
+import com.moiez.pismo.cache.IdempotencyStore;
+import com.moiez.pismo.exception.BadRequestException;
+import com.moiez.pismo.model.Account;
+import com.moiez.pismo.model.Money;
+import com.moiez.pismo.model.OperationType;
+import com.moiez.pismo.repository.AccountRepository;
+import com.moiez.pismo.repository.TransactionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.moiez.pismo.constant.ErrorConstants.INSUFFICIENT_FUNDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = {
+        "pismo.balance.mode=OPTIMISTIC",
+        "pismo.balance.optimistic-max-attempts=20"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OptimisticBalanceIntegrationTest {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private IdempotencyStore<AccountResponse> accountIdempotencyStore;
+
+    @Autowired
+    private IdempotencyStore<TransactionResponse> transactionIdempotencyStore;
+
+    @BeforeEach
+    @AfterEach
+    void cleanDatabase() {
+        transactionRepository.deleteAll();
+        accountRepository.deleteAll();
+        accountIdempotencyStore.clear();
+        transactionIdempotencyStore.clear();
+    }
+
+    @Test
+    void balance_is_updated_with_version_check() {
+        Account account = createAccount(Money.parse("100"));
+
+        transactionService.createTransaction(debit(account.getId(), Money.parse("30")), "idem-1");
+
+        Account updated = accountRepository.findById(account.getId()).orElseThrow();
+        assertThat(updated.getBalance()).isEqualByComparingTo(Money.parse("70"));
+        assertThat(updated.getVersion()).isEqualTo(account.getVersion() + 1);
+        assertThat(accountService.getAccount(account.getId()).balance())
+                .isEqualByComparingTo(Money.parse("70"));
+    }
+
+    @Test
+    void debit_beyond_balance_rejected() {
+        Account account = createAccount(Money.parse("10"));
+
+        assertThatThrownBy(() ->
+                transactionService.createTransaction(debit(account.getId(), Money.parse("20")), "idem-1"))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage(INSUFFICIENT_FUNDS);
+
+        assertThat(accountRepository.findById(account.getId()).orElseThrow().getBalance())
+                .isEqualByComparingTo(Money.parse("10"));
+        assertEquals(0, transactionRepository.count());
+    }
+
+    @Test
+    void concurrent_debits_never_overdraw_the_account() throws InterruptedException {
+        Account account = createAccount(Money.parse("100"));
+
+        int requests = 30;
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch latch = new CountDownLatch(requests);
+        AtomicInteger successCount = new AtomicInteger();
+
+        for (int i = 0; i < requests; i++) {
+            String key = "idem-" + i;
+            executor.submit(() -> {
+                try {
+                    transactionService.createTransaction(debit(account.getId(), Money.parse("10")), key);
+                    successCount.incrementAndGet();
+                } catch (RuntimeException ignored) {
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+        executor.shutdown();
+
+        Account updated = accountRepository.findById(account.getId()).orElseThrow();
+        assertThat(successCount.get()).isLessThanOrEqualTo(10);
+        assertThat(updated.getBalance())
+                .isEqualByComparingTo(Money.ofMinor(10_000L - successCount.get() * 1_000L));
+        assertEquals(successCount.get(), transactionRepository.count());
+    }
+
+    private Account createAccount(Money balance) {
+        return accountRepository.save(Account.builder()
+                .idempotencyKey("idem-account")
+                .documentNumber("123")
+                .balance(balance)
+                .build());
+    }
+
+    private CreateTransactionRequest debit(Long accountId, Money amount) {
+        return new CreateTransactionRequest(accountId, OperationType.CASH_PURCHASE, amount);
+    }
+}
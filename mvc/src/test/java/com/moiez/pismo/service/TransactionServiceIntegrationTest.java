@@ -0,0 +1,448 @@
+package com.moiez.pismo.service;
+
+import com.moiez.pismo.api.dto.request.BatchTransactionItem;
+import com.moiez.pismo.api.dto.request.CreateTransactionRequest;
+import com.moiez.pismo.api.dto.response.AccountResponse;
+import com.moiez.pismo.api.dto.response.BatchItemStatus;
+import com.moiez.pismo.api.dto.response.BatchTransactionItemResponse;
+import com.moiez.pismo.api.dto.response.BatchTransactionResponse;
+import com.moiez.pismo.api.dto.response.TransactionPageResponse;
+import com.moiez.pismo.api.dto.response.TransactionResponse;
+import com.moiez.pismo.cache.IdempotencyStore;
+import com.moiez.pismo.exception.BadRequestException;
+import com.moiez.pismo.exception.ConflictingRequestException;
+import com.moiez.pismo.exception.NotFoundException;
+import com.moiez.pismo.model.Account;
+import com.moiez.pismo.model.Money;
+import com.moiez.pismo.model.OperationType;
+import com.moiez.pismo.repository.AccountRepository;
+import com.moiez.pismo.repository.TransactionExportQuery;
+import com.moiez.pismo.repository.TransactionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.moiez.pismo.constant.ErrorConstants.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TransactionServiceIntegrationTest {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    TransactionRepository transactionRepository;
+
+    @Autowired
+    private IdempotencyStore<AccountResponse> accountIdempotencyStore;
+
+    @Autowired
+    private IdempotencyStore<TransactionResponse> transactionIdempotencyStore;
+
+    private static final String IDEMP_KEY = "idem-123";
+
+    @BeforeEach
+    @AfterEach
+    void cleanDatabase() {
+        transactionRepository.deleteAll();
+        accountRepository.deleteAll();
+        accountIdempotencyStore.clear();
+        transactionIdempotencyStore.clear();
+    }
+
+    @Test
+    void zeroBalance_credit_allowed() {
+        Account account = createAccount(Money.ZERO);
+
+        transactionService.createTransaction(
+                credit(account.getId(), Money.parse("100")),
+                IDEMP_KEY
+        );
+
+        Account updated = accountRepository.findById(account.getId()).orElseThrow();
+        assertThat(updated.getBalance())
+                .isEqualByComparingTo(Money.parse("100"));
+
+        assertEquals(1, transactionRepository.count());
+    }
+
+    @Test
+    void zeroBalance_debit_rejected() {
+        Account account = createAccount(Money.ZERO);
+
+        assertThrows(BadRequestException.class, () ->
+                transactionService.createTransaction(
+                        debit(account.getId(), Money.parse("50")),
+                        IDEMP_KEY
+                )
+        );
+
+        Account unchanged = accountRepository.findById(account.getId()).orElseThrow();
+        assertThat(unchanged.getBalance())
+                .isEqualByComparingTo(Money.ZERO);
+        assertEquals(0, transactionRepository.count());
+    }
+
+    @Test
+    void positiveBalance_credit_allowed() {
+        Account account = createAccount(Money.parse("100"));
+
+        transactionService.createTransaction(
+                credit(account.getId(), Money.parse("50")),
+                IDEMP_KEY
+        );
+
+        Account updated = accountRepository.findById(account.getId()).orElseThrow();
+        assertThat(updated.getBalance())
+                .isEqualByComparingTo(Money.parse("150"));
+    }
+
+    @Test
+    void debit_causing_negative_balance_rejected() {
+        Account account = createAccount(Money.parse("100"));
+
+        assertThrows(BadRequestException.class, () ->
+                transactionService.createTransaction(
+                        debit(account.getId(), Money.parse("150")),
+                        IDEMP_KEY
+                )
+        );
+
+        Account unchanged = accountRepository.findById(account.getId()).orElseThrow();
+        assertThat(unchanged.getBalance())
+                .isEqualByComparingTo(Money.parse("100"));
+    }
+
+    @Test
+    void valid_debit_allowed() {
+        Account account = createAccount(Money.parse("200"));
+
+        transactionService.createTransaction(
+                debit(account.getId(), Money.parse("50")),
+                IDEMP_KEY
+        );
+
+        Account updated = accountRepository.findById(account.getId()).orElseThrow();
+        assertThat(updated.getBalance())
+                .isEqualByComparingTo(Money.parse("150"));
+    }
+
+    @Test
+    void transaction_insert_failure_rolls_back_balance() {
+        Account account = createAccount(Money.parse("100"));
+
+        CreateTransactionRequest bad =
+                new CreateTransactionRequest(account.getId(), OperationType.PAYMENT, null);
+
+        assertThrows(Exception.class, () ->
+                transactionService.createTransaction(bad, IDEMP_KEY)
+        );
+
+        Account unchanged = accountRepository.findById(account.getId()).orElseThrow();
+        assertThat(unchanged.getBalance())
+                .isEqualByComparingTo(Money.parse("100"));
+        assertEquals(0, transactionRepository.count());
+    }
+
+    @Test
+    void concurrent_transactions_are_serialized_when_using_different_idempotency_keys() throws Exception {
+        Account account = createAccount(Money.parse("100"));
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch latch = new CountDownLatch(2);
+
+        Runnable debit1 = () -> {
+            try {
+                transactionService.createTransaction(
+                        debit(account.getId(), Money.parse("80")),
+                        "idem-1"
+                );
+            } catch (Exception ignored) {
+            } finally {
+                latch.countDown();
+            }
+        };
+
+        Runnable debit2 = () -> {
+            try {
+                transactionService.createTransaction(
+                        debit(account.getId(), Money.parse("80")),
+                        "idem-2"
+                );
+            } catch (Exception ignored) {
+            } finally {
+                latch.countDown();
+            }
+        };
+
+        executor.submit(debit1);
+        executor.submit(debit2);
+
+        latch.await();
+
+        Account updated = accountRepository.findById(account.getId()).orElseThrow();
+
+        // Only one debit can succeed
+        assertThat(updated.getBalance())
+                .isEqualByComparingTo(Money.parse("20"));
+        assertEquals(1, transactionRepository.count());
+    }
+
+    @Test
+    void concurrent_requests_with_same_idempotency_key_are_handled_correctly() throws InterruptedException {
+        Account account = createAccount(Money.parse("100"));
+        String sameKey = "race-key";
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch latch = new CountDownLatch(2);
+        AtomicInteger successCount = new AtomicInteger(0);
+        AtomicInteger conflictCount = new AtomicInteger(0);
+
+        Runnable task = () -> {
+            try {
+                transactionService.createTransaction(
+                        debit(account.getId(), Money.parse("10")),
+                        sameKey
+                );
+                successCount.incrementAndGet();
+            } catch (ConflictingRequestException e) {
+                conflictCount.incrementAndGet();
+            } catch (Exception e) {
+                // Ignore other exceptions
+            } finally {
+                latch.countDown();
+            }
+        };
+
+        executor.submit(task);
+        executor.submit(task);
+
+        latch.await();
+
+        // We expect exactly 1 success. The other request will either fail with Conflict 
+        // (if it blocked on the lock) or succeed idempotently (if it ran after commit).
+        // In either case, the balance should only be deducted ONCE.
+        Account updated = accountRepository.findById(account.getId()).orElseThrow();
+        assertThat(updated.getBalance()).isEqualByComparingTo(Money.parse("90"));
+        assertEquals(1, transactionRepository.count());
+    }
+
+    @Test
+    void idempotent_retry_does_not_apply_balance_twice() {
+        Account account = createAccount(Money.parse("100"));
+
+        CreateTransactionRequest request =
+                debit(account.getId(), Money.parse("40"));
+
+        transactionService.createTransaction(request, IDEMP_KEY);
+        transactionService.createTransaction(request, IDEMP_KEY); // retry
+
+        Account updated = accountRepository.findById(account.getId()).orElseThrow();
+
+        assertThat(updated.getBalance())
+                .isEqualByComparingTo(Money.parse("60"));
+        assertEquals(1, transactionRepository.count());
+    }
+
+    @Test
+    void batch_applies_net_balance_and_rejects_items_individually() {
+        Account account = createAccount(Money.parse("100"));
+
+        BatchTransactionResponse response = transactionService.createTransactions(List.of(
+                new BatchTransactionItem("idem-1", debit(account.getId(), Money.parse("80"))),
+                new BatchTransactionItem("idem-2", debit(account.getId(), Money.parse("50"))),
+                new BatchTransactionItem("idem-3", credit(account.getId(), Money.parse("30")))
+        ));
+
+        assertThat(response.results())
+                .extracting(BatchTransactionItemResponse::status)
+                .containsExactly(BatchItemStatus.CREATED, BatchItemStatus.REJECTED, BatchItemStatus.CREATED);
+        assertThat(response.results().get(1).error()).isEqualTo(INSUFFICIENT_FUNDS);
+
+        Account updated = accountRepository.findById(account.getId()).orElseThrow();
+        assertThat(updated.getBalance())
+                .isEqualByComparingTo(Money.parse("50"));
+        assertEquals(2, transactionRepository.count());
+    }
+
+    @Test
+    void batch_replays_processed_keys_and_rejects_duplicates_and_unknown_accounts() {
+        Account account = createAccount(Money.parse("100"));
+        transactionService.createTransaction(debit(account.getId(), Money.parse("10")), "idem-1");
+
+        BatchTransactionResponse response = transactionService.createTransactions(List.of(
+                new BatchTransactionItem("idem-1", debit(account.getId(), Money.parse("10"))),
+                new BatchTransactionItem("idem-2", debit(account.getId(), Money.parse("20"))),
+                new BatchTransactionItem("idem-2", debit(account.getId(), Money.parse("20"))),
+                new BatchTransactionItem("idem-3", credit(account.getId() + 1000, Money.parse("5")))
+        ));
+
+        assertThat(response.results())
+                .extracting(BatchTransactionItemResponse::status)
+                .containsExactly(BatchItemStatus.REPLAYED, BatchItemStatus.CREATED,
+                        BatchItemStatus.REJECTED, BatchItemStatus.REJECTED);
+        assertThat(response.results())
+                .extracting(BatchTransactionItemResponse::error)
+                .containsExactly(null, null, DUPLICATE_IDEMPOTENCY_KEY, ACCOUNT_NOT_FOUND);
+
+        Account updated = accountRepository.findById(account.getId()).orElseThrow();
+        assertThat(updated.getBalance())
+                .isEqualByComparingTo(Money.parse("70"));
+        assertEquals(2, transactionRepository.count());
+    }
+
+    @Test
+    void batch_replays_keys_committed_by_another_instance() {
+        Account account = createAccount(Money.parse("100"));
+        transactionService.createTransaction(debit(account.getId(), Money.parse("10")), "idem-1");
+        // Another instance's store has never seen the key
+        transactionIdempotencyStore.clear();
+
+        BatchTransactionResponse response = transactionService.createTransactions(List.of(
+                new BatchTransactionItem("idem-1", debit(account.getId(), Money.parse("10"))),
+                new BatchTransactionItem("idem-2", debit(account.getId(), Money.parse("20")))
+        ));
+
+        assertThat(response.results())
+                .extracting(BatchTransactionItemResponse::status)
+                .containsExactly(BatchItemStatus.REPLAYED, BatchItemStatus.CREATED);
+
+        Account updated = accountRepository.findById(account.getId()).orElseThrow();
+        assertThat(updated.getBalance())
+                .isEqualByComparingTo(Money.parse("70"));
+        assertEquals(2, transactionRepository.count());
+    }
+
+    @Test
+    void history_pages_through_all_transactions_newest_first() {
+        Account account = createAccount(Money.ZERO);
+        List<Long> created = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            created.add(0, transactionService.createTransaction(
+                    credit(account.getId(), Money.ofMinor((i + 1) * 100L)), "idem-" + i).transactionId());
+        }
+
+        List<Long> listed = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            TransactionPageResponse page = transactionService.getAccountTransactions(
+                    account.getId(), null, null, null, cursor, 2);
+            page.transactions().forEach(t -> listed.add(t.transactionId()));
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(listed).isEqualTo(created);
+    }
+
+    @Test
+    void history_filters_by_operation_type() {
+        Account account = createAccount(Money.parse("100"));
+        transactionService.createTransaction(credit(account.getId(), Money.parse("10")), "idem-1");
+        transactionService.createTransaction(debit(account.getId(), Money.parse("1")), "idem-2");
+
+        TransactionPageResponse page = transactionService.getAccountTransactions(
+                account.getId(), OperationType.CASH_PURCHASE, null, null, null, 10);
+
+        assertThat(page.transactions())
+                .extracting(TransactionResponse::operationType)
+                .containsExactly(OperationType.CASH_PURCHASE);
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void history_of_unknown_account_not_found() {
+        assertThrows(NotFoundException.class, () ->
+                transactionService.getAccountTransactions(999_999L, null, null, null, null, 10));
+    }
+
+    @Test
+    void history_with_malformed_cursor_rejected() {
+        Account account = createAccount(Money.ZERO);
+
+        BadRequestException e = assertThrows(BadRequestException.class, () ->
+                transactionService.getAccountTransactions(account.getId(), null, null, null, "not-a-cursor", 10));
+        assertEquals(INVALID_CURSOR, e.getMessage());
+    }
+
+    @Test
+    void export_sends_transactions_in_id_order_and_resumes_after_id() {
+        Account account = createAccount(Money.ZERO);
+        List<Long> created = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            created.add(transactionService.createTransaction(
+                    credit(account.getId(), Money.parse("1")), "idem-" + i).transactionId());
+        }
+
+        List<Long> exported = new ArrayList<>();
+        long count = transactionService.exportTransactions(
+                TransactionExportQuery.builder().accountId(account.getId()).build(),
+                t -> exported.add(t.transactionId()));
+        assertEquals(5, count);
+        assertThat(exported).isEqualTo(created);
+
+        List<Long> resumed = new ArrayList<>();
+        transactionService.exportTransactions(
+                TransactionExportQuery.builder().accountId(account.getId()).afterId(created.get(2)).build(),
+                t -> resumed.add(t.transactionId()));
+        assertThat(resumed).isEqualTo(created.subList(3, 5));
+    }
+
+    @Test
+    void export_writes_rows_outside_any_transaction() {
+        Account account = createAccount(Money.ZERO);
+        transactionService.createTransaction(credit(account.getId(), Money.parse("1")), "idem-0");
+
+        List<Boolean> transactionActive = new ArrayList<>();
+        transactionService.exportTransactions(
+                TransactionExportQuery.builder().accountId(account.getId()).build(),
+                t -> transactionActive.add(TransactionSynchronizationManager.isActualTransactionActive()));
+
+        assertThat(transactionActive).containsExactly(false);
+    }
+
+    @Test
+    void export_without_account_or_time_window_rejected() {
+        BadRequestException e = assertThrows(BadRequestException.class, () ->
+                transactionService.exportTransactions(TransactionExportQuery.builder().build(), t -> {}));
+        assertEquals(EXPORT_FILTER_REQUIRED, e.getMessage());
+    }
+
+    private Account createAccount(Money balance) {
+        Account account = Account.builder()
+                .idempotencyKey("idem-123")
+                .documentNumber("123")
+                .balance(balance)
+                .build();
+        return accountRepository.save(account);
+    }
+
+    private CreateTransactionRequest credit(Long accountId, Money amount) {
+        return new CreateTransactionRequest(accountId, OperationType.PAYMENT, amount);
+    }
+
+    private CreateTransactionRequest debit(Long accountId, Money amount) {
+        return new CreateTransactionRequest(accountId, OperationType.CASH_PURCHASE, amount);
+    }
+}
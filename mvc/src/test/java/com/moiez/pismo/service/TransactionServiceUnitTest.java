@@ -2,19 +2,29 @@ package com.moiez.pismo.service;
 
 import com.moiez.pismo.api.dto.request.CreateTransactionRequest;
 import com.moiez.pismo.api.dto.response.TransactionResponse;
+import com.moiez.pismo.archive.ArchiveProperties;
+import com.moiez.pismo.cache.IdempotencyProperties;
+import com.moiez.pismo.cache.IdempotencyStore;
+import com.moiez.pismo.engine.ShardedTransactionEngine;
 import com.moiez.pismo.exception.BadRequestException;
+import com.moiez.pismo.metrics.TransactionMetrics;
 import com.moiez.pismo.model.Account;
+import com.moiez.pismo.model.Money;
 import com.moiez.pismo.model.OperationType;
 import com.moiez.pismo.model.Transaction;
+import com.moiez.pismo.outbox.TransactionOutbox;
 import com.moiez.pismo.repository.TransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 
-import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Optional;
 
@@ -32,6 +42,25 @@ class TransactionServiceUnitTest {
     @Mock
     private AccountService accountService;
 
+    @Mock
+    private ShardedTransactionEngine engine;
+
+    @Mock
+    private TransactionOutbox outbox;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private IdempotencyStore<TransactionResponse> idempotencyStore = new IdempotencyStore<>(
+            new IdempotencyProperties(true, 100, Duration.ofMinutes(1), 100, 0.01), Duration.ofDays(30));
+
+    @Spy
+    private ArchiveProperties archiveProperties = new ArchiveProperties(true, Duration.ofDays(30), Duration.ofHours(1), 1000);
+
+    @Spy
+    private TransactionMetrics metrics = new TransactionMetrics(new SimpleMeterRegistry());
+
     @InjectMocks
     private TransactionService transactionService;
 
@@ -44,20 +73,23 @@ class TransactionServiceUnitTest {
                 new CreateTransactionRequest(
                         ACCOUNT_ID,
                         OperationType.PAYMENT,
-                        BigDecimal.valueOf(100)
+                        Money.parse("100")
                 );
 
-        when(transactionRepository.findByIdempotencyKey(IDEMPOTENCY_KEY))
+        when(transactionRepository.findByIdempotencyKeyAndCreatedAtGreaterThanEqual(eq(IDEMPOTENCY_KEY), any()))
                 .thenReturn(Optional.empty());
 
         Transaction savedTransaction = Transaction.builder()
                 .id(10L)
                 .account(Account.builder().id(ACCOUNT_ID).build())
                 .operationType(OperationType.PAYMENT)
-                .amount(BigDecimal.valueOf(100))
+                .amount(Money.parse("100"))
                 .createdAt(Instant.now())
                 .build();
 
+        when(accountService.getAccountReference(ACCOUNT_ID))
+                .thenReturn(Account.builder().id(ACCOUNT_ID).build());
+
         when(transactionRepository.save(any(Transaction.class)))
                 .thenReturn(savedTransaction);
 
@@ -66,14 +98,15 @@ class TransactionServiceUnitTest {
 
         verify(accountService).applyTransaction(
                 ACCOUNT_ID,
-                BigDecimal.valueOf(100)
+                Money.parse("100")
         );
 
         verify(transactionRepository).save(any(Transaction.class));
+        verify(outbox).record(savedTransaction);
 
         assertEquals(10L, response.transactionId());
         assertEquals(ACCOUNT_ID, response.accountId());
-        assertEquals(0, response.amount().compareTo(BigDecimal.valueOf(100)));
+        assertEquals(0, response.amount().compareTo(Money.parse("100")));
         assertEquals(OperationType.PAYMENT, response.operationType());
         assertNotNull(response.eventTimestamp());
     }
@@ -84,12 +117,15 @@ class TransactionServiceUnitTest {
                 new CreateTransactionRequest(
                         ACCOUNT_ID,
                         OperationType.WITHDRAWAL,
-                        BigDecimal.valueOf(50)
+                        Money.parse("50")
                 );
 
-        when(transactionRepository.findByIdempotencyKey(IDEMPOTENCY_KEY))
+        when(transactionRepository.findByIdempotencyKeyAndCreatedAtGreaterThanEqual(eq(IDEMPOTENCY_KEY), any()))
                 .thenReturn(Optional.empty());
 
+        when(accountService.getAccountReference(ACCOUNT_ID))
+                .thenReturn(Account.builder().id(ACCOUNT_ID).build());
+
         when(transactionRepository.save(any(Transaction.class)))
                 .thenAnswer(invocation -> {
                     Transaction tx = invocation.getArgument(0);
@@ -101,7 +137,7 @@ class TransactionServiceUnitTest {
 
         verify(accountService).applyTransaction(
                 ACCOUNT_ID,
-                BigDecimal.valueOf(-50)
+                Money.parse("-50")
         );
 
         ArgumentCaptor<Transaction> captor =
@@ -112,7 +148,7 @@ class TransactionServiceUnitTest {
         Transaction saved = captor.getValue();
         assertEquals(
                 0,
-                saved.getAmount().compareTo(BigDecimal.valueOf(-50))
+                saved.getAmount().compareTo(Money.parse("-50"))
         );
     }
 
@@ -122,10 +158,10 @@ class TransactionServiceUnitTest {
                 new CreateTransactionRequest(
                         ACCOUNT_ID,
                         OperationType.WITHDRAWAL,
-                        BigDecimal.valueOf(100)
+                        Money.parse("100")
                 );
 
-        when(transactionRepository.findByIdempotencyKey(IDEMPOTENCY_KEY))
+        when(transactionRepository.findByIdempotencyKeyAndCreatedAtGreaterThanEqual(eq(IDEMPOTENCY_KEY), any()))
                 .thenReturn(Optional.empty());
 
         doThrow(new BadRequestException(INSUFFICIENT_FUNDS))
@@ -145,10 +181,10 @@ class TransactionServiceUnitTest {
                 new CreateTransactionRequest(
                         ACCOUNT_ID,
                         OperationType.PAYMENT,
-                        BigDecimal.valueOf(100)
+                        Money.parse("100")
                 );
 
-        when(transactionRepository.findByIdempotencyKey(IDEMPOTENCY_KEY))
+        when(transactionRepository.findByIdempotencyKeyAndCreatedAtGreaterThanEqual(eq(IDEMPOTENCY_KEY), any()))
                 .thenReturn(Optional.empty());
 
         when(transactionRepository.save(any(Transaction.class)))
@@ -160,7 +196,7 @@ class TransactionServiceUnitTest {
 
         verify(accountService).applyTransaction(
                 ACCOUNT_ID,
-                BigDecimal.valueOf(100)
+                Money.parse("100")
         );
     }
 
@@ -170,12 +206,15 @@ class TransactionServiceUnitTest {
                 new CreateTransactionRequest(
                         ACCOUNT_ID,
                         OperationType.PAYMENT,
-                        BigDecimal.ZERO
+                        Money.ZERO
                 );
 
-        when(transactionRepository.findByIdempotencyKey(IDEMPOTENCY_KEY))
+        when(transactionRepository.findByIdempotencyKeyAndCreatedAtGreaterThanEqual(eq(IDEMPOTENCY_KEY), any()))
                 .thenReturn(Optional.empty());
 
+        when(accountService.getAccountReference(ACCOUNT_ID))
+                .thenReturn(Account.builder().id(ACCOUNT_ID).build());
+
         when(transactionRepository.save(any(Transaction.class)))
                 .thenAnswer(invocation -> invocation.getArgument(0));
 
@@ -183,7 +222,7 @@ class TransactionServiceUnitTest {
 
         verify(accountService).applyTransaction(
                 ACCOUNT_ID,
-                BigDecimal.ZERO
+                Money.ZERO
         );
     }
 }
\ No newline at end of file
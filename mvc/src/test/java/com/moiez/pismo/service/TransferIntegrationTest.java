@@ -0,0 +1,161 @@
+package com.moiez.pismo.service;
+
+import com.moiez.pismo.api.dto.request.CreateTransferRequest;
+import com.moiez.pismo.api.dto.response.AccountResponse;
+import com.moiez.pismo.api.dto.response.TransactionResponse;
+import com.moiez.pismo.api.dto.response.TransferResponse;
+import com.moiez.pismo.cache.IdempotencyStore;
+import com.moiez.pismo.exception.BadRequestException;
+import com.moiez.pismo.model.Account;
+import com.moiez.pismo.model.Money;
+import com.moiez.pismo.model.OperationType;
+import com.moiez.pismo.repository.AccountRepository;
+import com.moiez.pismo.repository.TransactionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static com.moiez.pismo.constant.ErrorConstants.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TransferIntegrationTest {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private IdempotencyStore<AccountResponse> accountIdempotencyStore;
+
+    @Autowired
+    private IdempotencyStore<TransactionResponse> transactionIdempotencyStore;
+
+    @BeforeEach
+    @AfterEach
+    void cleanDatabase() {
+        transactionRepository.deleteAll();
+        accountRepository.deleteAll();
+        accountIdempotencyStore.clear();
+        transactionIdempotencyStore.clear();
+    }
+
+    @Test
+    void transfer_debits_source_and_credits_destination() {
+        Account source = createAccount("1", Money.parse("100"));
+        Account destination = createAccount("2", Money.ZERO);
+
+        TransferResponse response = transactionService.createTransfer(
+                new CreateTransferRequest(source.getId(), destination.getId(), Money.parse("30")), "idem-1");
+
+        assertEquals(OperationType.WITHDRAWAL, response.debit().operationType());
+        assertThat(response.debit().amount()).isEqualTo(Money.parse("-30"));
+        assertEquals(OperationType.PAYMENT, response.credit().operationType());
+        assertThat(response.credit().amount()).isEqualTo(Money.parse("30"));
+        assertThat(balance(source)).isEqualTo(Money.parse("70"));
+        assertThat(balance(destination)).isEqualTo(Money.parse("30"));
+        assertEquals(2, transactionRepository.count());
+    }
+
+    @Test
+    void insufficient_funds_rolls_back_both_legs() {
+        // Destination has the lower id, so its credit is applied before the debit fails
+        Account destination = createAccount("1", Money.ZERO);
+        Account source = createAccount("2", Money.parse("10"));
+
+        assertThatThrownBy(() -> transactionService.createTransfer(
+                new CreateTransferRequest(source.getId(), destination.getId(), Money.parse("30")), "idem-1"))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage(INSUFFICIENT_FUNDS);
+
+        assertThat(balance(source)).isEqualTo(Money.parse("10"));
+        assertThat(balance(destination)).isEqualTo(Money.ZERO);
+        assertEquals(0, transactionRepository.count());
+    }
+
+    @Test
+    void retry_with_same_key_replays_the_transfer() {
+        Account source = createAccount("1", Money.parse("100"));
+        Account destination = createAccount("2", Money.ZERO);
+        CreateTransferRequest request = new CreateTransferRequest(source.getId(), destination.getId(), Money.parse("30"));
+
+        TransferResponse first = transactionService.createTransfer(request, "idem-1");
+        transactionIdempotencyStore.responses().invalidateAll();
+        TransferResponse second = transactionService.createTransfer(request, "idem-1");
+
+        assertEquals(first, second);
+        assertThat(balance(source)).isEqualTo(Money.parse("70"));
+        assertEquals(2, transactionRepository.count());
+    }
+
+    @Test
+    void invalid_transfers_are_rejected() {
+        Account account = createAccount("1", Money.parse("100"));
+        Account other = createAccount("2", Money.ZERO);
+
+        assertThatThrownBy(() -> transactionService.createTransfer(
+                new CreateTransferRequest(account.getId(), account.getId(), Money.parse("1")), "idem-1"))
+                .hasMessage(TRANSFER_TO_SAME_ACCOUNT);
+        assertThatThrownBy(() -> transactionService.createTransfer(
+                new CreateTransferRequest(account.getId(), other.getId(), Money.parse("-1")), "idem-2"))
+                .hasMessage(TRANSFER_AMOUNT_NOT_POSITIVE);
+        assertThatThrownBy(() -> transactionService.createTransfer(
+                new CreateTransferRequest(account.getId(), Long.MAX_VALUE, Money.parse("1")), "idem-3"))
+                .hasMessage(ACCOUNT_NOT_FOUND);
+        assertThat(balance(account)).isEqualTo(Money.parse("100"));
+    }
+
+    @Test
+    void opposite_transfers_do_not_deadlock() {
+        Account first = createAccount("1", Money.parse("1000"));
+        Account second = createAccount("2", Money.parse("1000"));
+        int transfers = 100;
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+
+        long started = System.nanoTime();
+        List<CompletableFuture<TransferResponse>> requests = IntStream.range(0, transfers)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> transactionService.createTransfer(i % 2 == 0
+                        ? new CreateTransferRequest(first.getId(), second.getId(), Money.parse("1"))
+                        : new CreateTransferRequest(second.getId(), first.getId(), Money.parse("1")),
+                        "idem-" + i), executor))
+                .toList();
+        requests.forEach(CompletableFuture::join);
+        executor.shutdown();
+
+        // Unordered locking fails requests with a deadlock, or makes them wait out the 3s lock timeout
+        assertThat(System.nanoTime() - started).isLessThan(3_000_000_000L);
+        assertThat(balance(first)).isEqualTo(Money.parse("1000"));
+        assertThat(balance(second)).isEqualTo(Money.parse("1000"));
+        assertEquals(2L * transfers, transactionRepository.count());
+    }
+
+    private Account createAccount(String documentNumber, Money balance) {
+        return accountRepository.save(Account.builder()
+                .idempotencyKey("idem-account-" + documentNumber)
+                .documentNumber(documentNumber)
+                .balance(balance)
+                .build());
+    }
+
+    private Money balance(Account account) {
+        return accountRepository.findById(account.getId()).orElseThrow().getBalance();
+    }
+}
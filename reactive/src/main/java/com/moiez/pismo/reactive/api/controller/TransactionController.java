@@ -1,22 +1,23 @@
-package com.moiez.pismo.api.controller;
+package com.moiez.pismo.reactive.api.controller;
 
 import com.moiez.pismo.api.dto.request.CreateTransactionRequest;
 import com.moiez.pismo.api.dto.response.TransactionResponse;
-import com.moiez.pismo.service.TransactionService;
+import com.moiez.pismo.constant.ApiConstants;
+import com.moiez.pismo.reactive.service.TransactionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 
 @Slf4j
 @Validated
 @RestController
-@RequestMapping("/v1/transactions")
+@RequestMapping(ApiConstants.TRANSACTIONS_BASE_URL)
 @Tag(name = "Transactions", description = "Transaction APIs")
 public class TransactionController {
 
@@ -27,17 +28,13 @@ public class TransactionController {
     }
 
     @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
     @Operation(summary = "Create a new transaction")
-    public ResponseEntity<TransactionResponse> create(
-            @RequestHeader("Idempotency-Key") @NotBlank String idempotencyKey,
+    public Mono<TransactionResponse> create(
+            @RequestHeader(ApiConstants.IDEMPOTENCY_KEY_HEADER) @NotBlank String idempotencyKey,
             @RequestBody @Valid CreateTransactionRequest request) {
-        log.info("Received transaction request for account: {} type: {} amount: {} [Idempotency-Key: {}]", 
+        log.debug("Received transaction request for account: {} type: {} amount: {} [Idempotency-Key: {}]",
                 request.accountId(), request.operationType(), request.amount(), idempotencyKey);
-        
-        TransactionResponse response = service.createTransaction(request, idempotencyKey);
-        
-        log.info("Transaction created successfully with ID: {}", response.transactionId());
-        return ResponseEntity.status(HttpStatus.CREATED)
-                .body(response);
+        return service.createTransaction(request, idempotencyKey);
     }
 }
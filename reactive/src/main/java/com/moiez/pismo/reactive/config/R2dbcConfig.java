@@ -0,0 +1,56 @@
+package com.moiez.pismo.reactive.config;
+
+import com.moiez.pismo.model.Money;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+import org.springframework.data.r2dbc.convert.R2dbcCustomConversions;
+import org.springframework.data.r2dbc.dialect.DialectResolver;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+
+import java.util.List;
+
+@Configuration
+public class R2dbcConfig {
+
+    /**
+     * {@link Money} is stored as BIGINT minor units, like the servlet application's
+     * {@code MoneyConverter} does.
+     */
+    @Bean
+    public R2dbcCustomConversions r2dbcCustomConversions(ConnectionFactory connectionFactory) {
+        return R2dbcCustomConversions.of(DialectResolver.getDialect(connectionFactory),
+                List.of(new MoneyWritingConverter(), new MoneyReadingConverter()));
+    }
+
+    @Bean
+    public TransactionalOperator transactionalOperator(ReactiveTransactionManager transactionManager) {
+        DefaultTransactionDefinition definition = new DefaultTransactionDefinition();
+        definition.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        return TransactionalOperator.create(transactionManager, definition);
+    }
+
+    @WritingConverter
+    static class MoneyWritingConverter implements Converter<Money, Long> {
+
+        @Override
+        public Long convert(Money source) {
+            return source.minorUnits();
+        }
+    }
+
+    @ReadingConverter
+    static class MoneyReadingConverter implements Converter<Long, Money> {
+
+        @Override
+        public Money convert(Long source) {
+            return Money.ofMinor(source);
+        }
+    }
+}
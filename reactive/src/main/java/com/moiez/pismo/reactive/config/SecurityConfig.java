@@ -0,0 +1,61 @@
+package com.moiez.pismo.reactive.config;
+
+import com.moiez.pismo.reactive.security.AuthenticationCacheProperties;
+import com.moiez.pismo.reactive.security.CachingReactiveAuthenticationManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UserDetailsRepositoryReactiveAuthenticationManager;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.userdetails.MapReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+
+@Configuration
+@EnableWebFluxSecurity
+public class SecurityConfig {
+
+    @Bean
+    public SecurityWebFilterChain filterChain(ServerHttpSecurity http,
+                                              ReactiveAuthenticationManager authenticationManager) {
+        return http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable) // Disable CSRF for stateless APIs
+                .authorizeExchange(exchange -> exchange
+                        // Allow Swagger UI and API Docs
+                        .pathMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html", "/webjars/**").permitAll()
+                        // Allow health checks
+                        .pathMatchers("/actuator/health/**").permitAll()
+                        // Secure API endpoints
+                        .pathMatchers("/v1/**").authenticated()
+                        .anyExchange().permitAll()
+                )
+                .authenticationManager(authenticationManager)
+                .httpBasic(Customizer.withDefaults()) // Use Basic Auth
+                .build();
+    }
+
+    @Bean
+    public ReactiveAuthenticationManager authenticationManager(PasswordEncoder passwordEncoder,
+                                                               AuthenticationCacheProperties properties) {
+        UserDetails admin = User.builder()
+                .username("admin")
+                .password("{bcrypt}$2a$10$JeOzpggsaG8Y405FjRsW/OOsmkk.mHS6.FcpbuCFfoXqQb.polKF.") // "password"
+                .roles("ADMIN")
+                .build();
+
+        UserDetailsRepositoryReactiveAuthenticationManager delegate =
+                new UserDetailsRepositoryReactiveAuthenticationManager(new MapReactiveUserDetailsService(admin));
+        delegate.setPasswordEncoder(passwordEncoder);
+        return new CachingReactiveAuthenticationManager(delegate, properties);
+    }
+
+    @Bean
+    public PasswordEncoder passwordEncoder() {
+        return PasswordEncoderFactories.createDelegatingPasswordEncoder();
+    }
+}
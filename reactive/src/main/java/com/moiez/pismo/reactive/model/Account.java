@@ -0,0 +1,41 @@
+package com.moiez.pismo.reactive.model;
+
+import com.moiez.pismo.model.Money;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.Instant;
+
+/**
+ * Row of the {@code accounts} table, the same table the servlet application maps with JPA.
+ * Balance updates never go through this entity; see {@code AccountRepository#addToBalance}.
+ */
+@Table("accounts")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Account {
+
+    @Id
+    private Long id;
+
+    private String idempotencyKey;
+
+    private String documentNumber;
+
+    @Builder.Default
+    private Money balance = Money.ZERO;
+
+    @Version
+    private Long version;
+
+    private Instant createdAt;
+
+    private Instant updatedAt;
+}
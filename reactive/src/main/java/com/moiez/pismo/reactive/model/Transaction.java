@@ -0,0 +1,33 @@
+package com.moiez.pismo.reactive.model;
+
+import com.moiez.pismo.model.Money;
+import com.moiez.pismo.model.OperationType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.Instant;
+
+@Table("transactions")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Transaction {
+
+    @Id
+    private Long id;
+
+    private String idempotencyKey;
+
+    private Long accountId;
+
+    private OperationType operationType;
+
+    private Money amount;
+
+    private Instant createdAt;
+}
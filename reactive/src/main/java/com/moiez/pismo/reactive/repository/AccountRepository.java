@@ -0,0 +1,24 @@
+package com.moiez.pismo.reactive.repository;
+
+import com.moiez.pismo.reactive.model.Account;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+public interface AccountRepository extends ReactiveCrudRepository<Account, Long> {
+
+    Mono<Account> findByIdempotencyKey(String idempotencyKey);
+
+    /**
+     * Adds {@code delta} minor units unless that would take the balance below zero.
+     *
+     * @return the number of accounts updated: 0 when the account is missing or lacks funds
+     */
+    @Modifying
+    @Query("update accounts set balance = balance + :delta, version = version + 1, updated_at = :updatedAt "
+            + "where id = :id and balance + :delta >= 0")
+    Mono<Integer> addToBalance(long id, long delta, Instant updatedAt);
+}
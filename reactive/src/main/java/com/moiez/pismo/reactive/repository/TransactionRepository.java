@@ -0,0 +1,10 @@
+package com.moiez.pismo.reactive.repository;
+
+import com.moiez.pismo.reactive.model.Transaction;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Mono;
+
+public interface TransactionRepository extends ReactiveCrudRepository<Transaction, Long> {
+
+    Mono<Transaction> findByIdempotencyKey(String idempotencyKey);
+}
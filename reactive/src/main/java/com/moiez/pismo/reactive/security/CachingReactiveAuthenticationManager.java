@@ -0,0 +1,66 @@
+package com.moiez.pismo.reactive.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.core.Authentication;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Remembers successful username/password authentications for a short TTL, so repeated
+ * Basic credentials skip the bcrypt check, which otherwise runs on a bounded elastic
+ * thread for every request. Same rules as the servlet application's
+ * {@code CachingAuthenticationProvider}: keyed by a SHA-256 digest, failures not cached.
+ */
+public class CachingReactiveAuthenticationManager implements ReactiveAuthenticationManager {
+
+    private final ReactiveAuthenticationManager delegate;
+    private final AuthenticationCacheProperties properties;
+    private final Cache<ByteBuffer, Authentication> cache;
+
+    public CachingReactiveAuthenticationManager(ReactiveAuthenticationManager delegate,
+                                                AuthenticationCacheProperties properties) {
+        this.delegate = delegate;
+        this.properties = properties;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.ttl())
+                .build();
+    }
+
+    @Override
+    public Mono<Authentication> authenticate(Authentication authentication) {
+        if (!properties.enabled() || !(authentication.getCredentials() instanceof String password)) {
+            return delegate.authenticate(authentication);
+        }
+        ByteBuffer key = digest(authentication.getName(), password);
+        Authentication cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return delegate.authenticate(authentication)
+                .doOnNext(result -> {
+                    if (result.isAuthenticated()) {
+                        cache.put(key, result);
+                    }
+                });
+    }
+
+    private static ByteBuffer digest(String username, String password) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            sha256.update(username.getBytes(StandardCharsets.UTF_8));
+            // Separator that cannot appear in a Basic username, so ("ab", "c") != ("a", "bc")
+            sha256.update((byte) ':');
+            sha256.update(password.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(sha256.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.moiez.pismo.reactive.service;
+
+import com.moiez.pismo.api.dto.request.CreateAccountRequest;
+import com.moiez.pismo.api.dto.response.AccountResponse;
+import com.moiez.pismo.exception.BadRequestException;
+import com.moiez.pismo.exception.ConflictingRequestException;
+import com.moiez.pismo.exception.NotFoundException;
+import com.moiez.pismo.reactive.model.Account;
+import com.moiez.pismo.model.Money;
+import com.moiez.pismo.reactive.repository.AccountRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static com.moiez.pismo.constant.ErrorConstants.*;
+
+@Slf4j
+@Service
+public class AccountService {
+
+    private final AccountRepository repository;
+
+    public AccountService(AccountRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * A retry with the same key returns the account it created, including a retry that
+     * races the original insert: the loser of the unique index looks the key up again.
+     * Only a key that no account holds, i.e. one that lost the race for the document
+     * number, is a conflict.
+     */
+    public Mono<AccountResponse> createAccount(CreateAccountRequest request, String idempotencyKey) {
+        log.debug("Processing create account request with [Idempotency-Key: {}]", idempotencyKey);
+        return repository.findByIdempotencyKey(idempotencyKey)
+                .doOnNext(existing -> log.debug("Duplicate account creation request"))
+                .switchIfEmpty(Mono.defer(() -> insert(request, idempotencyKey)))
+                .map(this::mapToAccountResponse);
+    }
+
+    public Mono<AccountResponse> getAccount(Long id) {
+        log.debug("Retrieving account with ID: {}", id);
+        return repository.findById(id)
+                .switchIfEmpty(Mono.error(() -> {
+                    log.warn("Account not found with ID: {}", id);
+                    return new NotFoundException(ACCOUNT_NOT_FOUND);
+                }))
+                .map(this::mapToAccountResponse);
+    }
+
+    /**
+     * One conditional update: the balance never goes below zero, whatever else is
+     * writing to the account. Only when nothing was updated is the account looked up,
+     * to tell a missing account from insufficient funds.
+     */
+    public Mono<Void> applyTransaction(Long accountId, Money amount) {
+        log.debug("Applying transaction of amount {} to account ID: {}", amount, accountId);
+        return repository.addToBalance(accountId, amount.minorUnits(), Instant.now())
+                .flatMap(updated -> updated == 1
+                        ? Mono.<Void>empty()
+                        : repository.existsById(accountId).flatMap(exists -> {
+                            if (!exists) {
+                                log.error("Failed to apply transaction: Account ID {} not found", accountId);
+                                return Mono.error(new BadRequestException(ACCOUNT_NOT_FOUND));
+                            }
+                            log.warn("Insufficient funds for account ID: {}. Attempted debit: {}", accountId, amount);
+                            return Mono.error(new BadRequestException(INSUFFICIENT_FUNDS));
+                        }));
+    }
+
+    private Mono<Account> insert(CreateAccountRequest request, String idempotencyKey) {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        Account account = Account.builder()
+                .idempotencyKey(idempotencyKey)
+                .documentNumber(request.documentNumber())
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+        return repository.save(account)
+                .doOnNext(saved -> log.debug("Account created successfully with ID: {}", saved.getId()))
+                .onErrorResume(DataIntegrityViolationException.class, e -> {
+                    log.warn("Account conflict detected [Idempotency-Key: {}]", idempotencyKey);
+                    return repository.findByIdempotencyKey(idempotencyKey)
+                            .switchIfEmpty(Mono.error(() -> new ConflictingRequestException(ACCOUNT_ALREADY_EXISTS)));
+                });
+    }
+
+    private AccountResponse mapToAccountResponse(Account account) {
+        return AccountResponse.builder()
+                .id(account.getId())
+                .documentNumber(account.getDocumentNumber())
+                .balance(account.getBalance())
+                .build();
+    }
+}
@@ -0,0 +1,94 @@
+package com.moiez.pismo.reactive.service;
+
+import com.moiez.pismo.api.dto.request.CreateTransactionRequest;
+import com.moiez.pismo.api.dto.response.TransactionResponse;
+import com.moiez.pismo.constant.ApiConstants;
+import com.moiez.pismo.exception.ConflictingRequestException;
+import com.moiez.pismo.model.Money;
+import com.moiez.pismo.reactive.model.Transaction;
+import com.moiez.pismo.reactive.repository.TransactionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static com.moiez.pismo.constant.ErrorConstants.TRANSACTION_ALREADY_EXISTS;
+
+@Slf4j
+@Service
+public class TransactionService {
+
+    private final TransactionRepository transactionRepository;
+    private final AccountService accountService;
+    private final TransactionalOperator transactionalOperator;
+
+    public TransactionService(TransactionRepository transactionRepository,
+                              AccountService accountService,
+                              TransactionalOperator transactionalOperator) {
+        this.transactionRepository = transactionRepository;
+        this.accountService = accountService;
+        this.transactionalOperator = transactionalOperator;
+    }
+
+    /**
+     * The idempotency check, balance update and insert share one transaction. A
+     * concurrent request with the same key fails the unique index on insert, which rolls
+     * back its balance update; it then answers with the transaction that won.
+     */
+    public Mono<TransactionResponse> createTransaction(CreateTransactionRequest request, String idempotencyKey) {
+        log.debug("Processing transaction request for account: {} [{}: {}]",
+                request.accountId(), ApiConstants.IDEMPOTENCY_KEY_HEADER, idempotencyKey);
+        return transactionalOperator.transactional(recordTransaction(request, idempotencyKey))
+                .onErrorResume(DataIntegrityViolationException.class, e -> {
+                    log.warn("Transaction conflict detected [Idempotency-Key: {}]", idempotencyKey);
+                    return transactionRepository.findByIdempotencyKey(idempotencyKey)
+                            .map(this::mapToTransactionResponse)
+                            .switchIfEmpty(Mono.error(() -> new ConflictingRequestException(TRANSACTION_ALREADY_EXISTS)));
+                });
+    }
+
+    private Mono<TransactionResponse> recordTransaction(CreateTransactionRequest request, String idempotencyKey) {
+        return transactionRepository.findByIdempotencyKey(idempotencyKey)
+                .doOnNext(existing -> log.info("Transaction already processed with key: {}", idempotencyKey))
+                .switchIfEmpty(Mono.defer(() -> {
+                    log.debug("Creating new transaction for account: {}", request.accountId());
+                    Money finalAmount = signedAmount(request);
+                    return accountService.applyTransaction(request.accountId(), finalAmount)
+                            .then(Mono.defer(() -> transactionRepository.save(
+                                    buildTransaction(request, idempotencyKey, finalAmount))))
+                            .doOnNext(saved -> log.debug("Transaction created successfully [ID: {}, Account: {}, Amount: {}]",
+                                    saved.getId(), saved.getAccountId(), saved.getAmount()));
+                }))
+                .map(this::mapToTransactionResponse);
+    }
+
+    private Money signedAmount(CreateTransactionRequest request) {
+        return request.operationType().isDebit()
+                ? request.amount().negate()
+                : request.amount();
+    }
+
+    private Transaction buildTransaction(CreateTransactionRequest request, String idempotencyKey, Money amount) {
+        return Transaction.builder()
+                .idempotencyKey(idempotencyKey)
+                .accountId(request.accountId())
+                .operationType(request.operationType())
+                .amount(amount)
+                .createdAt(Instant.now().truncatedTo(ChronoUnit.MICROS))
+                .build();
+    }
+
+    private TransactionResponse mapToTransactionResponse(Transaction transaction) {
+        return TransactionResponse.builder()
+                .transactionId(transaction.getId())
+                .accountId(transaction.getAccountId())
+                .amount(transaction.getAmount())
+                .operationType(transaction.getOperationType())
+                .eventTimestamp(transaction.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,21 @@
+-- Same tables and constraints as the servlet application, with identity ids
+CREATE TABLE IF NOT EXISTS accounts (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    idempotency_key VARCHAR(255) NOT NULL UNIQUE,
+    document_number VARCHAR(255) NOT NULL UNIQUE,
+    balance BIGINT NOT NULL CHECK (balance >= 0),
+    version BIGINT,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS transactions (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    idempotency_key VARCHAR(255) NOT NULL UNIQUE,
+    account_id BIGINT NOT NULL REFERENCES accounts (id),
+    operation_type VARCHAR(255),
+    amount BIGINT NOT NULL,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_transactions_account_created_at_id ON transactions (account_id, created_at, id);
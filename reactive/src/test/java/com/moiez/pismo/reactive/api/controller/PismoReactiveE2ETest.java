@@ -0,0 +1,184 @@
+package com.moiez.pismo.reactive.api.controller;
+
+import com.moiez.pismo.api.dto.request.CreateAccountRequest;
+import com.moiez.pismo.api.dto.request.CreateTransactionRequest;
+import com.moiez.pismo.api.dto.response.AccountResponse;
+import com.moiez.pismo.api.dto.response.TransactionResponse;
+import com.moiez.pismo.constant.ApiConstants;
+import com.moiez.pismo.model.Money;
+import com.moiez.pismo.model.OperationType;
+import com.moiez.pismo.reactive.repository.AccountRepository;
+import com.moiez.pismo.reactive.repository.TransactionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.http.HttpStatusCode;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static com.moiez.pismo.constant.ErrorConstants.INSUFFICIENT_FUNDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@AutoConfigureWebTestClient
+class PismoReactiveE2ETest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @AfterEach
+    void cleanDatabase() {
+        transactionRepository.deleteAll().then(accountRepository.deleteAll()).block();
+    }
+
+    @Test
+    void create_account_is_idempotent() {
+        AccountResponse created = createAccount("11122233344", "idem-account");
+        AccountResponse replayed = createAccount("11122233344", "idem-account");
+
+        assertEquals(created.id(), replayed.id());
+        assertEquals(1, accountRepository.count().block());
+    }
+
+    @Test
+    void concurrent_retries_of_create_account_return_the_same_account() {
+        ExecutorService executor = Executors.newFixedThreadPool(10);
+        List<CompletableFuture<AccountResponse>> requests = IntStream.range(0, 10)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() ->
+                        createAccount("11122233344", "idem-account"), executor))
+                .toList();
+        List<AccountResponse> responses = requests.stream().map(CompletableFuture::join).toList();
+        executor.shutdown();
+
+        assertThat(responses).extracting(AccountResponse::id).containsOnly(responses.get(0).id());
+        assertEquals(1, accountRepository.count().block());
+    }
+
+    @Test
+    void duplicate_document_number_returns_409() {
+        createAccount("11122233344", "idem-account-1");
+
+        client().post().uri(ApiConstants.ACCOUNTS_BASE_URL)
+                .header(ApiConstants.IDEMPOTENCY_KEY_HEADER, "idem-account-2")
+                .bodyValue(new CreateAccountRequest("11122233344"))
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.CONFLICT);
+    }
+
+    @Test
+    void transaction_updates_balance_and_replays_with_same_key() {
+        AccountResponse account = createAccount("11122233344", "idem-account");
+
+        TransactionResponse payment = createTransaction(account.id(), OperationType.PAYMENT, "100.00", "idem-1")
+                .expectStatus().isCreated()
+                .expectBody(TransactionResponse.class).returnResult().getResponseBody();
+        TransactionResponse replay = createTransaction(account.id(), OperationType.PAYMENT, "100.00", "idem-1")
+                .expectStatus().isCreated()
+                .expectBody(TransactionResponse.class).returnResult().getResponseBody();
+        createTransaction(account.id(), OperationType.CASH_PURCHASE, "30.50", "idem-2")
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.amount").isEqualTo("-30.50");
+
+        assertEquals(payment.transactionId(), replay.transactionId());
+        client().get().uri(ApiConstants.ACCOUNTS_BASE_URL + "/{id}", account.id())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.balance").isEqualTo(69.50);
+    }
+
+    @Test
+    void debit_beyond_balance_returns_400() {
+        AccountResponse account = createAccount("11122233344", "idem-account");
+
+        createTransaction(account.id(), OperationType.WITHDRAWAL, "0.01", "idem-1")
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo(INSUFFICIENT_FUNDS);
+        assertEquals(0, transactionRepository.count().block());
+    }
+
+    @Test
+    void concurrent_debits_never_overdraw_the_account() {
+        AccountResponse account = createAccount("11122233344", "idem-account");
+        createTransaction(account.id(), OperationType.PAYMENT, "100", "idem-credit").expectStatus().isCreated();
+
+        // Blocking clients on their own threads: the server needs bounded elastic threads for bcrypt
+        ExecutorService executor = Executors.newFixedThreadPool(10);
+        List<CompletableFuture<HttpStatusCode>> requests = IntStream.range(0, 30)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() ->
+                        createTransaction(account.id(), OperationType.CASH_PURCHASE, "10", "idem-" + i)
+                                .returnResult(String.class)
+                                .getStatus(), executor))
+                .toList();
+        List<HttpStatusCode> statuses = requests.stream().map(CompletableFuture::join).toList();
+        executor.shutdown();
+
+        assertThat(statuses).filteredOn(HttpStatus.CREATED::equals).hasSize(10);
+        assertThat(statuses).filteredOn(HttpStatus.BAD_REQUEST::equals).hasSize(20);
+        assertThat(accountRepository.findById(account.id()).block().getBalance()).isEqualTo(Money.ZERO);
+    }
+
+    @Test
+    void missing_idempotency_key_returns_400() {
+        client().post().uri(ApiConstants.TRANSACTIONS_BASE_URL)
+                .bodyValue(new CreateTransactionRequest(1L, OperationType.PAYMENT, Money.parse("1")))
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void unknown_account_returns_404() {
+        client().get().uri(ApiConstants.ACCOUNTS_BASE_URL + "/{id}", 999_999)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void requests_without_credentials_return_401() {
+        webTestClient.get().uri(ApiConstants.ACCOUNTS_BASE_URL + "/{id}", 1)
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    private WebTestClient client() {
+        return webTestClient.mutate()
+                .defaultHeaders(headers -> headers.setBasicAuth("admin", "password"))
+                .build();
+    }
+
+    private AccountResponse createAccount(String documentNumber, String idempotencyKey) {
+        return client().post().uri(ApiConstants.ACCOUNTS_BASE_URL)
+                .header(ApiConstants.IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                .bodyValue(new CreateAccountRequest(documentNumber))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(AccountResponse.class)
+                .returnResult()
+                .getResponseBody();
+    }
+
+    private WebTestClient.ResponseSpec createTransaction(Long accountId, OperationType type,
+                                                         String amount, String idempotencyKey) {
+        return client().post().uri(ApiConstants.TRANSACTIONS_BASE_URL)
+                .header(ApiConstants.IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                .bodyValue(new CreateTransactionRequest(accountId, type, Money.parse(amount)))
+                .exchange();
+    }
+}
@@ -1,11 +0,0 @@
-package com.moiez.pismo;
-
-import org.springframework.boot.SpringApplication;
-import org.springframework.boot.autoconfigure.SpringBootApplication;
-
-@SpringBootApplication
-public class PismoApplication {
-    public static void main(String[] args) {
-        SpringApplication.run(PismoApplication.class, args);
-    }
-}
@@ -1,10 +0,0 @@
-package com.moiez.pismo.constant;
-
-public final class ApiConstants {
-
-    private ApiConstants() {} // Prevent instantiation
-
-    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
-    public static final String ACCOUNTS_BASE_URL = "/v1/accounts";
-    public static final String TRANSACTIONS_BASE_URL = "/v1/transactions";
-}
\ No newline at end of file
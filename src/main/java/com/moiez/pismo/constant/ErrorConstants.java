@@ -1,12 +0,0 @@
-package com.moiez.pismo.constant;
-
-public final class ErrorConstants {
-
-    private ErrorConstants() {}
-
-    public static final String IDEMPOTENCY_KEY_REQUIRED = "Idempotency key is required";
-    public static final String ACCOUNT_NOT_FOUND = "Account not found";
-    public static final String INSUFFICIENT_FUNDS = "Insufficient funds";
-    public static final String ACCOUNT_ALREADY_EXISTS = "Account already exists";
-    public static final String TRANSACTION_ALREADY_EXISTS = "Transaction already processed";
-}
\ No newline at end of file
@@ -1,24 +0,0 @@
-package com.moiez.pismo.repository;
-
-import com.moiez.pismo.model.Account;
-import jakarta.persistence.LockModeType;
-import jakarta.persistence.QueryHint;
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Lock;
-import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.jpa.repository.QueryHints;
-
-import java.util.Optional;
-
-public interface AccountRepository extends JpaRepository<Account, Long> {
-    boolean existsByDocumentNumber(String documentNumber);
-
-    Optional<Account> findByIdempotencyKey(String idempotencyKey);
-
-    @Lock(LockModeType.PESSIMISTIC_WRITE)
-    @QueryHints({
-            @QueryHint(name = "jakarta.persistence.lock.timeout", value = "3000")
-    })
-    @Query("select a from Account a where a.id = :id")
-    Optional<Account> findByIdForUpdate(Long id);
-}
\ No newline at end of file
@@ -1,10 +0,0 @@
-package com.moiez.pismo.repository;
-
-import com.moiez.pismo.model.Transaction;
-import org.springframework.data.jpa.repository.JpaRepository;
-
-import java.util.Optional;
-
-public interface TransactionRepository extends JpaRepository<Transaction, Long> {
-    Optional<Transaction> findByIdempotencyKey(String idempotencyKey);
-}